@@ -8,11 +8,13 @@ import com.roze.nexacommerce.brand.service.BrandService;
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -33,15 +35,25 @@ public class BrandController extends BaseController {
     }
 
     @GetMapping("/{brandId}")
-    public ResponseEntity<BaseResponse<BrandResponse>> getBrandById(@PathVariable Long brandId) {
+    public ResponseEntity<BaseResponse<BrandResponse>> getBrandById(@PathVariable Long brandId,
+                                                               @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = brandService.getBrandsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         BrandResponse response = brandService.getBrandById(brandId);
-        return ok(response, "Brand retrieved successfully");
+        return ok(response, "Brand retrieved successfully", stamp);
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<BaseResponse<BrandResponse>> getBrandBySlug(@PathVariable String slug) {
+    public ResponseEntity<BaseResponse<BrandResponse>> getBrandBySlug(@PathVariable String slug,
+                                                                 @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = brandService.getBrandsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         BrandResponse response = brandService.getBrandBySlug(slug);
-        return ok(response, "Brand retrieved successfully");
+        return ok(response, "Brand retrieved successfully", stamp);
     }
 
     @GetMapping("/{brandId}/with-products")
@@ -55,25 +67,37 @@ public class BrandController extends BaseController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
-
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = brandService.getBrandsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         Sort sort = sortDirection.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         PaginatedResponse<BrandResponse> brands = brandService.getBrands(pageable);
-        return paginated(brands, "Brands retrieved successfully");
+        return ok(brands, "Brands retrieved successfully", stamp);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<BaseResponse<List<BrandResponse>>> getActiveBrands() {
+    public ResponseEntity<BaseResponse<List<BrandResponse>>> getActiveBrands(@RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = brandService.getBrandsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<BrandResponse> response = brandService.getActiveBrands();
-        return ok(response, "Active brands retrieved successfully");
+        return ok(response, "Active brands retrieved successfully", stamp);
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<BaseResponse<List<BrandResponse>>> getFeaturedBrands() {
+    public ResponseEntity<BaseResponse<List<BrandResponse>>> getFeaturedBrands(@RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = brandService.getBrandsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<BrandResponse> response = brandService.getFeaturedBrands();
-        return ok(response, "Featured brands retrieved successfully");
+        return ok(response, "Featured brands retrieved successfully", stamp);
     }
 
     @PutMapping("/{brandId}")
@@ -20,6 +20,7 @@ public class BrandResponse {
     private String websiteUrl;
     private Boolean featured;
     private Boolean active;
+    // ACTIVE, published products, like CategoryResponse.productCount; drafts and archived products are not counted
     private Integer productCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
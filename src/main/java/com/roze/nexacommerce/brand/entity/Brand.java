@@ -43,6 +43,10 @@ public class Brand extends BaseEntity {
     @OneToMany(mappedBy = "brand", cascade = CascadeType.ALL)
     @Builder.Default
     private List<Product> products = new ArrayList<>();
+
+    // ACTIVE, published products; moved by atomic UPDATEs in the repository, never through the entity
+    @Column(insertable = false, updatable = false)
+    private Integer activeProductCount;
     
     // Helper methods
     public void addProduct(Product product) {
@@ -6,32 +6,29 @@ import com.roze.nexacommerce.brand.dto.response.BrandResponse;
 import com.roze.nexacommerce.brand.dto.response.BrandWithProductsResponse;
 import com.roze.nexacommerce.brand.dto.response.ProductSummaryResponse;
 import com.roze.nexacommerce.brand.entity.Brand;
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.product.entity.Product;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class BrandMapper {
-    private final ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public abstract class BrandMapper {
 
-    public Brand toEntity(BrandCreateRequest request) {
-        return modelMapper.map(request, Brand.class);
-    }
+    public abstract Brand toEntity(BrandCreateRequest request);
 
-    public BrandResponse toResponse(Brand brand) {
-        BrandResponse response = modelMapper.map(brand, BrandResponse.class);
-        response.setProductCount(brand.getProducts() != null ? brand.getProducts().size() : 0);
-        return response;
-    }
+    @Mapping(target = "productCount", source = "activeProductCount", defaultValue = "0")
+    public abstract BrandResponse toResponse(Brand brand);
 
-    public BrandWithProductsResponse toResponseWithProducts(Brand brand) {
-        BrandWithProductsResponse response = modelMapper.map(brand, BrandWithProductsResponse.class);
+    @Mapping(target = "products", ignore = true)
+    public abstract BrandWithProductsResponse toResponseWithProducts(Brand brand);
 
+    @AfterMapping
+    protected void setProducts(Brand brand, @MappingTarget BrandWithProductsResponse response) {
         if (brand.getProducts() != null) {
             List<ProductSummaryResponse> productSummaries =
                     brand.getProducts().stream()
@@ -39,8 +36,6 @@ public class BrandMapper {
                             .collect(Collectors.toList());
             response.setProducts(productSummaries);
         }
-
-        return response;
     }
 
     private ProductSummaryResponse toProductSummary(Product product) {
@@ -52,7 +47,5 @@ public class BrandMapper {
                 .build();
     }
 
-    public void updateEntity(BrandUpdateRequest request, Brand brand) {
-        modelMapper.map(request, brand);
-    }
-}
\ No newline at end of file
+    public abstract void updateEntity(BrandUpdateRequest request, @MappingTarget Brand brand);
+}
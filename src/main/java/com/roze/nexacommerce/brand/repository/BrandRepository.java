@@ -1,9 +1,11 @@
 package com.roze.nexacommerce.brand.repository;
 
 import com.roze.nexacommerce.brand.entity.Brand;
+import com.roze.nexacommerce.product.importer.CatalogReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -42,20 +44,51 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
             "AND b.active = true")
     List<Brand> searchBrands(@Param("query") String query, @Param("limit") int limit);
 
-    @Query("SELECT b FROM Brand b WHERE " +
-            "LOWER(b.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "AND b.active = true " +
-            "ORDER BY b.name ASC")
+    @Query(value = "SELECT b.* FROM brands b WHERE " +
+            "b.deleted = false AND b.active = true " +
+            "AND (b.name ILIKE '%' || :query || '%' OR :query <% b.name) " +
+            "ORDER BY word_similarity(:query, b.name) DESC, b.name ASC " +
+            "LIMIT :limit",
+            nativeQuery = true)
     List<Brand> searchBrandsAutocomplete(@Param("query") String query, @Param("limit") int limit);
 
-    @Query("SELECT DISTINCT b.name FROM Brand b WHERE " +
-            "LOWER(b.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "AND b.active = true " +
-            "ORDER BY b.name ASC")
+    @Query(value = "SELECT b.name FROM brands b WHERE " +
+            "b.deleted = false AND b.active = true " +
+            "AND (b.name ILIKE '%' || :query || '%' OR :query <% b.name) " +
+            "GROUP BY b.name " +
+            "ORDER BY MAX(word_similarity(:query, b.name)) DESC, b.name ASC " +
+            "LIMIT :limit",
+            nativeQuery = true)
     List<String> findBrandNameSuggestions(@Param("query") String query, @Param("limit") int limit);
 
     @Query("SELECT b FROM Brand b WHERE b.id IN :brandIds AND b.active = true")
     List<Brand> findActiveBrandsByIds(@Param("brandIds") List<Long> brandIds);
 
     Collection<Brand> findByIdIn(Set<Long> availableBrandIds);
-}
\ No newline at end of file
+
+    @Query("SELECT b.id AS id, b.slug AS slug FROM Brand b")
+    List<CatalogReference> findCatalogReferences();
+
+    @Modifying
+    @Query(value = "UPDATE brands SET active_product_count = GREATEST(active_product_count + :delta, 0) WHERE id = :id",
+            nativeQuery = true)
+    int adjustActiveProductCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE brands t SET active_product_count = counts.total " +
+            "FROM (SELECT x.id, COUNT(p.id) AS total FROM brands x " +
+            "LEFT JOIN products p ON p.brand_id = x.id AND p.deleted = false " +
+            "AND p.published = true AND p.status = 'ACTIVE' " +
+            "GROUP BY x.id) counts " +
+            "WHERE counts.id = t.id AND t.active_product_count <> counts.total",
+            nativeQuery = true)
+    int reconcileActiveProductCounts();
+
+    /**
+     * Digest of every brand's version and product counter; counter moves do not touch the version.
+     */
+    @Query(value = "SELECT md5(coalesce(string_agg(concat_ws(':', b.id, b.version, b.active_product_count, b.deleted), ',' " +
+            "ORDER BY b.id), '')) FROM brands b",
+            nativeQuery = true)
+    String fingerprint();
+}
@@ -5,6 +5,7 @@ import com.roze.nexacommerce.brand.dto.request.BrandUpdateRequest;
 import com.roze.nexacommerce.brand.dto.response.BrandResponse;
 import com.roze.nexacommerce.brand.dto.response.BrandWithProductsResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -31,4 +32,9 @@ public interface BrandService {
     void deleteBrand(Long brandId);
     
     BrandResponse toggleBrandStatus(Long brandId);
+
+    /**
+     * Validators shared by the brand reads, for conditional GETs.
+     */
+    ResourceStamp getBrandsStamp();
 }
\ No newline at end of file
@@ -9,8 +9,11 @@ import com.roze.nexacommerce.brand.mapper.BrandMapper;
 import com.roze.nexacommerce.brand.repository.BrandRepository;
 import com.roze.nexacommerce.brand.service.BrandService;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.exception.DuplicateResourceException;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.product.search.cache.CatalogVersion;
+import com.roze.nexacommerce.product.search.suggest.SearchSuggester;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +28,8 @@ import java.util.stream.Collectors;
 public class BrandServiceImpl implements BrandService {
     private final BrandRepository brandRepository;
     private final BrandMapper brandMapper;
+    private final SearchSuggester searchSuggester;
+    private final CatalogVersion catalogVersion;
 
     @Override
     @Transactional
@@ -40,6 +45,8 @@ public class BrandServiceImpl implements BrandService {
 
         Brand brand = brandMapper.toEntity(request);
         Brand savedBrand = brandRepository.save(brand);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
         
         return brandMapper.toResponse(savedBrand);
     }
@@ -128,6 +135,8 @@ public class BrandServiceImpl implements BrandService {
 
         brandMapper.updateEntity(request, brand);
         Brand updatedBrand = brandRepository.save(brand);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
         
         return brandMapper.toResponse(updatedBrand);
     }
@@ -144,6 +153,8 @@ public class BrandServiceImpl implements BrandService {
         }
         
         brandRepository.delete(brand);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
     }
 
     @Override
@@ -154,7 +165,14 @@ public class BrandServiceImpl implements BrandService {
         
         brand.setActive(!brand.getActive());
         Brand updatedBrand = brandRepository.save(brand);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
         
         return brandMapper.toResponse(updatedBrand);
     }
-}
\ No newline at end of file
+
+    @Override
+    public ResourceStamp getBrandsStamp() {
+        return ResourceStamp.ofFingerprint(brandRepository.fingerprint());
+    }
+}
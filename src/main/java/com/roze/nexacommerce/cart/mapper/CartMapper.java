@@ -5,66 +5,33 @@ import com.roze.nexacommerce.cart.dto.response.CartItemResponse;
 import com.roze.nexacommerce.cart.dto.response.CartResponse;
 import com.roze.nexacommerce.cart.entity.Cart;
 import com.roze.nexacommerce.cart.entity.CartItem;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import com.roze.nexacommerce.config.MappingConfig;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class CartMapper {
-    private final ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public abstract class CartMapper {
 
-    public CartResponse toResponse(Cart cart) {
-        CartResponse response = modelMapper.map(cart, CartResponse.class);
+    // Totals come from the computed getters on Cart
+    @Mapping(target = "items", source = "cartItems")
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "userId", source = "user.id")
+    public abstract CartResponse toResponse(Cart cart);
 
-        // Set computed fields
-        response.setTotalItems(cart.getTotalItems());
-        response.setTotalUniqueItems(cart.getTotalUniqueItems());
-        response.setTotalAmount(cart.getTotalAmount());
-        response.setTotalDiscount(cart.getTotalDiscount());
+    @Mapping(target = "productId", source = "product.id")
+    @Mapping(target = "productName", source = "product.name")
+    @Mapping(target = "productSku", source = "product.sku")
+    @Mapping(target = "productImage", source = "product")
+    @Mapping(target = "availableStock", source = "product.stock")
+    @Mapping(target = "inStock", source = "product.inStock")
+    @Mapping(target = "lowStock", source = "product.lowStock")
+    public abstract CartItemResponse toItemResponse(CartItem cartItem);
 
-        // Map items
-        if (cart.getCartItems() != null) {
-            List<CartItemResponse> itemResponses = cart.getCartItems().stream()
-                    .map(this::toItemResponse)
-                    .collect(Collectors.toList());
-            response.setItems(itemResponses);
-        }
-
-        return response;
-    }
-
-    public CartItemResponse toItemResponse(CartItem cartItem) {
-        CartItemResponse response = modelMapper.map(cartItem, CartItemResponse.class);
-
-        // Set product info
-        if (cartItem.getProduct() != null) {
-            response.setProductId(cartItem.getProduct().getId());
-            response.setProductName(cartItem.getProduct().getName());
-            response.setProductSku(cartItem.getProduct().getSku());
-            response.setProductImage(getPrimaryImage(cartItem.getProduct()));
-            response.setAvailableStock(cartItem.getProduct().getStock());
-            response.setInStock(cartItem.getProduct().isInStock());
-            response.setLowStock(cartItem.getProduct().isLowStock());
-        }
-
-        // Set computed fields
-        response.setSubtotal(cartItem.getSubtotal());
-        response.setDiscountAmount(cartItem.getDiscountAmount());
-
-        return response;
-    }
-
-    public List<CartItemResponse> toItemResponseList(List<CartItem> cartItems) {
-        return cartItems.stream()
-                .map(this::toItemResponse)
-                .collect(Collectors.toList());
-    }
+    public abstract List<CartItemResponse> toItemResponseList(List<CartItem> cartItems);
 
-    private String getPrimaryImage(com.roze.nexacommerce.product.entity.Product product) {
+    protected String getPrimaryImage(com.roze.nexacommerce.product.entity.Product product) {
         if (product == null || product.getImages() == null || product.getImages().isEmpty()) {
             return null;
         }
@@ -74,4 +41,4 @@ public class CartMapper {
                 .map(com.roze.nexacommerce.product.entity.ProductImage::getImageUrl)
                 .orElse(product.getImages().get(0).getImageUrl());
     }
-}
\ No newline at end of file
+}
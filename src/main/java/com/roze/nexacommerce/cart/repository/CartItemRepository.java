@@ -13,6 +13,7 @@ import java.util.Optional;
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByCartId(Long cartId);
+    List<CartItem> findByCartCustomerId(Long customerId);
     Optional<CartItem> findByCartIdAndProductId(Long cartId, Long productId);
     
     @Modifying
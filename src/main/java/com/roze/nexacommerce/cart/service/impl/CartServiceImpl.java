@@ -13,6 +13,7 @@ import com.roze.nexacommerce.cart.service.CartService;
 import com.roze.nexacommerce.customer.entity.CustomerProfile;
 import com.roze.nexacommerce.customer.repository.CustomerProfileRepository;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.inventory.service.InventoryReservationService;
 import com.roze.nexacommerce.product.entity.Product;
 import com.roze.nexacommerce.product.repository.ProductRepository;
 import com.roze.nexacommerce.user.entity.User;
@@ -33,6 +34,7 @@ public class CartServiceImpl implements CartService {
     private final CartItemRepository cartItemRepository;
     private final CustomerProfileRepository customerRepository;
     private final ProductRepository productRepository;
+    private final InventoryReservationService inventoryReservationService;
     private final CartMapper cartMapper;
     private final UserRepository userRepository;
 
@@ -119,8 +121,8 @@ public class CartServiceImpl implements CartService {
             throw new IllegalStateException("Product is not available for purchase");
         }
 
-        if (product.getTrackQuantity() && !product.getAllowBackorder() &&
-                product.getStock() < request.getQuantity()) {
+        // Counts units held by other checkouts in progress, not just the stock column
+        if (!inventoryReservationService.isAvailable(product.getId(), request.getQuantity(), customerIdOf(cart))) {
             throw new IllegalStateException("Insufficient stock for product: " + product.getName());
         }
 
@@ -176,7 +178,7 @@ public class CartServiceImpl implements CartService {
             cartItemRepository.delete(item);
         } else {
             Product product = item.getProduct();
-            if (product.getTrackQuantity() && !product.getAllowBackorder() && product.getStock() < quantity) {
+            if (!inventoryReservationService.isAvailable(product.getId(), quantity, customerIdOf(cart))) {
                 throw new IllegalStateException("Insufficient stock for product: " + product.getName());
             }
             item.updateQuantity(quantity);
@@ -302,8 +304,7 @@ public class CartServiceImpl implements CartService {
             if (!product.isAvailable()) {
                 return false;
             }
-            if (product.getTrackQuantity() && !product.getAllowBackorder() &&
-                    product.getStock() < item.getQuantity()) {
+            if (!inventoryReservationService.isAvailable(product.getId(), item.getQuantity(), customerId)) {
                 return false;
             }
         }
@@ -317,6 +318,11 @@ public class CartServiceImpl implements CartService {
         return getCartByCustomer(customerId);
     }
 
+    // The customer whose own checkout hold counts as free stock; guest carts have none
+    private Long customerIdOf(Cart cart) {
+        return cart.isCustomerCart() ? cart.getCustomer().getId() : null;
+    }
+
     private Cart createNewCustomerCart(CustomerProfile customer) {
         Cart cart = Cart.builder()
                 .customer(customer)
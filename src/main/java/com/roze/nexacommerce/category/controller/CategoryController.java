@@ -8,11 +8,13 @@ import com.roze.nexacommerce.category.service.CategoryService;
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -33,15 +35,25 @@ public class CategoryController extends BaseController {
     }
 
     @GetMapping("/{categoryId}")
-    public ResponseEntity<BaseResponse<CategoryResponse>> getCategoryById(@PathVariable Long categoryId) {
+    public ResponseEntity<BaseResponse<CategoryResponse>> getCategoryById(@PathVariable Long categoryId,
+                                                                     @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = categoryService.getCategoriesStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         CategoryResponse response = categoryService.getCategoryById(categoryId);
-        return ok(response, "Category retrieved successfully");
+        return ok(response, "Category retrieved successfully", stamp);
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<BaseResponse<CategoryResponse>> getCategoryBySlug(@PathVariable String slug) {
+    public ResponseEntity<BaseResponse<CategoryResponse>> getCategoryBySlug(@PathVariable String slug,
+                                                                       @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = categoryService.getCategoriesStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         CategoryResponse response = categoryService.getCategoryBySlug(slug);
-        return ok(response, "Category retrieved successfully");
+        return ok(response, "Category retrieved successfully", stamp);
     }
 
     @GetMapping
@@ -49,37 +61,58 @@ public class CategoryController extends BaseController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
-
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = categoryService.getCategoriesStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         Sort sort = sortDirection.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         PaginatedResponse<CategoryResponse> categories = categoryService.getCategories(pageable);
-        return paginated(categories, "Categories retrieved successfully");
+        return ok(categories, "Categories retrieved successfully", stamp);
     }
 
     @GetMapping("/tree")
-    public ResponseEntity<BaseResponse<List<CategoryTreeResponse>>> getCategoryTree() {
+    public ResponseEntity<BaseResponse<List<CategoryTreeResponse>>> getCategoryTree(@RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = categoryService.getCategoriesStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<CategoryTreeResponse> response = categoryService.getCategoryTree();
-        return ok(response, "Category tree retrieved successfully");
+        return ok(response, "Category tree retrieved successfully", stamp);
     }
 
     @GetMapping("/root")
-    public ResponseEntity<BaseResponse<List<CategoryResponse>>> getRootCategories() {
+    public ResponseEntity<BaseResponse<List<CategoryResponse>>> getRootCategories(@RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = categoryService.getCategoriesStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<CategoryResponse> response = categoryService.getRootCategories();
-        return ok(response, "Root categories retrieved successfully");
+        return ok(response, "Root categories retrieved successfully", stamp);
     }
 
     @GetMapping("/{parentId}/children")
-    public ResponseEntity<BaseResponse<List<CategoryResponse>>> getChildCategories(@PathVariable Long parentId) {
+    public ResponseEntity<BaseResponse<List<CategoryResponse>>> getChildCategories(@PathVariable Long parentId,
+                                                                                 @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = categoryService.getCategoriesStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<CategoryResponse> response = categoryService.getChildCategories(parentId);
-        return ok(response, "Child categories retrieved successfully");
+        return ok(response, "Child categories retrieved successfully", stamp);
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<BaseResponse<List<CategoryResponse>>> getFeaturedCategories() {
+    public ResponseEntity<BaseResponse<List<CategoryResponse>>> getFeaturedCategories(@RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = categoryService.getCategoriesStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<CategoryResponse> response = categoryService.getFeaturedCategories();
-        return ok(response, "Featured categories retrieved successfully");
+        return ok(response, "Featured categories retrieved successfully", stamp);
     }
 
     @PutMapping("/{categoryId}")
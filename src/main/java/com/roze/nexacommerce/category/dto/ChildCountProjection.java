@@ -0,0 +1,6 @@
+package com.roze.nexacommerce.category.dto;
+
+public interface ChildCountProjection {
+    Long getParentId();
+    Long getTotal();
+}
@@ -47,6 +47,10 @@ public class Category extends BaseEntity {
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
     @Builder.Default
     private List<Product> products = new ArrayList<>();
+
+    // ACTIVE, published products; moved by atomic UPDATEs in the repository, never through the entity
+    @Column(insertable = false, updatable = false)
+    private Integer activeProductCount;
     
     // Helper methods
     public void addChildCategory(Category child) {
@@ -5,38 +5,24 @@ import com.roze.nexacommerce.category.dto.request.CategoryUpdateRequest;
 import com.roze.nexacommerce.category.dto.response.CategoryResponse;
 import com.roze.nexacommerce.category.dto.response.CategoryTreeResponse;
 import com.roze.nexacommerce.category.entity.Category;
-import com.roze.nexacommerce.category.repository.CategoryRepository;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import com.roze.nexacommerce.config.MappingConfig;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class CategoryMapper {
-    private final ModelMapper modelMapper;
-    private final CategoryRepository categoryRepository;
+@Mapper(config = MappingConfig.class)
+public abstract class CategoryMapper {
 
-    public Category toEntity(CategoryCreateRequest request) {
-        return modelMapper.map(request, Category.class);
-    }
-
-    public CategoryResponse toResponse(Category category) {
-        CategoryResponse response = modelMapper.map(category, CategoryResponse.class);
+    public abstract Category toEntity(CategoryCreateRequest request);
 
-        if (category.getParent() != null) {
-            response.setParentId(category.getParent().getId());
-            response.setParentName(category.getParent().getName());
-        }
-
-        response.setChildrenCount(category.getChildren() != null ? category.getChildren().size() : 0);
-        response.setProductCount(getProductCount(category));
-        return response;
-    }
+    @Mapping(target = "parentId", source = "parent.id")
+    @Mapping(target = "parentName", source = "parent.name")
+    @Mapping(target = "childrenCount", ignore = true)
+    @Mapping(target = "productCount", source = "activeProductCount", defaultValue = "0")
+    public abstract CategoryResponse toResponse(Category category);
 
     public CategoryTreeResponse toTreeResponse(Category category) {
         return CategoryTreeResponse.builder()
@@ -58,38 +44,12 @@ public class CategoryMapper {
                 .collect(Collectors.toList());
     }
 
-    public void updateEntity(CategoryUpdateRequest request, Category category) {
-        modelMapper.map(request, category);
-    }
+    public abstract void updateEntity(CategoryUpdateRequest request, @MappingTarget Category category);
 
     public List<CategoryResponse> toResponseList(List<Category> categories) {
-        // First get all product counts in batch
-        Map<Long, Long> productCounts = new HashMap<>();
-        for (Category category : categories) {
-            Long count = categoryRepository.countActiveProductsByCategory(category);
-            productCounts.put(category.getId(), count != null ? count : 0L);
-        }
-
-        // Then map each category with pre-calculated count
+        // Product counts are read with the category rows; CategoryServiceImpl fills in child counts
         return categories.stream()
-                .map(category -> {
-                    CategoryResponse response = modelMapper.map(category, CategoryResponse.class);
-
-                    if (category.getParent() != null) {
-                        response.setParentId(category.getParent().getId());
-                        response.setParentName(category.getParent().getName());
-                    }
-
-                    response.setChildrenCount(category.getChildren() != null ? category.getChildren().size() : 0);
-                    response.setProductCount(productCounts.get(category.getId()).intValue());
-
-                    return response;
-                })
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
-
-    private Integer getProductCount(Category category) {
-        Long count = categoryRepository.countActiveProductsByCategory(category);
-        return count != null ? count.intValue() : 0;
-    }
-}
\ No newline at end of file
+}
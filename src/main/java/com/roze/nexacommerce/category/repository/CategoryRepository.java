@@ -1,9 +1,12 @@
 package com.roze.nexacommerce.category.repository;
 
+import com.roze.nexacommerce.category.dto.ChildCountProjection;
 import com.roze.nexacommerce.category.entity.Category;
+import com.roze.nexacommerce.product.importer.CatalogReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -40,22 +43,31 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category = :category AND p.published = true AND p.status = 'ACTIVE'")
     Long countActiveProductsByCategory(Category category);
 
+    @Query("SELECT c.parent.id AS parentId, COUNT(c) AS total FROM Category c " +
+            "WHERE c.parent.id IN :parentIds GROUP BY c.parent.id")
+    List<ChildCountProjection> countChildrenByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
     @Query("SELECT c FROM Category c WHERE " +
             "(LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
             "AND c.active = true")
     List<Category> searchCategories(@Param("query") String query, @Param("limit") int limit);
 
-    @Query("SELECT c FROM Category c WHERE " +
-            "LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "AND c.active = true " +
-            "ORDER BY c.name ASC")
+    @Query(value = "SELECT c.* FROM categories c WHERE " +
+            "c.deleted = false AND c.active = true " +
+            "AND (c.name ILIKE '%' || :query || '%' OR :query <% c.name) " +
+            "ORDER BY word_similarity(:query, c.name) DESC, c.name ASC " +
+            "LIMIT :limit",
+            nativeQuery = true)
     List<Category> searchCategoriesAutocomplete(@Param("query") String query, @Param("limit") int limit);
 
-    @Query("SELECT DISTINCT c.name FROM Category c WHERE " +
-            "LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "AND c.active = true " +
-            "ORDER BY c.name ASC")
+    @Query(value = "SELECT c.name FROM categories c WHERE " +
+            "c.deleted = false AND c.active = true " +
+            "AND (c.name ILIKE '%' || :query || '%' OR :query <% c.name) " +
+            "GROUP BY c.name " +
+            "ORDER BY MAX(word_similarity(:query, c.name)) DESC, c.name ASC " +
+            "LIMIT :limit",
+            nativeQuery = true)
     List<String> findCategoryNameSuggestions(@Param("query") String query, @Param("limit") int limit);
 
     @Query("SELECT c FROM Category c WHERE c.id IN :categoryIds AND c.active = true")
@@ -65,4 +77,37 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findActiveRootCategories();
 
     Collection<Category> findByIdIn(Set<Long> availableCategoryIds);
-}
\ No newline at end of file
+
+    @Query("SELECT c.id AS id, c.slug AS slug FROM Category c")
+    List<CatalogReference> findCatalogReferences();
+
+    /**
+     * Atomically moves the active-product counter; concurrent product changes never lose an update.
+     */
+    @Modifying
+    @Query(value = "UPDATE categories SET active_product_count = GREATEST(active_product_count + :delta, 0) WHERE id = :id",
+            nativeQuery = true)
+    int adjustActiveProductCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Recounts every counter from the products table and returns how many had drifted.
+     */
+    @Modifying
+    @Query(value = "UPDATE categories t SET active_product_count = counts.total " +
+            "FROM (SELECT x.id, COUNT(p.id) AS total FROM categories x " +
+            "LEFT JOIN products p ON p.category_id = x.id AND p.deleted = false " +
+            "AND p.published = true AND p.status = 'ACTIVE' " +
+            "GROUP BY x.id) counts " +
+            "WHERE counts.id = t.id AND t.active_product_count <> counts.total",
+            nativeQuery = true)
+    int reconcileActiveProductCounts();
+
+    /**
+     * Digest of every category's version and product counter. A category response also shows its
+     * parent's name and its children, so any category change moves the digest for all of them.
+     */
+    @Query(value = "SELECT md5(coalesce(string_agg(concat_ws(':', c.id, c.version, c.active_product_count, c.deleted), ',' " +
+            "ORDER BY c.id), '')) FROM categories c",
+            nativeQuery = true)
+    String fingerprint();
+}
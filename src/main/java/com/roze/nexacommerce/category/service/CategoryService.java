@@ -5,6 +5,7 @@ import com.roze.nexacommerce.category.dto.request.CategoryUpdateRequest;
 import com.roze.nexacommerce.category.dto.response.CategoryResponse;
 import com.roze.nexacommerce.category.dto.response.CategoryTreeResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -33,4 +34,9 @@ public interface CategoryService {
     void deleteCategory(Long categoryId);
     
     CategoryResponse toggleCategoryStatus(Long categoryId);
+
+    /**
+     * Validators shared by every category read, for conditional GETs.
+     */
+    ResourceStamp getCategoriesStamp();
 }
\ No newline at end of file
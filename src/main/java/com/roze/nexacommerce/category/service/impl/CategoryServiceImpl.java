@@ -1,5 +1,6 @@
 package com.roze.nexacommerce.category.service.impl;
 
+import com.roze.nexacommerce.category.dto.ChildCountProjection;
 import com.roze.nexacommerce.category.dto.request.CategoryCreateRequest;
 import com.roze.nexacommerce.category.dto.request.CategoryUpdateRequest;
 import com.roze.nexacommerce.category.dto.response.CategoryResponse;
@@ -9,8 +10,11 @@ import com.roze.nexacommerce.category.mapper.CategoryMapper;
 import com.roze.nexacommerce.category.repository.CategoryRepository;
 import com.roze.nexacommerce.category.service.CategoryService;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.exception.DuplicateResourceException;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.product.search.cache.CatalogVersion;
+import com.roze.nexacommerce.product.search.suggest.SearchSuggester;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +22,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +31,8 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final SearchSuggester searchSuggester;
+    private final CatalogVersion catalogVersion;
 
     @Override
     @Transactional
@@ -48,28 +56,28 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
-        return categoryMapper.toResponse(savedCategory);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
+        return toResponse(savedCategory);
     }
 
     @Override
     public CategoryResponse getCategoryById(Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
-        return categoryMapper.toResponse(category);
+        return toResponse(category);
     }
 
     @Override
     public CategoryResponse getCategoryBySlug(String slug) {
         Category category = categoryRepository.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "slug", slug));
-        return categoryMapper.toResponse(category);
+        return toResponse(category);
     }
 
     @Override
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findAll().stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(categoryRepository.findAll());
     }
 
     @Override
@@ -79,7 +87,7 @@ public class CategoryServiceImpl implements CategoryService {
 //                .map(categoryMapper::toResponse)
 //                .collect(Collectors.toList());
         // Use batch mapping for better performance
-        List<CategoryResponse> categoryResponses = categoryMapper.toResponseList(categoryPage.getContent());
+        List<CategoryResponse> categoryResponses = toResponses(categoryPage.getContent());
 
 
         return PaginatedResponse.<CategoryResponse>builder()
@@ -101,23 +109,17 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public List<CategoryResponse> getRootCategories() {
-        return categoryRepository.findByParentIsNull().stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(categoryRepository.findByParentIsNull());
     }
 
     @Override
     public List<CategoryResponse> getChildCategories(Long parentId) {
-        return categoryRepository.findByParentId(parentId).stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(categoryRepository.findByParentId(parentId));
     }
 
     @Override
     public List<CategoryResponse> getFeaturedCategories() {
-        return categoryRepository.findByFeaturedTrueAndActiveTrue().stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(categoryRepository.findByFeaturedTrueAndActiveTrue());
     }
 
     @Override
@@ -149,7 +151,9 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
-        return categoryMapper.toResponse(updatedCategory);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
+        return toResponse(updatedCategory);
     }
 
     @Override
@@ -172,6 +176,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.delete(category);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
     }
 
     @Override
@@ -182,7 +188,34 @@ public class CategoryServiceImpl implements CategoryService {
 
         category.setActive(!category.getActive());
         Category updatedCategory = categoryRepository.save(category);
+        searchSuggester.markDirty();
+        catalogVersion.bump();
+
+        return toResponse(updatedCategory);
+    }
+
+    @Override
+    public ResourceStamp getCategoriesStamp() {
+        return ResourceStamp.ofFingerprint(categoryRepository.fingerprint());
+    }
+
+    private CategoryResponse toResponse(Category category) {
+        return toResponses(List.of(category)).get(0);
+    }
 
-        return categoryMapper.toResponse(updatedCategory);
+    // Child counts cost one grouped query per response, not a subquery on every category load
+    private List<CategoryResponse> toResponses(List<Category> categories) {
+        List<CategoryResponse> responses = categoryMapper.toResponseList(categories);
+        if (responses.isEmpty()) {
+            return responses;
+        }
+
+        Set<Long> ids = categories.stream().map(Category::getId).collect(Collectors.toSet());
+        Map<Long, Long> childCounts = categoryRepository.countChildrenByParentIds(ids).stream()
+                .collect(Collectors.toMap(ChildCountProjection::getParentId, ChildCountProjection::getTotal));
+        for (CategoryResponse response : responses) {
+            response.setChildrenCount(childCounts.getOrDefault(response.getId(), 0L).intValue());
+        }
+        return responses;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.roze.nexacommerce.common;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -22,6 +24,55 @@ public class BaseController {
         return ResponseEntity.ok(BaseResponse.success(data, message));
     }
 
+    /**
+     * 200 OK response carrying the stamp's validators. no-cache lets clients and shared caches
+     * store the body but makes them revalidate it with the stamp on every use.
+     */
+    protected <T> ResponseEntity<BaseResponse<T>> ok(T data, String message, ResourceStamp stamp) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(stamp.getEtag());
+        if (stamp.getLastModified() != null) {
+            builder.lastModified(stamp.getLastModified());
+        }
+        return builder.body(BaseResponse.success(data, message));
+    }
+
+    /**
+     * 304 Not Modified response with the stamp's validators and no body
+     */
+    protected <T> ResponseEntity<BaseResponse<T>> notModified(ResourceStamp stamp) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .eTag(stamp.getEtag());
+        if (stamp.getLastModified() != null) {
+            builder.lastModified(stamp.getLastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * True when the client's copy, named by If-None-Match or else by If-Modified-Since, is still
+     * current. Only reads the request, so a handler can probe the stamp before building a body.
+     */
+    protected boolean isNotModified(HttpHeaders requestHeaders, ResourceStamp stamp) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            // The tags issued are strong, but RFC 9110 has If-None-Match compare weakly, so a copy a
+            // proxy re-marked W/ (for instance after compressing it) still revalidates
+            for (String etag : ifNoneMatch) {
+                if ("*".equals(etag) || stamp.getEtag().equals(etag.startsWith("W/") ? etag.substring(2) : etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        // HTTP dates have whole seconds; stamps without Last-Modified (collections) never match here
+        return ifModifiedSince != -1 && stamp.getLastModified() != null
+                && stamp.getLastModified().getEpochSecond() * 1000 <= ifModifiedSince;
+    }
+
     /**
      * 201 Created response with default message
      */
@@ -15,8 +15,9 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 @EntityListeners({AuditingEntityListener.class, BaseEntityListener.class})
 public class BaseEntity {
+    // One {entity}_seq per entity, allocated in blocks of 50 (pooled-lo) so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreatedDate
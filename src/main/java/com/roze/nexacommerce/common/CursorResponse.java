@@ -0,0 +1,23 @@
+package com.roze.nexacommerce.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Slice of a keyset-paginated listing. There is no total count; clients pass
+ * {@code nextCursor} back to fetch the following slice until {@code hasNext} is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int pageSize;
+}
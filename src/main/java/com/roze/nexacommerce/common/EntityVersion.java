@@ -0,0 +1,14 @@
+package com.roze.nexacommerce.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version columns of a single entity, read without loading the entity.
+ */
+public interface EntityVersion {
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,152 @@
+package com.roze.nexacommerce.common;
+
+import com.roze.nexacommerce.exception.ValidationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque cursors for keyset (seek) pagination. A cursor carries the sort it was issued for
+ * and the sort-key values plus id of the last row returned, so the next slice is a
+ * {@code WHERE (key, id) < (:key, :id)} range scan instead of an OFFSET.
+ */
+public final class KeysetCursor {
+    public static final int MAX_SIZE = 100;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Validates the requested sort key and appends {@code id} in the same direction as the
+     * tie-breaker, so the order is total and matches the composite indexes.
+     */
+    public static Sort sort(String sortBy, String sortDirection, Set<String> allowedProperties) {
+        if (!allowedProperties.contains(sortBy)) {
+            throw new ValidationException("Cursor pagination supports sorting by " + String.join(", ", allowedProperties));
+        }
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+    }
+
+    public static Limit limit(int size) {
+        return Limit.of(Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    public static ScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+
+        int separator = payload.indexOf('|');
+        if (separator < 0 || !payload.substring(0, separator).equals(describe(sort))) {
+            throw new ValidationException("Cursor does not match the requested sort");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String entry : payload.substring(separator + 1).split("&")) {
+            int equals = entry.indexOf('=');
+            if (equals < 1 || equals + 1 >= entry.length()) {
+                throw new ValidationException("Invalid cursor");
+            }
+            keys.put(entry.substring(0, equals), parse(entry.charAt(equals + 1),
+                    URLDecoder.decode(entry.substring(equals + 2), StandardCharsets.UTF_8)));
+        }
+        // Only the sort properties may be seeked on; anything else would reach the query as-is
+        List<String> properties = sort.stream().map(Sort.Order::getProperty).toList();
+        if (!new ArrayList<>(keys.keySet()).equals(properties)) {
+            throw new ValidationException("Invalid cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static <S, T> CursorResponse<T> toResponse(Window<S> window, Sort sort, Function<S, T> mapper) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = encode(window.positionAt(window.size() - 1), sort);
+        }
+        return CursorResponse.<T>builder()
+                .items(window.getContent().stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(window.hasNext())
+                .pageSize(window.size())
+                .build();
+    }
+
+    private static String encode(ScrollPosition position, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalStateException("Expected a keyset scroll position but got " + position);
+        }
+        String keys = keyset.getKeys().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + format(entry.getValue()))
+                .collect(Collectors.joining("&"));
+        String payload = describe(sort) + "|" + keys;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String describe(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+
+    // Values are tagged with their type so they decode to what the entity attribute expects
+    private static String format(Object value) {
+        String tag;
+        if (value instanceof LocalDateTime) {
+            tag = "T";
+        } else if (value instanceof Long) {
+            tag = "L";
+        } else if (value instanceof Integer) {
+            tag = "I";
+        } else if (value instanceof BigDecimal) {
+            tag = "D";
+        } else if (value instanceof String) {
+            tag = "S";
+        } else {
+            throw new IllegalStateException("Unsupported keyset value " + value);
+        }
+        return tag + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static Object parse(char tag, String value) {
+        try {
+            switch (tag) {
+                case 'T':
+                    return LocalDateTime.parse(value);
+                case 'L':
+                    return Long.valueOf(value);
+                case 'I':
+                    return Integer.valueOf(value);
+                case 'D':
+                    return new BigDecimal(value);
+                case 'S':
+                    return value;
+                default:
+                    throw new ValidationException("Invalid cursor");
+            }
+        } catch (RuntimeException e) {
+            if (e instanceof ValidationException validationException) {
+                throw validationException;
+            }
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.roze.nexacommerce.common;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a conditional GET, read before the response body is built.
+ * A single entity is tagged with its optimistic-lock version and the versions of the related
+ * rows its body also shows, such as a product's category and brand, whose renames do not touch
+ * the entity row. Its Last-Modified is the latest updated_at among those rows.
+ * A collection is tagged with a fingerprint of every row it can show. Deletes and counter
+ * updates move the fingerprint without moving any updated_at, so collections carry no
+ * Last-Modified.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResourceStamp {
+    private final String etag;
+    private final Instant lastModified;
+    private final Long id;
+    private final Long version;
+    private final String relatedVersions;
+
+    public static ResourceStamp of(EntityVersion entity, String relatedVersions, LocalDateTime lastModified) {
+        String etag = "\"" + entity.getId() + "-" + entity.getVersion() + "-" + relatedVersions + "\"";
+        // Auditing writes updated_at in the JVM's zone
+        Instant modified = lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant() : null;
+        return new ResourceStamp(etag, modified, entity.getId(), entity.getVersion(), relatedVersions);
+    }
+
+    /**
+     * Tags a collection fingerprint, optionally with the request inputs that also shape the
+     * body but are not part of the URL, such as the caller.
+     */
+    public static ResourceStamp ofFingerprint(String fingerprint, Object... variant) {
+        StringBuilder etag = new StringBuilder("\"").append(fingerprint);
+        for (Object part : variant) {
+            etag.append('-').append(String.valueOf(part).replaceAll("[^A-Za-z0-9_.]", "_"));
+        }
+        return new ResourceStamp(etag.append('"').toString(), null, null, null, null);
+    }
+}
@@ -3,24 +3,16 @@ package com.roze.nexacommerce.common.address.mapper;
 import com.roze.nexacommerce.common.address.dto.request.AddressRequest;
 import com.roze.nexacommerce.common.address.dto.response.AddressResponse;
 import com.roze.nexacommerce.common.address.entity.Address;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import com.roze.nexacommerce.config.MappingConfig;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
 
-@Component
-@RequiredArgsConstructor
-public class AddressMapper {
-    private final ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface AddressMapper {
 
-    public Address toEntity(AddressRequest request) {
-        return modelMapper.map(request, Address.class);
-    }
+    Address toEntity(AddressRequest request);
 
-    public AddressResponse toResponse(Address address) {
-        return modelMapper.map(address, AddressResponse.class);
-    }
+    AddressResponse toResponse(Address address);
 
-    public void updateEntity(AddressRequest request, Address address) {
-        modelMapper.map(request, address);
-    }
-}
\ No newline at end of file
+    void updateEntity(AddressRequest request, @MappingTarget Address address);
+}
@@ -0,0 +1,115 @@
+package com.roze.nexacommerce.common.id;
+
+import com.roze.nexacommerce.config.IdGeneratorProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This instance's node id for {@link TimeOrderedIdGenerator}, leased from a row in
+ * {@code id_generator_nodes}. Expiry is judged by the database clock, so instances with skewed
+ * clocks still agree on when a lease is free. The lease is renewed in the background. If it was
+ * lost, for example after a long pause, it is renewed before the next id is generated.
+ */
+@Slf4j
+@Component
+public class NodeIdLease {
+    // Prefers never-used and longest-expired node ids, so a just-released id is reused last
+    private static final String ACQUIRE = "UPDATE id_generator_nodes SET owner = ?, expires_at = now() + ? * interval '1 second' " +
+            "WHERE node_id = (SELECT node_id FROM id_generator_nodes WHERE expires_at IS NULL OR expires_at < now() " +
+            "ORDER BY expires_at NULLS FIRST, node_id LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "RETURNING node_id";
+
+    // Nobody else can hold the row while it still names this instance, even after it expired
+    private static final String RENEW = "UPDATE id_generator_nodes SET expires_at = now() + ? * interval '1 second' " +
+            "WHERE node_id = ? AND owner = ?";
+
+    private static final String RELEASE = "UPDATE id_generator_nodes SET owner = NULL, expires_at = NULL " +
+            "WHERE node_id = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdGeneratorProperties idGeneratorProperties;
+    // Commits on its own, so a lease taken inside an order transaction survives that order rolling back
+    private final TransactionTemplate leaseTransaction;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile int nodeId = -1;
+    private volatile long validUntilNanos;
+
+    public NodeIdLease(JdbcTemplate jdbcTemplate,
+                       IdGeneratorProperties idGeneratorProperties,
+                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idGeneratorProperties = idGeneratorProperties;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public int nodeId() {
+        if (nodeId < 0 || System.nanoTime() - validUntilNanos > 0) {
+            synchronized (this) {
+                if (nodeId < 0 || System.nanoTime() - validUntilNanos > 0) {
+                    renewOrAcquire();
+                }
+            }
+        }
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${application.id-generator.renew-interval-seconds:20}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void renew() {
+        if (nodeId < 0) {
+            return;
+        }
+        try {
+            renewOrAcquire();
+        } catch (Exception e) {
+            // Generation renews on its own once the local validity runs out
+            log.warn("Could not renew id generator node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (nodeId < 0) {
+            return;
+        }
+        try {
+            leaseTransaction.executeWithoutResult(status -> jdbcTemplate.update(RELEASE, nodeId, owner));
+        } catch (Exception e) {
+            log.warn("Could not release id generator node {}: {}", nodeId, e.getMessage());
+        }
+        nodeId = -1;
+    }
+
+    private void renewOrAcquire() {
+        long ttlSeconds = idGeneratorProperties.getLeaseTtlSeconds();
+        // Measured from before the round trip, so the local validity never outlasts the row's
+        long started = System.nanoTime();
+        Integer leased = leaseTransaction.execute(status -> {
+            if (nodeId >= 0 && jdbcTemplate.update(RENEW, ttlSeconds, nodeId, owner) == 1) {
+                return nodeId;
+            }
+            List<Integer> acquired = jdbcTemplate.queryForList(ACQUIRE, Integer.class, owner, ttlSeconds);
+            return acquired.isEmpty() ? null : acquired.get(0);
+        });
+        if (leased == null) {
+            throw new IllegalStateException("No free id generator node; all " +
+                    "node ids are leased by running instances");
+        }
+        if (leased != nodeId) {
+            log.info("Leased id generator node {}", leased);
+        }
+        nodeId = leased;
+        validUntilNanos = started + TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+}
@@ -0,0 +1,66 @@
+package com.roze.nexacommerce.common.id;
+
+import com.roze.nexacommerce.config.IdGeneratorProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unique, time-ordered business numbers such as order and return numbers. An id packs 41 bits
+ * of milliseconds since the configured epoch, a 10-bit node id leased by {@link NodeIdLease}
+ * and a 12-bit sequence within the millisecond. Ids from one instance strictly increase, and
+ * ids from different instances sort by time to within their clock skew. Generation is a single
+ * compare-and-set; there is no lock, database round trip or uniqueness retry.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimeOrderedIdGenerator {
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford base32: no I, L, O or U, so numbers survive being read out or typed back
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    // Fixed width, so numbers sort as strings in the same order as the ids
+    private static final int ENCODED_LENGTH = 13;
+
+    private final NodeIdLease nodeIdLease;
+    private final IdGeneratorProperties idGeneratorProperties;
+
+    // Milliseconds since the epoch shifted left by SEQUENCE_BITS, plus the sequence within that millisecond
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public String nextOrderNumber() {
+        return "ORD-" + encode(nextId());
+    }
+
+    public String nextReturnNumber() {
+        return "RMA-" + encode(nextId());
+    }
+
+    public long nextId() {
+        long nodeId = nodeIdLease.nodeId();
+        long tick;
+        while (true) {
+            long last = lastTick.get();
+            long now = (System.currentTimeMillis() - idGeneratorProperties.getEpochMillis()) << SEQUENCE_BITS;
+            // A spent sequence or a clock that stepped back borrows from the next millisecond instead of waiting
+            tick = Math.max(now, last + 1);
+            if (lastTick.compareAndSet(last, tick)) {
+                break;
+            }
+        }
+        long millis = tick >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (tick & SEQUENCE_MASK);
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,29 @@
+package com.roze.nexacommerce.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Lets a handler give its own async request a timeout, so a long one does not need a global
+ * spring.mvc.async.request-timeout. The handler stores a {@link Duration} under
+ * {@link #TIMEOUT_ATTRIBUTE}; it is applied just before async processing starts.
+ */
+@Component
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+    public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        // The request handed to interceptors is the async request itself, not yet started
+        if (timeout instanceof Duration duration && request instanceof AsyncWebRequest asyncWebRequest) {
+            asyncWebRequest.setTimeout(duration.toMillis());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.roze.nexacommerce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roze.nexacommerce.product.cache.ProductJson;
+import com.roze.nexacommerce.product.search.cache.SearchResultKey;
+import com.roze.nexacommerce.product.search.cache.SearchResultPage;
+import com.roze.nexacommerce.product.search.dto.AutocompleteResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Per-prefix autocomplete results. Kept short-lived so catalog changes show up within seconds.
+     */
+    @Bean
+    public Cache<String, AutocompleteResult> autocompleteCache(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        SearchProperties.Autocomplete autocomplete = searchProperties.getAutocomplete();
+        Cache<String, AutocompleteResult> cache = Caffeine.newBuilder()
+                .maximumSize(autocomplete.getCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(autocomplete.getCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "autocomplete");
+    }
+
+    /**
+     * Result-id pages keyed on the normalized search request and the catalog version. Size-bounded
+     * Caffeine evicts with W-TinyLFU, which keeps the repeated head of the query distribution.
+     * The TTL only bounds staleness from changes that do not bump the version, such as stock
+     * moving through orders.
+     */
+    @Bean
+    public Cache<SearchResultKey, SearchResultPage> searchResultCache(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        SearchProperties.ResultCache resultCache = searchProperties.getResultCache();
+        Cache<SearchResultKey, SearchResultPage> cache = Caffeine.newBuilder()
+                .maximumSize(resultCache.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(resultCache.getTtlSeconds()))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "searchResults");
+    }
+
+    /**
+     * Serialized product detail responses, keyed on the product, category and brand versions.
+     */
+    @Bean
+    public Cache<String, ProductJson> productJsonCache(ProductCacheProperties productCacheProperties, MeterRegistry meterRegistry) {
+        Cache<String, ProductJson> cache = Caffeine.newBuilder()
+                .maximumSize(productCacheProperties.getLocalMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(productCacheProperties.getLocalTtlSeconds()))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "productJson");
+    }
+}
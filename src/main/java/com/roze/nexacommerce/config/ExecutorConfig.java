@@ -0,0 +1,47 @@
+package com.roze.nexacommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * One virtual thread per search branch. The branches block on JDBC, so their concurrency is
+     * bounded by the connection pool rather than by this executor.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService searchExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("search-", 0).factory());
+    }
+
+    /**
+     * Caps the search branches running on {@link #searchExecutor} at once, and with them the
+     * connections search can take from the pool. A branch that finds no permit runs on the
+     * request thread instead, so a busy node degrades to one connection per search.
+     */
+    @Bean
+    public Semaphore searchFanoutPermits(SearchProperties searchProperties) {
+        return new Semaphore(searchProperties.getFanout().getMaxConcurrentBranches());
+    }
+
+    /**
+     * Renders and mails order receipts after checkout commits. Bounded in both threads and
+     * queue, so a slow mail server backs up here instead of in request threads; the default
+     * abort policy hands overflow back to the caller to count and drop.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor receiptEmailExecutor(ReceiptEmailProperties receiptEmailProperties) {
+        int workers = receiptEmailProperties.getWorkers();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(receiptEmailProperties.getQueueCapacity()),
+                Thread.ofPlatform().name("receipt-email-", 0).factory());
+    }
+}
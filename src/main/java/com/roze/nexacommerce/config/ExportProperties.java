@@ -0,0 +1,12 @@
+package com.roze.nexacommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.export")
+public class ExportProperties {
+    private long requestTimeoutMinutes = 30; // async timeout for streamed downloads; other async requests keep the default
+}
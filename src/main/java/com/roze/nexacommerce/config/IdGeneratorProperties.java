@@ -0,0 +1,14 @@
+package com.roze.nexacommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.id-generator")
+public class IdGeneratorProperties {
+    private long epochMillis = 1_735_689_600_000L; // 2025-01-01T00:00:00Z; must never change once numbers are issued
+    private long leaseTtlSeconds = 60; // a node id held by a stopped instance is reused after this
+    private long renewIntervalSeconds = 20;
+}
@@ -0,0 +1,18 @@
+package com.roze.nexacommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.inventory-reservation")
+public class InventoryReservationProperties {
+    private boolean enabled = false; // checkout holds nothing and availability reads the loaded product when disabled
+    private long holdTtlSeconds = 600; // how long a started checkout keeps its units away from other buyers
+    private long sweepIntervalSeconds = 5; // how late an expired hold can be given back
+    private long reconcileIntervalSeconds = 300; // resyncs the Redis stock mirror and held totals
+    private int reconcileBatchSize = 500;
+    private int reserveLimit = 10; // holds a customer may take per window
+    private long reserveLimitWindowSeconds = 60;
+}
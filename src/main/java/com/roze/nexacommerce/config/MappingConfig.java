@@ -0,0 +1,44 @@
+package com.roze.nexacommerce.config;
+
+import com.roze.nexacommerce.common.BaseEntity;
+import org.mapstruct.Builder;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapping;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingInheritanceStrategy;
+import org.mapstruct.NullValueCheckStrategy;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared settings for the generated mappers. Mapping code is written at compile time, so a
+ * mapping is plain getter and setter calls with no reflection or type-map lookup per call.
+ * Null source properties never overwrite a value already on the target, and properties with
+ * no counterpart are left alone.
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE,
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS,
+        nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
+        mappingInheritanceStrategy = MappingInheritanceStrategy.AUTO_INHERIT_FROM_CONFIG,
+        // Entity builders do not expose the BaseEntity properties ignored below
+        builder = @Builder(disableBuilder = true)
+)
+public interface MappingConfig {
+
+    /**
+     * Inherited by every method that creates or updates an entity: identity, auditing and
+     * versioning stay with JPA and are never copied from a request.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "modifiedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "ipAddress", ignore = true)
+    BaseEntity toEntity(Object source);
+}
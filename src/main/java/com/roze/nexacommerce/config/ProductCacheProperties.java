@@ -0,0 +1,15 @@
+package com.roze.nexacommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.product-cache")
+public class ProductCacheProperties {
+    private boolean enabled = false; // detail lookups map and serialize on every request when disabled
+    private long localMaximumSize = 5_000;
+    private long localTtlSeconds = 60; // entries of superseded versions age out after this
+    private long sharedTtlMinutes = 10; // Redis entries; also bounds staleness from vendor renames
+}
@@ -0,0 +1,14 @@
+package com.roze.nexacommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.product-import")
+public class ProductImportProperties {
+    private int chunkSize = 1_000; // rows validated, copied and merged per transaction
+    private int maxRows = 100_000; // rows past this are rejected and the rest of the upload is not read
+    private int maxReportedErrors = 1_000; // row errors listed in the response; all of them are counted
+}
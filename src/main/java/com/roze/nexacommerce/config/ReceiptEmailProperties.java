@@ -0,0 +1,15 @@
+package com.roze.nexacommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.receipt-email")
+public class ReceiptEmailProperties {
+    private int workers = 2; // PDF renders and SMTP sessions running at once
+    private int queueCapacity = 1000; // receipts beyond this are dropped and counted rather than blocking checkout
+    private int maxAttempts = 4;
+    private long retryBackoffSeconds = 5; // doubled after every failed attempt
+}
@@ -0,0 +1,89 @@
+package com.roze.nexacommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.search")
+public class SearchProperties {
+
+    // In-memory inverted index used by product search
+    private Index index = new Index();
+
+    // PostgreSQL tsvector search, for pods that should not hold the in-memory index
+    private FullText fullText = new FullText();
+
+    // Short-lived per-prefix cache in front of the autocomplete queries
+    private Autocomplete autocomplete = new Autocomplete();
+
+    // In-memory prefix trie serving autocomplete and suggestions
+    private Suggester suggester = new Suggester();
+
+    // Result-id cache in front of product search, invalidated by the catalog version
+    private ResultCache resultCache = new ResultCache();
+
+    // Concurrent product/category/brand/facet sub-queries in search
+    private Fanout fanout = new Fanout();
+
+    // Count-Min Sketch backed popular-searches tracking, merged across nodes through Redis
+    private Popular popular = new Popular();
+
+    @Data
+    public static class Index {
+        private boolean enabled = false; // falls back to the JPQL search when disabled or not built yet
+        private long rebuildIntervalMinutes = 15; // full rebuild to pick up out-of-band changes
+        private double k1 = 1.2; // BM25 term frequency saturation
+        private double b = 0.75; // BM25 document length normalization
+    }
+
+    @Data
+    public static class FullText {
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Autocomplete {
+        private long cacheTtlSeconds = 30;
+        private long cacheMaximumSize = 10_000;
+    }
+
+    @Data
+    public static class Suggester {
+        private boolean enabled = false;
+        private int topK = 10; // suggestions kept per trie node
+        private long refreshDelaySeconds = 30; // how often a dirty catalog triggers a background rebuild
+        private long fullRebuildIntervalMinutes = 60; // refreshes popularity weights
+    }
+
+    @Data
+    public static class ResultCache {
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private long ttlSeconds = 60; // bounds staleness from changes that do not bump the catalog version
+        private long versionPollMillis = 2000; // how quickly other nodes' catalog changes are picked up
+    }
+
+    @Data
+    public static class Fanout {
+        private boolean enabled = false; // branches run one after another on the request thread when disabled
+        private int maxConcurrentBranches = 4; // across all searches; each holds a pooled connection, so keep well below the pool size
+        private long productsTimeoutMillis = 3000; // the product page is required; timing out fails the search
+        private long categoriesTimeoutMillis = 1000;
+        private long brandsTimeoutMillis = 1000;
+        private long facetsTimeoutMillis = 1500;
+    }
+
+    @Data
+    public static class Popular {
+        private boolean enabled = false;
+        private int topK = 20; // size of the published popular list
+        private int width = 2048; // sketch counters per row; error is about e/width of all searches
+        private int depth = 4; // sketch rows; failure probability is e^-depth
+        private int maxCandidates = 200; // distinct queries tracked per window as top-K candidates
+        private long windowMinutes = 10;
+        private int windowCount = 6; // the popular list covers windowMinutes * windowCount
+        private long refreshSeconds = 60; // persist, merge and republish interval
+    }
+}
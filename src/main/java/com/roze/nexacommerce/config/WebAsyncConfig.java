@@ -0,0 +1,17 @@
+package com.roze.nexacommerce.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebAsyncConfig implements WebMvcConfigurer {
+    private final AsyncTimeoutInterceptor asyncTimeoutInterceptor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(asyncTimeoutInterceptor);
+    }
+}
@@ -1,5 +1,6 @@
 package com.roze.nexacommerce.customer.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.customer.dto.request.CustomerRegistrationRequest;
 import com.roze.nexacommerce.customer.dto.request.CustomerUpdateRequest;
 import com.roze.nexacommerce.customer.dto.response.CustomerDetailResponse;
@@ -7,25 +8,24 @@ import com.roze.nexacommerce.customer.dto.response.CustomerResponse;
 import com.roze.nexacommerce.customer.dto.response.UserInfo;
 import com.roze.nexacommerce.customer.entity.CustomerProfile;
 import com.roze.nexacommerce.user.entity.User;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
 
-@Component
-@RequiredArgsConstructor
-public class CustomerMapper {
-    private final ModelMapper modelMapper;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Mapper(config = MappingConfig.class)
+public abstract class CustomerMapper {
 
     public CustomerProfile toEntity(CustomerRegistrationRequest request, User user) {
-        CustomerProfile customer = modelMapper.map(request, CustomerProfile.class);
+        CustomerProfile customer = toProfile(request);
         customer.setUser(user);
-        customer.setPhone(request.getPhone());
         return customer;
     }
 
-    public CustomerResponse toResponse(CustomerProfile customer) {
-        return modelMapper.map(customer, CustomerResponse.class);
-    }
+    protected abstract CustomerProfile toProfile(CustomerRegistrationRequest request);
+
+    public abstract CustomerResponse toResponse(CustomerProfile customer);
 
     public CustomerDetailResponse toDetailResponse(CustomerProfile customer) {
         CustomerResponse customerResponse = toResponse(customer);
@@ -44,7 +44,10 @@ public class CustomerMapper {
                 .build();
     }
 
-    public void updateEntity(CustomerUpdateRequest request, CustomerProfile customer) {
-        modelMapper.map(request, customer);
+    public abstract void updateEntity(CustomerUpdateRequest request, @MappingTarget CustomerProfile customer);
+
+    // The response carries the date of birth as a date-time
+    protected LocalDateTime toDateTime(LocalDate date) {
+        return date != null ? date.atStartOfDay() : null;
     }
-}
\ No newline at end of file
+}
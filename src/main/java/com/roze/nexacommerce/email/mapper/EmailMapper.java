@@ -1,7 +1,6 @@
 package com.roze.nexacommerce.email.mapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.email.dto.request.EmailConfigurationRequest;
 import com.roze.nexacommerce.email.dto.request.EmailTemplateRequest;
 import com.roze.nexacommerce.email.dto.response.EmailConfigurationResponse;
@@ -12,23 +11,17 @@ import com.roze.nexacommerce.email.entity.EmailConfiguration;
 import com.roze.nexacommerce.email.entity.EmailLog;
 import com.roze.nexacommerce.email.entity.EmailTemplate;
 import com.roze.nexacommerce.email.entity.EmailTracking;
-import com.roze.nexacommerce.email.repository.EmailConfigurationRepository;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 import java.util.List;
-import java.util.stream.Collectors;
-
-@Component
-@RequiredArgsConstructor
-public class EmailMapper {
-    private final ModelMapper modelMapper;
-    private final EmailConfigurationRepository emailConfigurationRepository;
-    private final ObjectMapper objectMapper;
+
+@Mapper(config = MappingConfig.class)
+public abstract class EmailMapper {
     // EmailConfiguration Mappings
     public EmailConfiguration toEntity(EmailConfigurationRequest request) {
-        EmailConfiguration configuration = modelMapper.map(request, EmailConfiguration.class);
+        EmailConfiguration configuration = toConfiguration(request);
         if (configuration.getTemplateData() != null && configuration.getTemplateData().trim().isEmpty()) {
             configuration.setTemplateData(null);
         }
@@ -59,25 +52,16 @@ public class EmailMapper {
         return configuration;
     }
 
-    public EmailConfigurationResponse toResponse(EmailConfiguration configuration) {
-        return modelMapper.map(configuration, EmailConfigurationResponse.class);
-    }
+    protected abstract EmailConfiguration toConfiguration(EmailConfigurationRequest request);
 
-    public List<EmailConfigurationResponse> toConfigurationResponseList(List<EmailConfiguration> configurations) {
-        return configurations.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
+    public abstract EmailConfigurationResponse toResponse(EmailConfiguration configuration);
+
+    public abstract List<EmailConfigurationResponse> toConfigurationResponseList(List<EmailConfiguration> configurations);
 
     // EmailTemplate Mappings
+    // The default configuration is resolved from defaultConfigurationId by the template service
     public EmailTemplate toEntity(EmailTemplateRequest request) {
-        EmailTemplate template = modelMapper.map(request, EmailTemplate.class);
-        
-        // Set default configuration if provided
-        if (request.getDefaultConfigurationId() != null) {
-            emailConfigurationRepository.findById(request.getDefaultConfigurationId())
-                    .ifPresent(template::setDefaultConfiguration);
-        }
+        EmailTemplate template = toTemplate(request);
         
         // Set default values
         if (template.getIsActive() == null) {
@@ -92,69 +76,25 @@ public class EmailMapper {
         return template;
     }
 
-    public EmailTemplateResponse toResponse(EmailTemplate template) {
-        EmailTemplateResponse response = modelMapper.map(template, EmailTemplateResponse.class);
-        
-        // Map default configuration
-        if (template.getDefaultConfiguration() != null) {
-            response.setDefaultConfiguration(toResponse(template.getDefaultConfiguration()));
-        }
-        
-        return response;
-    }
+    protected abstract EmailTemplate toTemplate(EmailTemplateRequest request);
 
-    public List<EmailTemplateResponse> toTemplateResponseList(List<EmailTemplate> templates) {
-        return templates.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
+    public abstract EmailTemplateResponse toResponse(EmailTemplate template);
+
+    public abstract List<EmailTemplateResponse> toTemplateResponseList(List<EmailTemplate> templates);
 
     // EmailLog Mappings
-    public EmailLogResponse toResponse(EmailLog emailLog) {
-        EmailLogResponse response = modelMapper.map(emailLog, EmailLogResponse.class);
-        
-        // Map related entities
-        if (emailLog.getEmailConfiguration() != null) {
-            response.setEmailConfiguration(toResponse(emailLog.getEmailConfiguration()));
-        }
-        if (emailLog.getEmailTemplate() != null) {
-            response.setEmailTemplate(toResponse(emailLog.getEmailTemplate()));
-        }
-        
-        return response;
-    }
+    public abstract EmailLogResponse toResponse(EmailLog emailLog);
 
-    public List<EmailLogResponse> toLogResponseList(List<EmailLog> emailLogs) {
-        return emailLogs.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
+    public abstract List<EmailLogResponse> toLogResponseList(List<EmailLog> emailLogs);
 
     // EmailTracking Mappings
-    public EmailTrackingResponse toResponse(EmailTracking tracking) {
-        return modelMapper.map(tracking, EmailTrackingResponse.class);
-    }
+    @Mapping(target = "emailLogId", source = "emailLog.id")
+    public abstract EmailTrackingResponse toResponse(EmailTracking tracking);
 
-    public List<EmailTrackingResponse> toTrackingResponseList(List<EmailTracking> trackings) {
-        return trackings.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
+    public abstract List<EmailTrackingResponse> toTrackingResponseList(List<EmailTracking> trackings);
 
     // Update methods
-    public void updateConfigurationFromRequest(EmailConfigurationRequest request, EmailConfiguration configuration) {
-        modelMapper.map(request, configuration);
-    }
+    public abstract void updateConfigurationFromRequest(EmailConfigurationRequest request, @MappingTarget EmailConfiguration configuration);
 
-    public void updateTemplateFromRequest(EmailTemplateRequest request, EmailTemplate template) {
-        modelMapper.map(request, template);
-        
-        // Update default configuration if provided
-        if (request.getDefaultConfigurationId() != null) {
-            emailConfigurationRepository.findById(request.getDefaultConfigurationId())
-                    .ifPresent(template::setDefaultConfiguration);
-        } else if (request.getDefaultConfigurationId() == null) {
-            template.setDefaultConfiguration(null);
-        }
-    }
-}
\ No newline at end of file
+    public abstract void updateTemplateFromRequest(EmailTemplateRequest request, @MappingTarget EmailTemplate template);
+}
@@ -5,6 +5,7 @@ import com.roze.nexacommerce.email.dto.response.EmailTemplateResponse;
 import com.roze.nexacommerce.email.entity.EmailTemplate;
 import com.roze.nexacommerce.email.enums.EmailCategory;
 import com.roze.nexacommerce.email.mapper.EmailMapper;
+import com.roze.nexacommerce.email.repository.EmailConfigurationRepository;
 import com.roze.nexacommerce.email.repository.EmailTemplateRepository;
 import com.roze.nexacommerce.email.service.EmailTemplateService;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
@@ -20,6 +21,7 @@ import java.util.List;
 @Slf4j
 public class EmailTemplateServiceImpl implements EmailTemplateService {
     private final EmailTemplateRepository emailTemplateRepository;
+    private final EmailConfigurationRepository emailConfigurationRepository;
     private final EmailMapper emailMapper;
 
     @Override
@@ -33,6 +35,7 @@ public class EmailTemplateServiceImpl implements EmailTemplateService {
         }
         
         EmailTemplate template = emailMapper.toEntity(request);
+        setDefaultConfiguration(request, template);
         EmailTemplate savedTemplate = emailTemplateRepository.save(template);
         
         log.info("Successfully created email template with ID: {}", savedTemplate.getId());
@@ -54,6 +57,7 @@ public class EmailTemplateServiceImpl implements EmailTemplateService {
         }
         
         emailMapper.updateTemplateFromRequest(request, template);
+        setDefaultConfiguration(request, template);
         EmailTemplate updatedTemplate = emailTemplateRepository.save(template);
         
         log.info("Successfully updated email template with ID: {}", id);
@@ -165,6 +169,7 @@ public class EmailTemplateServiceImpl implements EmailTemplateService {
         
         // Create new version
         EmailTemplate newVersion = emailMapper.toEntity(request);
+        setDefaultConfiguration(request, newVersion);
         newVersion.setTemplateKey(templateKey);
         newVersion.setTemplateVersion(existingTemplate.getTemplateVersion() + 1);
         newVersion.setIsSystemTemplate(existingTemplate.getIsSystemTemplate());
@@ -174,4 +179,13 @@ public class EmailTemplateServiceImpl implements EmailTemplateService {
         log.info("Successfully created new version {} for template: {}", savedTemplate.getVersion(), templateKey);
         return emailMapper.toResponse(savedTemplate);
     }
-}
\ No newline at end of file
+
+    private void setDefaultConfiguration(EmailTemplateRequest request, EmailTemplate template) {
+        if (request.getDefaultConfigurationId() == null) {
+            template.setDefaultConfiguration(null);
+        } else {
+            emailConfigurationRepository.findById(request.getDefaultConfigurationId())
+                    .ifPresent(template::setDefaultConfiguration);
+        }
+    }
+}
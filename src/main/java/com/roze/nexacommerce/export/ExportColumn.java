@@ -0,0 +1,28 @@
+package com.roze.nexacommerce.export;
+
+import java.util.function.Function;
+
+/**
+ * A named column of an export and how to read it from a row.
+ */
+public class ExportColumn<T> {
+    private final String name;
+    private final Function<T, Object> value;
+
+    private ExportColumn(String name, Function<T, Object> value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public static <T> ExportColumn<T> of(String name, Function<T, Object> value) {
+        return new ExportColumn<>(name, value);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Object valueOf(T row) {
+        return value.apply(row);
+    }
+}
@@ -0,0 +1,48 @@
+package com.roze.nexacommerce.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows to the response as they are read from the database cursor. Output is flushed
+ * every {@link #FLUSH_INTERVAL} rows so the client sees steady progress and nothing accumulates.
+ */
+public abstract class ExportWriter implements Closeable {
+    private static final int FLUSH_INTERVAL = 500;
+
+    public static ExportWriter open(ExportFormat format, OutputStream output, ObjectMapper objectMapper) throws IOException {
+        if (format == ExportFormat.CSV) {
+            return new CsvExportWriter(output);
+        }
+        return new NdjsonExportWriter(output, objectMapper);
+    }
+
+    /**
+     * Writes every row of the stream and returns how many there were.
+     */
+    public <T> long write(Stream<T> rows, List<ExportColumn<T>> columns) throws IOException {
+        writeHeader(columns);
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writeRow(iterator.next(), columns);
+            if (++count % FLUSH_INTERVAL == 0) {
+                flush();
+            }
+        }
+        flush();
+        return count;
+    }
+
+    protected abstract <T> void writeHeader(List<ExportColumn<T>> columns) throws IOException;
+
+    protected abstract <T> void writeRow(T row, List<ExportColumn<T>> columns) throws IOException;
+
+    protected abstract void flush() throws IOException;
+}
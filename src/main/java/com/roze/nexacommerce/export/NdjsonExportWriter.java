@@ -0,0 +1,52 @@
+package com.roze.nexacommerce.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * One JSON object per line, written through a single generator so no row is materialized as a tree.
+ */
+class NdjsonExportWriter extends ExportWriter {
+    private final JsonGenerator generator;
+    private boolean written;
+
+    NdjsonExportWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(output);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    protected <T> void writeHeader(List<ExportColumn<T>> columns) {
+        // Every line carries its own field names
+    }
+
+    @Override
+    protected <T> void writeRow(T row, List<ExportColumn<T>> columns) throws IOException {
+        generator.writeStartObject();
+        for (ExportColumn<T> column : columns) {
+            generator.writeFieldName(column.getName());
+            generator.writeObject(column.valueOf(row));
+        }
+        generator.writeEndObject();
+        written = true;
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The generator only separates objects, so the last line is terminated here
+        if (written) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,95 @@
+package com.roze.nexacommerce.export.controller;
+
+import com.roze.nexacommerce.common.BaseController;
+import com.roze.nexacommerce.config.AsyncTimeoutInterceptor;
+import com.roze.nexacommerce.config.ExportProperties;
+import com.roze.nexacommerce.export.ExportFormat;
+import com.roze.nexacommerce.export.service.ExportService;
+import com.roze.nexacommerce.order.enums.OrderStatus;
+import com.roze.nexacommerce.product.enums.ProductStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/admin/exports")
+@RequiredArgsConstructor
+public class ExportController extends BaseController {
+    private final ExportService exportService;
+    private final ExportProperties exportProperties;
+
+    @GetMapping("/products")
+    @PreAuthorize("hasAuthority('READ_PRODUCT')")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return download("products", format, acceptEncoding,
+                output -> exportService.exportProducts(status, format, output));
+    }
+
+    @GetMapping("/orders")
+    @PreAuthorize("hasAuthority('MANAGE_ORDERS')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return download("orders", format, acceptEncoding,
+                output -> exportService.exportOrders(from, to, status, format, output));
+    }
+
+    @GetMapping("/order-items")
+    @PreAuthorize("hasAuthority('MANAGE_ORDERS')")
+    public ResponseEntity<StreamingResponseBody> exportOrderItems(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return download("order-items", format, acceptEncoding,
+                output -> exportService.exportOrderItems(from, to, status, format, output));
+    }
+
+    /**
+     * The body is written on an async thread after the headers go out, under the export timeout
+     * rather than the default async one. Clients that accept gzip get it compressed on the fly,
+     * sync-flushed so each chunk leaves the server as it is written.
+     */
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format, String acceptEncoding,
+                                                           Consumer<OutputStream> export) {
+        RequestContextHolder.currentRequestAttributes().setAttribute(AsyncTimeoutInterceptor.TIMEOUT_ATTRIBUTE,
+                Duration.ofMinutes(exportProperties.getRequestTimeoutMinutes()), RequestAttributes.SCOPE_REQUEST);
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = output -> export.accept(gzip ? new GZIPOutputStream(output, 8192, true) : output);
+
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
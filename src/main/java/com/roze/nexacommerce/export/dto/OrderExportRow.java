@@ -0,0 +1,27 @@
+package com.roze.nexacommerce.export.dto;
+
+import com.roze.nexacommerce.order.enums.OrderSource;
+import com.roze.nexacommerce.order.enums.OrderStatus;
+import com.roze.nexacommerce.order.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface OrderExportRow {
+    Long getId();
+    String getOrderNumber();
+    Long getCustomerId();
+    String getCustomerEmail();
+    String getGuestEmail();
+    OrderSource getSource();
+    OrderStatus getStatus();
+    PaymentStatus getPaymentStatus();
+    BigDecimal getTotalAmount();
+    BigDecimal getShippingAmount();
+    BigDecimal getTaxAmount();
+    BigDecimal getDiscountAmount();
+    BigDecimal getFinalAmount();
+    String getCouponCode();
+    String getShippingCity();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,16 @@
+package com.roze.nexacommerce.export.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface OrderItemExportRow {
+    Long getId();
+    Long getOrderId();
+    String getOrderNumber();
+    Long getProductId();
+    String getProductSku();
+    String getProductName();
+    Integer getQuantity();
+    BigDecimal getPrice();
+    LocalDateTime getCreatedAt();
+}
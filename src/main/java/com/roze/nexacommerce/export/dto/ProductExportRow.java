@@ -0,0 +1,23 @@
+package com.roze.nexacommerce.export.dto;
+
+import com.roze.nexacommerce.product.enums.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ProductExportRow {
+    Long getId();
+    String getSku();
+    String getName();
+    String getCategoryName();
+    String getBrandName();
+    String getVendorName();
+    BigDecimal getPrice();
+    BigDecimal getCompareAtPrice();
+    Integer getStock();
+    ProductStatus getStatus();
+    Boolean getFeatured();
+    Boolean getPublished();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
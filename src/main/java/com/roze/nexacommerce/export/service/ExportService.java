@@ -0,0 +1,20 @@
+package com.roze.nexacommerce.export.service;
+
+import com.roze.nexacommerce.export.ExportFormat;
+import com.roze.nexacommerce.order.enums.OrderStatus;
+import com.roze.nexacommerce.product.enums.ProductStatus;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Streams catalog and order data straight from a database cursor to the output. Each method
+ * closes the output when done and returns the number of rows written.
+ */
+public interface ExportService {
+    long exportProducts(ProductStatus status, ExportFormat format, OutputStream output);
+
+    long exportOrders(LocalDate from, LocalDate to, OrderStatus status, ExportFormat format, OutputStream output);
+
+    long exportOrderItems(LocalDate from, LocalDate to, OrderStatus status, ExportFormat format, OutputStream output);
+}
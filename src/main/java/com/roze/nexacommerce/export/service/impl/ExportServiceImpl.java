@@ -0,0 +1,141 @@
+package com.roze.nexacommerce.export.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roze.nexacommerce.exception.FileOperationException;
+import com.roze.nexacommerce.export.ExportColumn;
+import com.roze.nexacommerce.export.ExportFormat;
+import com.roze.nexacommerce.export.ExportWriter;
+import com.roze.nexacommerce.export.dto.OrderExportRow;
+import com.roze.nexacommerce.export.dto.OrderItemExportRow;
+import com.roze.nexacommerce.export.dto.ProductExportRow;
+import com.roze.nexacommerce.export.service.ExportService;
+import com.roze.nexacommerce.order.enums.OrderStatus;
+import com.roze.nexacommerce.order.repository.OrderItemRepository;
+import com.roze.nexacommerce.order.repository.OrderRepository;
+import com.roze.nexacommerce.product.enums.ProductStatus;
+import com.roze.nexacommerce.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<ExportColumn<ProductExportRow>> PRODUCT_COLUMNS = List.of(
+            ExportColumn.of("id", ProductExportRow::getId),
+            ExportColumn.of("sku", ProductExportRow::getSku),
+            ExportColumn.of("name", ProductExportRow::getName),
+            ExportColumn.of("category", ProductExportRow::getCategoryName),
+            ExportColumn.of("brand", ProductExportRow::getBrandName),
+            ExportColumn.of("vendor", ProductExportRow::getVendorName),
+            ExportColumn.of("price", ProductExportRow::getPrice),
+            ExportColumn.of("compareAtPrice", ProductExportRow::getCompareAtPrice),
+            ExportColumn.of("stock", ProductExportRow::getStock),
+            ExportColumn.of("status", ProductExportRow::getStatus),
+            ExportColumn.of("featured", ProductExportRow::getFeatured),
+            ExportColumn.of("published", ProductExportRow::getPublished),
+            ExportColumn.of("createdAt", ProductExportRow::getCreatedAt),
+            ExportColumn.of("updatedAt", ProductExportRow::getUpdatedAt));
+
+    private static final List<ExportColumn<OrderExportRow>> ORDER_COLUMNS = List.of(
+            ExportColumn.of("id", OrderExportRow::getId),
+            ExportColumn.of("orderNumber", OrderExportRow::getOrderNumber),
+            ExportColumn.of("customerId", OrderExportRow::getCustomerId),
+            ExportColumn.of("customerEmail", OrderExportRow::getCustomerEmail),
+            ExportColumn.of("guestEmail", OrderExportRow::getGuestEmail),
+            ExportColumn.of("source", OrderExportRow::getSource),
+            ExportColumn.of("status", OrderExportRow::getStatus),
+            ExportColumn.of("paymentStatus", OrderExportRow::getPaymentStatus),
+            ExportColumn.of("totalAmount", OrderExportRow::getTotalAmount),
+            ExportColumn.of("shippingAmount", OrderExportRow::getShippingAmount),
+            ExportColumn.of("taxAmount", OrderExportRow::getTaxAmount),
+            ExportColumn.of("discountAmount", OrderExportRow::getDiscountAmount),
+            ExportColumn.of("finalAmount", OrderExportRow::getFinalAmount),
+            ExportColumn.of("couponCode", OrderExportRow::getCouponCode),
+            ExportColumn.of("shippingCity", OrderExportRow::getShippingCity),
+            ExportColumn.of("createdAt", OrderExportRow::getCreatedAt));
+
+    private static final List<ExportColumn<OrderItemExportRow>> ORDER_ITEM_COLUMNS = List.of(
+            ExportColumn.of("id", OrderItemExportRow::getId),
+            ExportColumn.of("orderId", OrderItemExportRow::getOrderId),
+            ExportColumn.of("orderNumber", OrderItemExportRow::getOrderNumber),
+            ExportColumn.of("productId", OrderItemExportRow::getProductId),
+            ExportColumn.of("productSku", OrderItemExportRow::getProductSku),
+            ExportColumn.of("productName", OrderItemExportRow::getProductName),
+            ExportColumn.of("quantity", OrderItemExportRow::getQuantity),
+            ExportColumn.of("price", OrderItemExportRow::getPrice),
+            ExportColumn.of("createdAt", OrderItemExportRow::getCreatedAt));
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportServiceImpl(ProductRepository productRepository,
+                             OrderRepository orderRepository,
+                             OrderItemRepository orderItemRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public long exportProducts(ProductStatus status, ExportFormat format, OutputStream output) {
+        return export("products", () -> productRepository.streamExportRows(status), PRODUCT_COLUMNS, format, output);
+    }
+
+    @Override
+    public long exportOrders(LocalDate from, LocalDate to, OrderStatus status, ExportFormat format, OutputStream output) {
+        return export("orders", () -> orderRepository.streamExportRows(startOf(from), endOf(to), status),
+                ORDER_COLUMNS, format, output);
+    }
+
+    @Override
+    public long exportOrderItems(LocalDate from, LocalDate to, OrderStatus status, ExportFormat format, OutputStream output) {
+        return export("order items", () -> orderItemRepository.streamExportRows(startOf(from), endOf(to), status),
+                ORDER_ITEM_COLUMNS, format, output);
+    }
+
+    /**
+     * Rows are read-only projections rather than entities, so nothing builds up in the persistence
+     * context and memory stays flat whatever the export size. The transaction keeps the cursor open.
+     */
+    private <T> long export(String name, Supplier<Stream<T>> query, List<ExportColumn<T>> columns,
+                            ExportFormat format, OutputStream output) {
+        long startTime = System.currentTimeMillis();
+        Long count = readOnlyTransaction.execute(status -> {
+            try (Stream<T> rows = query.get(); ExportWriter writer = ExportWriter.open(format, output, objectMapper)) {
+                return writer.write(rows, columns);
+            } catch (IOException e) {
+                throw new FileOperationException("Could not write " + name + " export", e);
+            }
+        });
+        log.info("Exported {} {} as {} in {} ms", count, name, format, System.currentTimeMillis() - startTime);
+        return count;
+    }
+
+    private static LocalDateTime startOf(LocalDate from) {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    // The end date is inclusive
+    private static LocalDateTime endOf(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+}
@@ -3,6 +3,7 @@ package com.roze.nexacommerce.hero.controller;
 
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.hero.dto.request.HeroContentRequest;
 import com.roze.nexacommerce.hero.dto.response.HeroAnalyticsResponse;
 import com.roze.nexacommerce.hero.dto.response.HeroContentResponse;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -41,17 +43,26 @@ public class HeroContentController extends BaseController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('READ_CONTENT')")
     @Operation(summary = "Get hero content by ID")
-    public ResponseEntity<BaseResponse<HeroContentResponse>> getHeroContentById(@PathVariable Long id) {
+    public ResponseEntity<BaseResponse<HeroContentResponse>> getHeroContentById(@PathVariable Long id,
+                                                                                   @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = heroContentService.getHeroContentStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         HeroContentResponse response = heroContentService.getHeroContentById(id);
-        return ok(response, "Hero content retrieved successfully");
+        return ok(response, "Hero content retrieved successfully", stamp);
     }
 
     @GetMapping
     @PreAuthorize("hasAuthority('READ_CONTENT')")
     @Operation(summary = "Get all hero content")
-    public ResponseEntity<BaseResponse<List<HeroContentResponse>>> getAllHeroContent() {
+    public ResponseEntity<BaseResponse<List<HeroContentResponse>>> getAllHeroContent(@RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = heroContentService.getHeroContentStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<HeroContentResponse> response = heroContentService.getAllHeroContent();
-        return ok(response, "Hero content list retrieved successfully");
+        return ok(response, "Hero content list retrieved successfully", stamp);
     }
 
     @PutMapping("/{id}")
@@ -86,32 +97,40 @@ public class HeroContentController extends BaseController {
     public ResponseEntity<BaseResponse<List<HeroContentResponse>>> getActiveHeroContent(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam(required = false) String segment,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            @RequestHeader HttpHeaders headers) {
 
         String userSegment = segment != null ? segment : extractUserSegment(request);
-        List<HeroContentResponse> response = heroContentService.getActiveHeroContent(
-                userDetails != null ? (com.roze.nexacommerce.user.entity.User) userDetails : null,
-                userSegment
-        );
-        return ok(response, "Active hero content retrieved successfully");
+        com.roze.nexacommerce.user.entity.User currentUser =
+                userDetails != null ? (com.roze.nexacommerce.user.entity.User) userDetails : null;
+        ResourceStamp stamp = heroContentService.getHeroContentStamp(currentUser, userSegment);
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
+        List<HeroContentResponse> response = heroContentService.getActiveHeroContent(currentUser, userSegment);
+        return ok(response, "Active hero content retrieved successfully", stamp);
     }
 
     @GetMapping("/public/main")
     @Operation(summary = "Get main hero banner")
     public ResponseEntity<BaseResponse<HeroContentResponse>> getMainHeroContent(
             @AuthenticationPrincipal UserDetails userDetails,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            @RequestHeader HttpHeaders headers) {
 
         String userSegment = extractUserSegment(request);
-        HeroContentResponse response = heroContentService.getMainHeroContent(
-                userDetails != null ? (com.roze.nexacommerce.user.entity.User) userDetails : null,
-                userSegment
-        );
+        com.roze.nexacommerce.user.entity.User currentUser =
+                userDetails != null ? (com.roze.nexacommerce.user.entity.User) userDetails : null;
+        ResourceStamp stamp = heroContentService.getHeroContentStamp(currentUser, userSegment);
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
+        HeroContentResponse response = heroContentService.getMainHeroContent(currentUser, userSegment);
 
         if (response != null) {
-            return ok(response, "Main hero content retrieved successfully");
+            return ok(response, "Main hero content retrieved successfully", stamp);
         } else {
-            return ok(null, "No active hero content found");
+            return ok(null, "No active hero content found", stamp);
         }
     }
 
@@ -121,15 +140,18 @@ public class HeroContentController extends BaseController {
             @PathVariable HeroType type,
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam(required = false) String segment,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            @RequestHeader HttpHeaders headers) {
 
         String userSegment = segment != null ? segment : extractUserSegment(request);
-        List<HeroContentResponse> response = heroContentService.getHeroContentByType(
-                type,
-                userDetails != null ? (com.roze.nexacommerce.user.entity.User) userDetails : null,
-                userSegment
-        );
-        return ok(response, "Hero content by type retrieved successfully");
+        com.roze.nexacommerce.user.entity.User currentUser =
+                userDetails != null ? (com.roze.nexacommerce.user.entity.User) userDetails : null;
+        ResourceStamp stamp = heroContentService.getHeroContentStamp(currentUser, userSegment);
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
+        List<HeroContentResponse> response = heroContentService.getHeroContentByType(type, currentUser, userSegment);
+        return ok(response, "Hero content by type retrieved successfully", stamp);
     }
 
     // Analytics APIs
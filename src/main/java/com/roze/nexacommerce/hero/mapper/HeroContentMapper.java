@@ -1,32 +1,22 @@
 package com.roze.nexacommerce.hero.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.hero.dto.request.HeroContentRequest;
 import com.roze.nexacommerce.hero.dto.response.HeroContentResponse;
 import com.roze.nexacommerce.hero.entity.HeroContent;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
-@Component
-@RequiredArgsConstructor
-public class HeroContentMapper {
-    private final ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface HeroContentMapper {
 
-    public HeroContent toEntity(HeroContentRequest request) {
-        HeroContent heroContent = modelMapper.map(request, HeroContent.class);
-        heroContent.setImpressions(0);
-        heroContent.setClicks(0);
-        heroContent.setConversionRate(0.0);
-        return heroContent;
-    }
+    @Mapping(target = "impressions", constant = "0")
+    @Mapping(target = "clicks", constant = "0")
+    @Mapping(target = "conversionRate", constant = "0.0")
+    HeroContent toEntity(HeroContentRequest request);
 
-    public HeroContentResponse toResponse(HeroContent heroContent) {
-        HeroContentResponse response = modelMapper.map(heroContent, HeroContentResponse.class);
-        response.setCurrentlyActive(heroContent.isCurrentlyActive());
-        return response;
-    }
+    HeroContentResponse toResponse(HeroContent heroContent);
 
-    public void updateEntityFromRequest(HeroContentRequest request, HeroContent heroContent) {
-        modelMapper.map(request, heroContent);
-    }
-}
\ No newline at end of file
+    void updateEntityFromRequest(HeroContentRequest request, @MappingTarget HeroContent heroContent);
+}
@@ -40,4 +40,14 @@ public interface HeroContentRepository extends JpaRepository<HeroContent, Long>
     List<HeroContent> findTopPerformingContent();
 
     boolean existsByTitleAndActiveTrue(String title);
-}
\ No newline at end of file
+
+    /**
+     * Digest of every hero's version and whether it is inside its schedule at {@code now}, so
+     * content entering or leaving its window changes the digest without any row being written.
+     */
+    @Query(value = "SELECT md5(coalesce(string_agg(concat_ws(':', h.id, h.version, h.active, " +
+            "h.active AND h.start_date <= :now AND (h.end_date IS NULL OR h.end_date >= :now)), ',' " +
+            "ORDER BY h.id), '')) FROM hero_contents h",
+            nativeQuery = true)
+    String fingerprint(@Param("now") LocalDateTime now);
+}
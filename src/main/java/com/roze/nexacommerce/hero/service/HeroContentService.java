@@ -1,6 +1,7 @@
 
 package com.roze.nexacommerce.hero.service;
 
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.hero.dto.request.HeroContentRequest;
 import com.roze.nexacommerce.hero.dto.response.HeroAnalyticsResponse;
 import com.roze.nexacommerce.hero.dto.response.HeroContentResponse;
@@ -31,6 +32,11 @@ public interface HeroContentService {
 
     List<HeroContentResponse> getHeroContentByType(HeroType type, User currentUser, String userSegment);
 
+    // Conditional GETs
+    ResourceStamp getHeroContentStamp();
+
+    ResourceStamp getHeroContentStamp(User currentUser, String userSegment);
+
     // Analytics
     void recordImpression(Long heroContentId);
 
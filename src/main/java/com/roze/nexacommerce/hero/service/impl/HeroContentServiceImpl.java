@@ -1,6 +1,7 @@
 
 package com.roze.nexacommerce.hero.service.impl;
 
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
 import com.roze.nexacommerce.hero.dto.request.HeroContentRequest;
 import com.roze.nexacommerce.hero.dto.response.HeroAnalyticsResponse;
@@ -146,6 +147,20 @@ public class HeroContentServiceImpl implements HeroContentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceStamp getHeroContentStamp() {
+        return ResourceStamp.ofFingerprint(heroContentRepository.fingerprint(LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceStamp getHeroContentStamp(User currentUser, String userSegment) {
+        // The public lists are filtered by audience, so the caller is part of the tag
+        return ResourceStamp.ofFingerprint(heroContentRepository.fingerprint(LocalDateTime.now()),
+                currentUser != null ? currentUser.getId() : "anon", userSegment);
+    }
+
     @Override
     @Transactional
     public void recordImpression(Long heroContentId) {
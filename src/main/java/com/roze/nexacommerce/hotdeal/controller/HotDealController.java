@@ -4,6 +4,7 @@ package com.roze.nexacommerce.hotdeal.controller;
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.hotdeal.dto.request.HotDealRequest;
 import com.roze.nexacommerce.hotdeal.dto.request.HotDealUpdateRequest;
 import com.roze.nexacommerce.hotdeal.dto.response.HotDealResponse;
@@ -13,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -39,26 +41,39 @@ public class HotDealController extends BaseController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
-
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = hotDealService.getHotDealsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         Sort sort = sortDirection.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         PaginatedResponse<HotDealResponse> response = hotDealService.getAllHotDeals(pageable);
-        return paginated(response, "Hot deals retrieved successfully");
+        return ok(response, "Hot deals retrieved successfully", stamp);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<BaseResponse<List<HotDealResponse>>> getActiveHotDeals() {
+    public ResponseEntity<BaseResponse<List<HotDealResponse>>> getActiveHotDeals(@RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = hotDealService.getHotDealsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         List<HotDealResponse> response = hotDealService.getActiveHotDeals();
-        return ok(response, "Active hot deals retrieved successfully");
+        return ok(response, "Active hot deals retrieved successfully", stamp);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BaseResponse<HotDealResponse>> getHotDealById(@PathVariable Long id) {
+    public ResponseEntity<BaseResponse<HotDealResponse>> getHotDealById(@PathVariable Long id,
+                                                                   @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = hotDealService.getHotDealsStamp();
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
         HotDealResponse response = hotDealService.getHotDealById(id);
-        return ok(response, "Hot deal retrieved successfully");
+        return ok(response, "Hot deal retrieved successfully", stamp);
     }
 
     @PutMapping("/{id}")
@@ -1,47 +1,24 @@
 // HotDealMapper.java
 package com.roze.nexacommerce.hotdeal.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.hotdeal.dto.request.HotDealRequest;
 import com.roze.nexacommerce.hotdeal.dto.request.HotDealUpdateRequest;
 import com.roze.nexacommerce.hotdeal.dto.response.HotDealResponse;
 import com.roze.nexacommerce.hotdeal.entity.HotDeal;
 import com.roze.nexacommerce.product.mapper.ProductMapper;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
-@Component
-@RequiredArgsConstructor
-public class HotDealMapper {
+@Mapper(config = MappingConfig.class, uses = ProductMapper.class)
+public interface HotDealMapper {
 
-    private final ModelMapper modelMapper;
-    private final ProductMapper productMapper;
+    HotDeal toEntity(HotDealRequest request);
 
-    public HotDeal toEntity(HotDealRequest request) {
-        return modelMapper.map(request, HotDeal.class);
-    }
+    // Remaining stock and discount percentage come from the computed getters on HotDeal
+    @Mapping(target = "isCurrentlyActive", source = "currentlyActive")
+    HotDealResponse toResponse(HotDeal hotDeal);
 
-    public HotDealResponse toResponse(HotDeal hotDeal) {
-        if (hotDeal == null) {
-            return null;
-        }
-
-        HotDealResponse response = modelMapper.map(hotDeal, HotDealResponse.class);
-
-        // Map product
-        if (hotDeal.getProduct() != null) {
-            response.setProduct(productMapper.toResponse(hotDeal.getProduct()));
-        }
-
-        // Set computed fields
-        response.setIsCurrentlyActive(hotDeal.isCurrentlyActive());
-        response.setRemainingStock(hotDeal.getRemainingStock());
-        response.setDiscountPercentage(hotDeal.getDiscountPercentage());
-
-        return response;
-    }
-
-    public void updateEntity(HotDealUpdateRequest request, HotDeal hotDeal) {
-        modelMapper.map(request, hotDeal);
-    }
-}
\ No newline at end of file
+    void updateEntity(HotDealUpdateRequest request, @MappingTarget HotDeal hotDeal);
+}
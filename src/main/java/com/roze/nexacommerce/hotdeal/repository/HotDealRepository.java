@@ -31,4 +31,14 @@ public interface HotDealRepository extends JpaRepository<HotDeal, Long> {
     List<HotDeal> findLimitedStockDeals();
     
     boolean existsByProductIdAndIsActiveTrue(Long productId);
-}
\ No newline at end of file
+
+    /**
+     * Digest of every deal's version, its product's version and whether it is inside its window
+     * at {@code now}. Deal responses embed the product, so product edits move the digest too.
+     */
+    @Query(value = "SELECT md5(coalesce(string_agg(concat_ws(':', h.id, h.version, p.version, " +
+            "h.is_active AND h.start_date <= :now AND h.end_date >= :now), ',' ORDER BY h.id), '')) " +
+            "FROM hot_deals h LEFT JOIN products p ON p.id = h.product_id",
+            nativeQuery = true)
+    String fingerprint(@Param("now") LocalDateTime now);
+}
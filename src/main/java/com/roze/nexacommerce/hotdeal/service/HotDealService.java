@@ -1,6 +1,7 @@
 package com.roze.nexacommerce.hotdeal.service;
 
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.hotdeal.dto.request.HotDealRequest;
 import com.roze.nexacommerce.hotdeal.dto.request.HotDealUpdateRequest;
 import com.roze.nexacommerce.hotdeal.dto.response.HotDealResponse;
@@ -18,4 +19,5 @@ public interface HotDealService {
     void deleteHotDeal(Long id);
     HotDealResponse incrementSoldCount(Long id);
     boolean isProductInHotDeal(Long productId);
+    ResourceStamp getHotDealsStamp();
 }
\ No newline at end of file
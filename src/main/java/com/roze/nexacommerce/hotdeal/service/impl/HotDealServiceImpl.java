@@ -2,6 +2,7 @@
 package com.roze.nexacommerce.hotdeal.service.impl;
 
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.exception.DuplicateResourceException;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
 import com.roze.nexacommerce.hotdeal.dto.request.HotDealRequest;
@@ -121,6 +122,11 @@ public class HotDealServiceImpl implements HotDealService {
         return hotDealRepository.existsByProductIdAndIsActiveTrue(productId);
     }
 
+    @Override
+    public ResourceStamp getHotDealsStamp() {
+        return ResourceStamp.ofFingerprint(hotDealRepository.fingerprint(LocalDateTime.now()));
+    }
+
     private PaginatedResponse<HotDealResponse> buildPaginatedResponse(Page<HotDeal> hotDealPage) {
         List<HotDealResponse> responses = hotDealPage.getContent().stream()
                 .map(hotDealMapper::toResponse)
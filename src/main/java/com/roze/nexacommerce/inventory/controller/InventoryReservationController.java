@@ -0,0 +1,44 @@
+package com.roze.nexacommerce.inventory.controller;
+
+import com.roze.nexacommerce.common.BaseController;
+import com.roze.nexacommerce.common.BaseResponse;
+import com.roze.nexacommerce.inventory.dto.request.ReservationRequest;
+import com.roze.nexacommerce.inventory.dto.response.ReservationResponse;
+import com.roze.nexacommerce.inventory.service.InventoryReservationService;
+import com.roze.nexacommerce.security.SecurityService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/inventory/reservations")
+@RequiredArgsConstructor
+public class InventoryReservationController extends BaseController {
+    private final InventoryReservationService inventoryReservationService;
+    private final SecurityService securityService;
+
+    // Called when checkout starts; the id is passed on with the order to turn the hold into a sale
+    @PostMapping
+    @PreAuthorize("@securityService.isCurrentCustomer()")
+    public ResponseEntity<BaseResponse<ReservationResponse>> reserve(@Valid @RequestBody ReservationRequest request) {
+        Long customerId = securityService.getCurrentCustomerId();
+        if (customerId == null) {
+            return unauthorized("Customer not found");
+        }
+        ReservationResponse response = inventoryReservationService.reserve(customerId, request);
+        return created(response, "Stock reserved successfully");
+    }
+
+    @DeleteMapping("/{reservationId}")
+    @PreAuthorize("@securityService.isCurrentCustomer()")
+    public ResponseEntity<BaseResponse<Void>> release(@PathVariable String reservationId) {
+        Long customerId = securityService.getCurrentCustomerId();
+        if (customerId == null) {
+            return unauthorized("Customer not found");
+        }
+        inventoryReservationService.release(customerId, reservationId);
+        return noContent("Reservation released successfully");
+    }
+}
@@ -0,0 +1,12 @@
+package com.roze.nexacommerce.inventory.dto;
+
+/**
+ * Stock columns of a product, read to seed and resync the Redis stock mirror.
+ */
+public interface ProductInventoryState {
+    Long getId();
+    String getName();
+    Integer getStock();
+    Boolean getTrackQuantity();
+    Boolean getAllowBackorder();
+}
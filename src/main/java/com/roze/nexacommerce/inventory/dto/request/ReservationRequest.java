@@ -0,0 +1,21 @@
+package com.roze.nexacommerce.inventory.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+
+    @Valid
+    @NotEmpty(message = "Reservation items are required")
+    private List<ReservationItemRequest> items;
+}
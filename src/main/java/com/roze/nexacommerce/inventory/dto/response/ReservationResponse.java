@@ -0,0 +1,18 @@
+package com.roze.nexacommerce.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+    // Null when reservations are disabled; orders placed without one are still checked by the database
+    private String reservationId;
+    private LocalDateTime expiresAt;
+}
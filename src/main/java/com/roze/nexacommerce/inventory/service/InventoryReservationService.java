@@ -0,0 +1,40 @@
+package com.roze.nexacommerce.inventory.service;
+
+import com.roze.nexacommerce.inventory.dto.request.ReservationRequest;
+import com.roze.nexacommerce.inventory.dto.response.ReservationResponse;
+import com.roze.nexacommerce.product.entity.Product;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface InventoryReservationService {
+
+    // Checkout
+    ReservationResponse reserve(Long customerId, ReservationRequest request);
+
+    void release(Long customerId, String reservationId);
+
+    /**
+     * Whether the quantity can still be sold, counting units held by checkouts other than the
+     * customer's own. Guests pass no customer.
+     */
+    boolean isAvailable(Long productId, int quantity, Long customerId);
+
+    /**
+     * Holds what an order takes beyond the customer's own checkout hold, or fails when other
+     * checkouts hold it. Once the transaction commits the holds are spent and the mirror moves;
+     * a rollback gives the claim back.
+     */
+    void claimForOrder(Long customerId, String reservationId, Map<Long, Product> products, Map<Long, Integer> quantities);
+
+    void stockRestored(Map<Long, Integer> quantities);
+
+    // Stock or its tracking flags changed outside an order; the mirror is dropped once the
+    // transaction commits and seeded again from the database on next use
+    void stockChanged(Collection<Long> productIds);
+
+    // Maintenance
+    void releaseExpiredHolds();
+
+    void reconcile();
+}
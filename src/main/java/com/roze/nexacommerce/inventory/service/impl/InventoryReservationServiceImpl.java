@@ -0,0 +1,663 @@
+package com.roze.nexacommerce.inventory.service.impl;
+
+import com.roze.nexacommerce.cart.entity.CartItem;
+import com.roze.nexacommerce.cart.repository.CartItemRepository;
+import com.roze.nexacommerce.config.InventoryReservationProperties;
+import com.roze.nexacommerce.config.RateLimitService;
+import com.roze.nexacommerce.exception.BusinessException;
+import com.roze.nexacommerce.exception.RateLimitException;
+import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.inventory.dto.ProductInventoryState;
+import com.roze.nexacommerce.inventory.dto.request.ReservationItemRequest;
+import com.roze.nexacommerce.inventory.dto.request.ReservationRequest;
+import com.roze.nexacommerce.inventory.dto.response.ReservationResponse;
+import com.roze.nexacommerce.inventory.service.InventoryReservationService;
+import com.roze.nexacommerce.product.entity.Product;
+import com.roze.nexacommerce.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checkout holds kept in Redis. Each product has a mirror of its stock, or {@code *} when it never
+ * runs out, and a total of the units held by open checkouts; what other buyers can take is the
+ * difference. A hold is a hash of product quantities plus an entry in a sorted set scored by its
+ * expiry, so expired holds are found and given back without keyspace notifications. A customer
+ * has one open checkout, kept under a key that names its hold; only that customer can release or
+ * spend the hold, and a new checkout gives the previous hold back before taking its own. An order
+ * claims what it takes beyond its own hold the same way, so it cannot take units held by others.
+ * The conditional stock decrement at order creation stays the final guard against overselling;
+ * Redis only keeps buyers from reaching payment for units that are already taken.
+ * Every key carries the {@code {inventory}} hash tag, so in a cluster they all share one slot.
+ * The scripts get their keys through KEYS, except the hold and held keys named by a hold they
+ * read, which the caller cannot know up front and which the tag keeps in that slot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryReservationServiceImpl implements InventoryReservationService {
+    private static final String STOCK_PREFIX = "{inventory}:stock:";
+    private static final String HELD_PREFIX = "{inventory}:held:";
+    private static final String HOLD_PREFIX = "{inventory}:hold:";
+    private static final String CHECKOUT_PREFIX = "{inventory}:checkout:";
+    private static final String HOLDS_KEY = "{inventory}:holds";
+    private static final String TRACKED_KEY = "{inventory}:tracked";
+    private static final String UNLIMITED = "*";
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    // Gives back the customer's previous hold, then checks every product before holding any, so a
+    // short product leaves nothing held. A missing or unlimited mirror is set from the caller's
+    // stock, since the product is limited now. Returns 0 on success, otherwise the 1-based
+    // position of the first short product.
+    private static final RedisScript<Long> RESERVE = new DefaultRedisScript<>(
+            "local n = (#KEYS - 4) / 2 " +
+                    "local previous = redis.call('GET', KEYS[2]) " +
+                    "if previous and redis.call('ZREM', KEYS[3], previous) == 1 then " +
+                    "  local held = redis.call('HGETALL', ARGV[4] .. previous) " +
+                    "  for i = 1, #held, 2 do " +
+                    "    local key = ARGV[5] .. held[i] " +
+                    "    if redis.call('DECRBY', key, held[i + 1]) <= 0 then redis.call('DEL', key) end " +
+                    "  end " +
+                    "  redis.call('DEL', ARGV[4] .. previous) " +
+                    "end " +
+                    "for i = 1, n do " +
+                    "  local base = 5 + (i - 1) * 3 " +
+                    "  local stock = tonumber(redis.call('GET', KEYS[3 + 2 * i])) " +
+                    "  if not stock then " +
+                    "    stock = tonumber(ARGV[base + 3]) " +
+                    "    redis.call('SET', KEYS[3 + 2 * i], ARGV[base + 3]) " +
+                    "  end " +
+                    "  redis.call('SADD', KEYS[4], ARGV[base + 1]) " +
+                    "  local available = stock - tonumber(redis.call('GET', KEYS[4 + 2 * i]) or '0') " +
+                    "  if available < tonumber(ARGV[base + 2]) then return i end " +
+                    "end " +
+                    "for i = 1, n do " +
+                    "  local base = 5 + (i - 1) * 3 " +
+                    "  redis.call('INCRBY', KEYS[4 + 2 * i], ARGV[base + 2]) " +
+                    "  redis.call('HSET', KEYS[1], ARGV[base + 1], ARGV[base + 2]) " +
+                    "end " +
+                    "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+                    "redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[3]) " +
+                    "redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1]) " +
+                    "return 0",
+            Long.class);
+
+    // Stock minus held, adding back what the customer's open checkout holds of the product, never
+    // below 0; -1 when the product never runs out. A missing mirror is seeded from ARGV[3], or
+    // nil is returned when there is no seed.
+    private static final RedisScript<Long> AVAILABLE = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+                    "if not stock then " +
+                    "  if ARGV[3] == '' then return false end " +
+                    "  stock = ARGV[3] " +
+                    "  redis.call('SET', KEYS[1], stock) " +
+                    "  redis.call('SADD', KEYS[3], ARGV[1]) " +
+                    "end " +
+                    "if stock == '" + UNLIMITED + "' then return -1 end " +
+                    "local left = tonumber(stock) - tonumber(redis.call('GET', KEYS[2]) or '0') " +
+                    "if KEYS[4] then " +
+                    "  local mine = redis.call('GET', KEYS[4]) " +
+                    "  if mine then left = left + tonumber(redis.call('HGET', ARGV[2] .. mine, ARGV[1]) or '0') end " +
+                    "end " +
+                    "return math.max(left, 0)",
+            Long.class);
+
+    // Holds what an order takes beyond the customer's own open checkout, checking every product
+    // before holding any. The own hold is only counted when the checkout key still names it.
+    // Returns 0 on success, otherwise the 1-based position of the first short product.
+    private static final RedisScript<Long> CLAIM = new DefaultRedisScript<>(
+            "local n = (#ARGV - 5) / 3 " +
+                    "local own = {} " +
+                    "local checkout = KEYS[4 + 2 * n] " +
+                    "if checkout and redis.call('GET', checkout) == ARGV[5] then " +
+                    "  local held = redis.call('HGETALL', ARGV[4] .. ARGV[5]) " +
+                    "  for i = 1, #held, 2 do own[held[i]] = tonumber(held[i + 1]) end " +
+                    "end " +
+                    "local need = {} " +
+                    "for i = 1, n do " +
+                    "  local base = 5 + (i - 1) * 3 " +
+                    "  local stock = tonumber(redis.call('GET', KEYS[2 + 2 * i])) " +
+                    "  if not stock then " +
+                    "    stock = tonumber(ARGV[base + 3]) " +
+                    "    redis.call('SET', KEYS[2 + 2 * i], ARGV[base + 3]) " +
+                    "  end " +
+                    "  redis.call('SADD', KEYS[3], ARGV[base + 1]) " +
+                    "  need[i] = math.max(tonumber(ARGV[base + 2]) - (own[ARGV[base + 1]] or 0), 0) " +
+                    "  if need[i] > 0 and stock - tonumber(redis.call('GET', KEYS[3 + 2 * i]) or '0') < need[i] then return i end " +
+                    "end " +
+                    "for i = 1, n do " +
+                    "  if need[i] > 0 then " +
+                    "    redis.call('INCRBY', KEYS[3 + 2 * i], need[i]) " +
+                    "    redis.call('HSET', KEYS[1], ARGV[5 + (i - 1) * 3 + 1], need[i]) " +
+                    "  end " +
+                    "end " +
+                    "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+                    "  redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+                    "  redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    // Gives back a hold, at most once since only the caller that removes it from the set does,
+    // then moves the numeric stock mirrors passed after the set key by the given deltas. With a
+    // checkout key last the hold is only given back if it is that customer's open checkout;
+    // returns -1 when it is not.
+    private static final RedisScript<Long> SETTLE = new DefaultRedisScript<>(
+            "local n = #ARGV - 2 " +
+                    "local checkout = KEYS[3 + n] " +
+                    "local released = 0 " +
+                    "if checkout and redis.call('GET', checkout) ~= ARGV[1] then " +
+                    "  released = -1 " +
+                    "else " +
+                    "  if ARGV[1] ~= '' and redis.call('ZREM', KEYS[2], ARGV[1]) == 1 then " +
+                    "    local held = redis.call('HGETALL', KEYS[1]) " +
+                    "    for i = 1, #held, 2 do " +
+                    "      local key = ARGV[2] .. held[i] " +
+                    "      if redis.call('DECRBY', key, held[i + 1]) <= 0 then redis.call('DEL', key) end " +
+                    "    end " +
+                    "    released = #held / 2 " +
+                    "  end " +
+                    "  redis.call('DEL', KEYS[1]) " +
+                    "  if checkout then redis.call('DEL', checkout) end " +
+                    "end " +
+                    "for i = 1, n do " +
+                    "  if tonumber(redis.call('GET', KEYS[2 + i])) then redis.call('INCRBY', KEYS[2 + i], ARGV[2 + i]) end " +
+                    "end " +
+                    "return released",
+            Long.class);
+
+    // Moves each key to its new value only if it still holds the value the caller read ('' for
+    // missing); an empty new value deletes the key. Returns how many keys were changed.
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "local changed = 0 " +
+                    "for i = 1, #KEYS do " +
+                    "  if (redis.call('GET', KEYS[i]) or '') == ARGV[2 * i - 1] then " +
+                    "    if ARGV[2 * i] == '' then redis.call('DEL', KEYS[i]) else redis.call('SET', KEYS[i], ARGV[2 * i]) end " +
+                    "    changed = changed + 1 " +
+                    "  end " +
+                    "end " +
+                    "return changed",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ProductRepository productRepository;
+    private final CartItemRepository cartItemRepository;
+    private final RateLimitService rateLimitService;
+    private final InventoryReservationProperties inventoryReservationProperties;
+
+    @Override
+    public ReservationResponse reserve(Long customerId, ReservationRequest request) {
+        if (!inventoryReservationProperties.isEnabled()) {
+            return ReservationResponse.builder().build();
+        }
+        if (!rateLimitService.tryConsume("inventory-reservation:customer:" + customerId,
+                inventoryReservationProperties.getReserveLimit(),
+                Duration.ofSeconds(inventoryReservationProperties.getReserveLimitWindowSeconds()))) {
+            throw new RateLimitException("Too many stock reservations. Please try again later.");
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (ReservationItemRequest item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        // A checkout can hold no more than the customer's cart asks for
+        Map<Long, Integer> inCart = new HashMap<>();
+        for (CartItem cartItem : cartItemRepository.findByCartCustomerId(customerId)) {
+            inCart.merge(cartItem.getProduct().getId(), cartItem.getQuantity(), Integer::sum);
+        }
+        Map<Long, ProductInventoryState> states = productRepository.findInventoryStates(quantities.keySet()).stream()
+                .collect(Collectors.toMap(ProductInventoryState::getId, Function.identity()));
+
+        // Untracked and backorderable products never run out, so only the rest are held
+        List<ProductInventoryState> limited = new ArrayList<>();
+        for (Long productId : quantities.keySet()) {
+            ProductInventoryState state = states.get(productId);
+            if (state == null) {
+                throw new ResourceNotFoundException("Product", "id", productId);
+            }
+            int quantity = quantities.get(productId);
+            if (quantity > inCart.getOrDefault(productId, 0)) {
+                throw new BusinessException("Reserved quantity exceeds the cart quantity for product: " + state.getName());
+            }
+            if (isLimited(state.getTrackQuantity(), state.getAllowBackorder())) {
+                if (quantity > (state.getStock() != null ? state.getStock() : 0)) {
+                    throw new BusinessException("Insufficient stock for product: " + state.getName());
+                }
+                limited.add(state);
+            }
+        }
+
+        String reservationId = UUID.randomUUID().toString();
+        long holdTtlMillis = TimeUnit.SECONDS.toMillis(inventoryReservationProperties.getHoldTtlSeconds());
+        long expiresAt = System.currentTimeMillis() + holdTtlMillis;
+
+        // Runs even when nothing is limited, so the new checkout still replaces the previous hold
+        List<String> keys = new ArrayList<>(List.of(holdKey(reservationId), checkoutKey(customerId), HOLDS_KEY, TRACKED_KEY));
+        // The hash outlives its expiry so the sweeper can still read what to give back
+        List<String> args = new ArrayList<>(List.of(reservationId, Long.toString(expiresAt), Long.toString(holdTtlMillis * 2),
+                HOLD_PREFIX, HELD_PREFIX));
+        for (ProductInventoryState state : limited) {
+            keys.add(stockKey(state.getId()));
+            keys.add(heldKey(state.getId()));
+            args.add(state.getId().toString());
+            args.add(quantities.get(state.getId()).toString());
+            args.add(Integer.toString(state.getStock() != null ? state.getStock() : 0));
+        }
+
+        Long shortPosition;
+        try {
+            shortPosition = redisTemplate.execute(RESERVE, keys, args.toArray());
+        } catch (Exception e) {
+            log.warn("Could not hold stock for checkout, continuing without a reservation: {}", e.getMessage());
+            return ReservationResponse.builder().build();
+        }
+        if (shortPosition != null && shortPosition > 0) {
+            ProductInventoryState shortProduct = limited.get(shortPosition.intValue() - 1);
+            throw new BusinessException("Insufficient stock for product: " + shortProduct.getName());
+        }
+
+        log.debug("Reserved {} products under {}", limited.size(), reservationId);
+        return ReservationResponse.builder()
+                .reservationId(reservationId)
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                .build();
+    }
+
+    @Override
+    public void release(Long customerId, String reservationId) {
+        if (!inventoryReservationProperties.isEnabled() || reservationId == null || reservationId.isBlank()) {
+            return;
+        }
+        Long released = settle(reservationId, customerId, Map.of());
+        if (released != null && released < 0) {
+            throw new ResourceNotFoundException("Reservation", "id", reservationId);
+        }
+    }
+
+    @Override
+    public boolean isAvailable(Long productId, int quantity, Long customerId) {
+        Long available = inventoryReservationProperties.isEnabled() ? available(productId, customerId, null) : null;
+        if (available == null) {
+            // The database is only read when the mirror is missing, to seed it, or when Redis is down
+            ProductInventoryState state = productRepository.findInventoryStates(List.of(productId)).stream()
+                    .findFirst()
+                    .orElse(null);
+            if (state == null) {
+                return false;
+            }
+            available = inventoryReservationProperties.isEnabled() ? available(productId, customerId, mirrorValue(state)) : null;
+            if (available == null) {
+                return !isLimited(state.getTrackQuantity(), state.getAllowBackorder())
+                        || (state.getStock() != null ? state.getStock() : 0) >= quantity;
+            }
+        }
+        return available < 0 || available >= quantity;
+    }
+
+    @Override
+    public void claimForOrder(Long customerId, String reservationId, Map<Long, Product> products, Map<Long, Integer> quantities) {
+        if (!inventoryReservationProperties.isEnabled() || quantities.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> deltas = new HashMap<>();
+        quantities.forEach((productId, quantity) -> deltas.put(productId, -quantity));
+        // Only the customer's own open checkout counts toward the order; another id is ignored
+        String heldBy = customerId != null && reservationId != null && !reservationId.isBlank() ? reservationId : null;
+
+        List<Product> limited = new ArrayList<>();
+        for (Long productId : quantities.keySet()) {
+            Product product = products.get(productId);
+            if (isLimited(product.getTrackQuantity(), product.getAllowBackorder())) {
+                limited.add(product);
+            }
+        }
+
+        String claimId = null;
+        if (!limited.isEmpty()) {
+            String id = UUID.randomUUID().toString();
+            long holdTtlMillis = TimeUnit.SECONDS.toMillis(inventoryReservationProperties.getHoldTtlSeconds());
+            long expiresAt = System.currentTimeMillis() + holdTtlMillis;
+
+            // The claim expires like a hold, so a node that dies mid-order does not keep its units
+            List<String> keys = new ArrayList<>(List.of(holdKey(id), HOLDS_KEY, TRACKED_KEY));
+            List<String> args = new ArrayList<>(List.of(id, Long.toString(expiresAt), Long.toString(holdTtlMillis * 2),
+                    HOLD_PREFIX, heldBy != null ? heldBy : ""));
+            for (Product product : limited) {
+                keys.add(stockKey(product.getId()));
+                keys.add(heldKey(product.getId()));
+                args.add(product.getId().toString());
+                args.add(quantities.get(product.getId()).toString());
+                args.add(Integer.toString(product.getStock() != null ? product.getStock() : 0));
+            }
+            if (heldBy != null) {
+                keys.add(checkoutKey(customerId));
+            }
+
+            Long shortPosition = null;
+            try {
+                shortPosition = redisTemplate.execute(CLAIM, keys, args.toArray());
+                claimId = id;
+            } catch (Exception e) {
+                log.warn("Could not claim held stock for order, leaving it to the stock decrement: {}", e.getMessage());
+            }
+            if (shortPosition != null && shortPosition > 0) {
+                throw new BusinessException("Insufficient stock for product: " + limited.get(shortPosition.intValue() - 1).getName());
+            }
+        }
+
+        // A rolled-back order gives its claim back and keeps the customer's hold until it expires
+        // or the checkout releases it
+        String claim = claimId;
+        afterCompletion(() -> {
+            settle(claim, null, deltas);
+            if (heldBy != null) {
+                settle(heldBy, customerId, Map.of());
+            }
+        }, () -> {
+            if (claim != null) {
+                settle(claim, null, Map.of());
+            }
+        });
+    }
+
+    @Override
+    public void stockRestored(Map<Long, Integer> quantities) {
+        if (inventoryReservationProperties.isEnabled() && !quantities.isEmpty()) {
+            Map<Long, Integer> deltas = new HashMap<>(quantities);
+            afterCommit(() -> settle(null, null, deltas));
+        }
+    }
+
+    @Override
+    public void stockChanged(Collection<Long> productIds) {
+        if (!inventoryReservationProperties.isEnabled() || productIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = productIds.stream().map(InventoryReservationServiceImpl::stockKey).toList();
+        afterCommit(() -> {
+            try {
+                redisTemplate.delete(keys);
+            } catch (Exception e) {
+                // The reconciler brings the mirror back in line
+                log.warn("Could not drop the stock mirror of {} products: {}", keys.size(), e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${application.inventory-reservation.sweep-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void releaseExpiredHolds() {
+        if (!inventoryReservationProperties.isEnabled()) {
+            return;
+        }
+
+        Set<String> expired;
+        try {
+            expired = redisTemplate.opsForZSet().rangeByScore(HOLDS_KEY, 0, System.currentTimeMillis(), 0, SWEEP_BATCH_SIZE);
+        } catch (Exception e) {
+            log.debug("Could not read expired stock holds: {}", e.getMessage());
+            return;
+        }
+        if (expired == null || expired.isEmpty()) {
+            return;
+        }
+
+        // Every node sweeps; the set removal in the script lets only one of them give a hold back
+        for (String reservationId : expired) {
+            settle(reservationId, null, Map.of());
+        }
+        log.debug("Released {} expired stock holds", expired.size());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${application.inventory-reservation.reconcile-interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void reconcile() {
+        if (!inventoryReservationProperties.isEnabled()) {
+            return;
+        }
+
+        try {
+            int batchSize = inventoryReservationProperties.getReconcileBatchSize();
+            List<Long> productIds = scanTracked(batchSize);
+
+            int resynced = 0;
+            int dropped = 0;
+            List<Long> kept = new ArrayList<>();
+            for (int from = 0; from < productIds.size(); from += batchSize) {
+                List<Long> batch = productIds.subList(from, Math.min(from + batchSize, productIds.size()));
+                // The mirror is read before the database, so a sale settled in between makes the swap
+                // below fail instead of being overwritten with the older stock
+                List<String> mirrored = redisTemplate.opsForValue().multiGet(
+                        batch.stream().map(InventoryReservationServiceImpl::stockKey).toList());
+                Map<Long, ProductInventoryState> states = productRepository.findInventoryStates(batch).stream()
+                        .collect(Collectors.toMap(ProductInventoryState::getId, Function.identity()));
+
+                List<String> keys = new ArrayList<>();
+                List<String> args = new ArrayList<>();
+                List<Long> gone = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    ProductInventoryState state = states.get(batch.get(i));
+                    if (state == null) {
+                        gone.add(batch.get(i));
+                        continue;
+                    }
+                    kept.add(state.getId());
+                    String stock = mirrorValue(state);
+                    String current = mirrored != null && mirrored.get(i) != null ? mirrored.get(i) : "";
+                    if (!stock.equals(current)) {
+                        keys.add(stockKey(state.getId()));
+                        args.add(current);
+                        args.add(stock);
+                    }
+                }
+
+                resynced += compareAndSet(keys, args);
+                if (!gone.isEmpty()) {
+                    redisTemplate.delete(gone.stream().map(InventoryReservationServiceImpl::stockKey).toList());
+                    redisTemplate.opsForSet().remove(TRACKED_KEY, gone.stream().map(Object::toString).toArray());
+                    dropped += gone.size();
+                }
+            }
+
+            int heldFixed = recountHeld(kept, batchSize);
+            log.info("Reconciled inventory holds: {} stock values resynced, {} products dropped, {} held totals fixed",
+                    resynced, dropped, heldFixed);
+        } catch (Exception e) {
+            log.warn("Could not reconcile inventory holds: {}", e.getMessage());
+        }
+    }
+
+    private List<Long> scanTracked(int batchSize) {
+        Set<Long> productIds = new TreeSet<>();
+        try (Cursor<String> cursor = redisTemplate.opsForSet().scan(TRACKED_KEY, ScanOptions.scanOptions().count(batchSize).build())) {
+            cursor.forEachRemaining(productId -> productIds.add(Long.valueOf(productId)));
+        }
+        return new ArrayList<>(productIds);
+    }
+
+    // Recomputes the held totals from the open holds, a batch at a time so Redis is never blocked
+    // on the whole set. The totals are read first; a hold taken or given back while the holds are
+    // counted changes its product's total, so the swap skips that product until the next run.
+    private int recountHeld(List<Long> productIds, int batchSize) {
+        Map<Long, String> before = new HashMap<>();
+        for (int from = 0; from < productIds.size(); from += batchSize) {
+            List<Long> batch = productIds.subList(from, Math.min(from + batchSize, productIds.size()));
+            List<String> held = redisTemplate.opsForValue().multiGet(
+                    batch.stream().map(InventoryReservationServiceImpl::heldKey).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                before.put(batch.get(i), held != null && held.get(i) != null ? held.get(i) : "");
+            }
+        }
+
+        Map<String, Long> totals = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        List<String> holds = new ArrayList<>();
+        try (Cursor<ZSetOperations.TypedTuple<String>> cursor = redisTemplate.opsForZSet()
+                .scan(HOLDS_KEY, ScanOptions.scanOptions().count(batchSize).build())) {
+            while (cursor.hasNext()) {
+                // A scan may return an element twice
+                String reservationId = cursor.next().getValue();
+                if (reservationId != null && seen.add(reservationId)) {
+                    holds.add(reservationId);
+                }
+                if (holds.size() == batchSize) {
+                    addHeld(holds, totals);
+                    holds.clear();
+                }
+            }
+        }
+        addHeld(holds, totals);
+
+        int fixed = 0;
+        for (int from = 0; from < productIds.size(); from += batchSize) {
+            List<String> keys = new ArrayList<>();
+            List<String> args = new ArrayList<>();
+            for (Long productId : productIds.subList(from, Math.min(from + batchSize, productIds.size()))) {
+                String current = before.get(productId);
+                long expected = totals.getOrDefault(productId.toString(), 0L);
+                if ((current.isEmpty() ? 0 : Long.parseLong(current)) != expected) {
+                    keys.add(heldKey(productId));
+                    args.add(current);
+                    args.add(expected == 0 ? "" : Long.toString(expected));
+                }
+            }
+            fixed += compareAndSet(keys, args);
+        }
+        return fixed;
+    }
+
+    private void addHeld(List<String> reservationIds, Map<String, Long> totals) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        List<Object> holds = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            reservationIds.forEach(reservationId -> connection.hashCommands()
+                    .hGetAll(holdKey(reservationId).getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+        for (Object hold : holds) {
+            if (hold instanceof Map<?, ?> held) {
+                held.forEach((productId, quantity) ->
+                        totals.merge(productId.toString(), Long.parseLong(quantity.toString()), Long::sum));
+            }
+        }
+    }
+
+    private int compareAndSet(List<String> keys, List<String> args) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long changed = redisTemplate.execute(COMPARE_AND_SET, keys, args.toArray());
+        return changed != null ? changed.intValue() : 0;
+    }
+
+    // What the customer can still take of a product, or null if the mirror is missing and there is
+    // no seed or Redis failed
+    private Long available(Long productId, Long customerId, String seed) {
+        List<String> keys = new ArrayList<>(List.of(stockKey(productId), heldKey(productId), TRACKED_KEY));
+        if (customerId != null) {
+            keys.add(checkoutKey(customerId));
+        }
+        try {
+            return redisTemplate.execute(AVAILABLE, keys, productId.toString(), HOLD_PREFIX, seed != null ? seed : "");
+        } catch (Exception e) {
+            log.debug("Could not read held stock for product {}: {}", productId, e.getMessage());
+            return null;
+        }
+    }
+
+    // With a customer the hold must be that customer's open checkout; returns null if Redis failed
+    private Long settle(String reservationId, Long customerId, Map<Long, Integer> stockDeltas) {
+        String id = reservationId != null ? reservationId : "";
+        List<String> keys = new ArrayList<>(List.of(holdKey(id), HOLDS_KEY));
+        List<String> args = new ArrayList<>(List.of(id, HELD_PREFIX));
+        stockDeltas.forEach((productId, delta) -> {
+            keys.add(stockKey(productId));
+            args.add(delta.toString());
+        });
+        if (reservationId != null && customerId != null) {
+            keys.add(checkoutKey(customerId));
+        }
+        try {
+            Long released = redisTemplate.execute(SETTLE, keys, args.toArray());
+            if (released != null && released < 0) {
+                log.debug("Stock hold {} is not the open checkout of customer {}", id, customerId);
+            }
+            return released;
+        } catch (Exception e) {
+            // The reconciler brings the mirror back in line
+            log.warn("Could not settle stock hold {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        afterCompletion(action, () -> {
+        });
+    }
+
+    private void afterCompletion(Runnable committed, Runnable rolledBack) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        committed.run();
+                    } else {
+                        rolledBack.run();
+                    }
+                }
+            });
+        } else {
+            committed.run();
+        }
+    }
+
+    // Untracked and backorderable products never run out
+    private static boolean isLimited(Boolean trackQuantity, Boolean allowBackorder) {
+        return Boolean.TRUE.equals(trackQuantity) && !Boolean.TRUE.equals(allowBackorder);
+    }
+
+    private static String mirrorValue(ProductInventoryState state) {
+        if (!isLimited(state.getTrackQuantity(), state.getAllowBackorder())) {
+            return UNLIMITED;
+        }
+        return Integer.toString(state.getStock() != null ? state.getStock() : 0);
+    }
+
+    private static String stockKey(Long productId) {
+        return STOCK_PREFIX + productId;
+    }
+
+    private static String heldKey(Long productId) {
+        return HELD_PREFIX + productId;
+    }
+
+    private static String holdKey(String reservationId) {
+        return HOLD_PREFIX + reservationId;
+    }
+
+    private static String checkoutKey(Long customerId) {
+        return CHECKOUT_PREFIX + customerId;
+    }
+}
@@ -2,6 +2,7 @@ package com.roze.nexacommerce.order.controller;
 
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
 import com.roze.nexacommerce.order.dto.request.ManualOrderRequest;
 import com.roze.nexacommerce.order.dto.request.OrderSearchCriteria;
@@ -48,6 +49,17 @@ public class AdminOrderController extends BaseController {
         return paginated(response, "Orders retrieved successfully");
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<BaseResponse<CursorResponse<OrderResponse>>> scrollOrders(
+            @ModelAttribute OrderSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+        CursorResponse<OrderResponse> response = adminOrderService.scrollOrders(criteria, cursor, size, sortBy, sortDirection);
+        return ok(response, "Orders retrieved successfully");
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<BaseResponse<OrderResponse>> getOrderWithHistory(@PathVariable Long orderId) {
         OrderResponse response = adminOrderService.getOrderWithHistory(orderId);
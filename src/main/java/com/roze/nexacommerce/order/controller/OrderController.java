@@ -2,6 +2,7 @@ package com.roze.nexacommerce.order.controller;
 
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
 import com.roze.nexacommerce.order.dto.request.GuestOrderCreateRequest;
 import com.roze.nexacommerce.order.dto.request.OrderCreateRequest;
@@ -120,6 +121,21 @@ public class OrderController extends BaseController {
         return paginated(orders, "Orders retrieved successfully");
     }
 
+    @GetMapping("/my-orders/scroll")
+    @PreAuthorize("@securityService.isCurrentCustomer()")
+    public ResponseEntity<BaseResponse<CursorResponse<OrderResponse>>> scrollMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+        Long customerId = getCurrentCustomerId();
+        if (customerId == null) {
+            return unauthorized("Customer not found");
+        }
+        CursorResponse<OrderResponse> orders = orderService.scrollCustomerOrders(customerId, cursor, size, sortBy, sortDirection);
+        return ok(orders, "Orders retrieved successfully");
+    }
+
     @PatchMapping("/{orderId}/status")
     @PreAuthorize("hasAuthority('UPDATE_ORDER') or @securityService.isVendorOrder(#orderId)")
     public ResponseEntity<BaseResponse<OrderResponse>> updateOrderStatus(
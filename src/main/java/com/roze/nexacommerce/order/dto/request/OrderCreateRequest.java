@@ -40,6 +40,9 @@ public class OrderCreateRequest {
     @NotNull(message = "Order items are required")
     private List<OrderItemRequest> items;
 
+    // Stock hold the customer took when checkout started, if any
+    private String reservationId;
+
     // Add these methods for clarity
     public boolean shouldUseShippingAsBilling() {
         return Boolean.TRUE.equals(useShippingAsBilling) || billingAddressId == null;
@@ -1,35 +1,39 @@
 package com.roze.nexacommerce.order.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
+import com.roze.nexacommerce.order.dto.response.OrderHistoryResponse;
 import com.roze.nexacommerce.order.dto.response.OrderItemResponse;
 import com.roze.nexacommerce.order.dto.response.OrderResponse;
 import com.roze.nexacommerce.order.entity.Order;
+import com.roze.nexacommerce.order.entity.OrderHistory;
 import com.roze.nexacommerce.order.entity.OrderItem;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
-import java.util.List;
-import java.util.stream.Collectors;
+@Mapper(config = MappingConfig.class)
+public abstract class OrderMapper {
 
-@Component
-@RequiredArgsConstructor
-public class OrderMapper {
-    private final ModelMapper modelMapper;
+    @Mapping(target = "items", source = "orderItems")
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "vendorId", source = "vendor.id")
+    @Mapping(target = "vendorName", source = "vendor.companyName")
+    @Mapping(target = "processedByUserId", source = "processedBy.id")
+    @Mapping(target = "processedByName", source = "processedBy.name")
+    public abstract OrderResponse toResponse(Order order);
 
-    public OrderResponse toResponse(Order order) {
-        OrderResponse response = modelMapper.map(order, OrderResponse.class);
+    @Mapping(target = "productId", source = "product.id")
+    protected abstract OrderItemResponse toOrderItemResponse(OrderItem orderItem);
 
-        // Map order items
-        if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
-            List<OrderItemResponse> itemResponses = order.getOrderItems().stream()
-                    .map(this::toOrderItemResponse)
-                    .collect(Collectors.toList());
-            response.setItems(itemResponses);
-        }
+    @Mapping(target = "performedByUserId", source = "performedBy.id")
+    @Mapping(target = "performedByName", source = "performedBy.name")
+    protected abstract OrderHistoryResponse toHistoryResponse(OrderHistory history);
 
-        // Set customer info for registered users
+    @AfterMapping
+    protected void setCustomerInfo(Order order, @MappingTarget OrderResponse response) {
         if (order.getCustomer() != null) {
-            response.setCustomerId(order.getCustomer().getId());
+            // Registered customer
             if (order.getCustomer().getUser() != null) {
                 response.setCustomerName(order.getCustomer().getUser().getName());
                 response.setCustomerEmail(order.getCustomer().getUser().getEmail());
@@ -39,41 +43,23 @@ public class OrderMapper {
             response.setCustomerName(order.getGuestName());
             response.setCustomerEmail(order.getGuestEmail());
         }
-
-        // Set vendor info
-        if (order.getVendor() != null) {
-            response.setVendorId(order.getVendor().getId());
-            response.setVendorName(order.getVendor().getCompanyName());
-        }
-
-        // Set processed by info
-        if (order.getProcessedBy() != null) {
-            response.setProcessedByUserId(order.getProcessedBy().getId());
-            response.setProcessedByName(order.getProcessedBy().getName());
-        }
-
-        return response;
     }
 
-    private OrderItemResponse toOrderItemResponse(OrderItem orderItem) {
-        OrderItemResponse response = modelMapper.map(orderItem, OrderItemResponse.class);
-
-        // Ensure product details are set
+    @AfterMapping
+    protected void setProductDetails(OrderItem orderItem, @MappingTarget OrderItemResponse response) {
+        // Fall back to the live product for items snapshotted without its details
         if (orderItem.getProduct() != null) {
-            response.setProductId(orderItem.getProduct().getId());
-            response.setProductName(orderItem.getProductName() != null ?
-                    orderItem.getProductName() : orderItem.getProduct().getName());
-            response.setProductSku(orderItem.getProductSku() != null ?
-                    orderItem.getProductSku() : orderItem.getProduct().getSku());
-
-            // Set product image if available
+            if (orderItem.getProductName() == null) {
+                response.setProductName(orderItem.getProduct().getName());
+            }
+            if (orderItem.getProductSku() == null) {
+                response.setProductSku(orderItem.getProduct().getSku());
+            }
             if (orderItem.getProductImage() == null &&
                     orderItem.getProduct().getImages() != null &&
                     !orderItem.getProduct().getImages().isEmpty()) {
                 response.setProductImage(orderItem.getProduct().getImages().get(0).getImageUrl());
             }
         }
-
-        return response;
     }
-}
\ No newline at end of file
+}
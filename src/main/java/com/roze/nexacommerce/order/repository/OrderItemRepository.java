@@ -1,12 +1,19 @@
 package com.roze.nexacommerce.order.repository;
 
+import com.roze.nexacommerce.export.dto.OrderItemExportRow;
 import com.roze.nexacommerce.order.entity.OrderItem;
+import com.roze.nexacommerce.order.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -24,4 +31,22 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
            "GROUP BY oi.product.id ORDER BY SUM(oi.quantity) DESC")
     List<Object[]> findTopSellingProducts(@Param("startDate") java.time.LocalDateTime startDate, 
                                          @Param("endDate") java.time.LocalDateTime endDate);
-}
\ No newline at end of file
+
+    @Query("SELECT oi.product.id, SUM(oi.quantity) FROM OrderItem oi GROUP BY oi.product.id")
+    List<Object[]> findSoldQuantitiesByProduct();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT oi.id AS id, o.id AS orderId, o.orderNumber AS orderNumber, oi.product.id AS productId, " +
+            "oi.productSku AS productSku, oi.productName AS productName, oi.quantity AS quantity, " +
+            "oi.price AS price, oi.createdAt AS createdAt " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE (:from IS NULL OR o.createdAt >= :from) AND (:to IS NULL OR o.createdAt < :to) " +
+            "AND (:status IS NULL OR o.status = :status) " +
+            "ORDER BY o.id, oi.id")
+    Stream<OrderItemExportRow> streamExportRows(@Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                @Param("status") OrderStatus status);
+}
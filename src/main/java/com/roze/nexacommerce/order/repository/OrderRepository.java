@@ -1,17 +1,25 @@
 package com.roze.nexacommerce.order.repository;
 
 import com.roze.nexacommerce.customer.entity.CustomerProfile;
+import com.roze.nexacommerce.export.dto.OrderExportRow;
 import com.roze.nexacommerce.order.entity.Order;
 import com.roze.nexacommerce.order.enums.OrderSource;
 import com.roze.nexacommerce.order.enums.OrderStatus;
 import com.roze.nexacommerce.order.enums.PaymentStatus;
 import com.roze.nexacommerce.user.entity.User;
 import com.roze.nexacommerce.vendor.entity.VendorProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,12 +27,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     Optional<Order> findByOrderNumber(String orderNumber);
     List<Order> findByCustomer(CustomerProfile customer);
     Page<Order> findByCustomer(CustomerProfile customer, Pageable pageable);
+    Window<Order> findByCustomer(CustomerProfile customer, ScrollPosition position, Sort sort, Limit limit);
     List<Order> findByVendor(VendorProfile vendor);
     Page<Order> findByVendor(VendorProfile vendor, Pageable pageable);
     List<Order> findByProcessedBy(User user);
@@ -75,4 +85,21 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
                                       @Param("endDate") LocalDateTime endDate);
 
     List<Order> findByCustomerIdAndStatusIn(Long customerId, List<String> delivered);
-}
\ No newline at end of file
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, c.id AS customerId, u.email AS customerEmail, " +
+            "o.guestEmail AS guestEmail, o.source AS source, o.status AS status, o.paymentStatus AS paymentStatus, " +
+            "o.totalAmount AS totalAmount, o.shippingAmount AS shippingAmount, o.taxAmount AS taxAmount, " +
+            "o.discountAmount AS discountAmount, o.finalAmount AS finalAmount, o.couponCode AS couponCode, " +
+            "o.shippingAddress.city AS shippingCity, o.createdAt AS createdAt " +
+            "FROM Order o LEFT JOIN o.customer c LEFT JOIN c.user u " +
+            "WHERE (:from IS NULL OR o.createdAt >= :from) AND (:to IS NULL OR o.createdAt < :to) " +
+            "AND (:status IS NULL OR o.status = :status) " +
+            "ORDER BY o.id")
+    Stream<OrderExportRow> streamExportRows(@Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("status") OrderStatus status);
+}
@@ -1,5 +1,6 @@
 package com.roze.nexacommerce.order.service;
 
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
 import com.roze.nexacommerce.order.dto.request.ManualOrderRequest;
 import com.roze.nexacommerce.order.dto.request.OrderSearchCriteria;
@@ -27,6 +28,8 @@ public interface AdminOrderService {
 
     PaginatedResponse<OrderResponse> searchOrders(OrderSearchCriteria criteria, Pageable pageable);
 
+    CursorResponse<OrderResponse> scrollOrders(OrderSearchCriteria criteria, String cursor, int size, String sortBy, String sortDirection);
+
     OrderResponse getOrderWithHistory(Long orderId);
 
     List<OrderResponse> getOrdersByStatus(OrderStatus status);
@@ -1,5 +1,6 @@
 package com.roze.nexacommerce.order.service;
 
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
 import com.roze.nexacommerce.order.dto.request.GuestOrderCreateRequest;
 import com.roze.nexacommerce.order.dto.request.OrderCreateRequest;
@@ -23,6 +24,8 @@ public interface OrderService {
 
     PaginatedResponse<OrderResponse> getCustomerOrders(Long customerId, Pageable pageable);
 
+    CursorResponse<OrderResponse> scrollCustomerOrders(Long customerId, String cursor, int size, String sortBy, String sortDirection);
+
     List<OrderResponse> getRecentOrders(Long customerId, int limit);
 
     OrderResponse cancelOrder(Long orderId, Long customerId);
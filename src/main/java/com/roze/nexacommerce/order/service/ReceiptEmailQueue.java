@@ -0,0 +1,195 @@
+package com.roze.nexacommerce.order.service;
+
+import com.roze.nexacommerce.config.ReceiptEmailProperties;
+import com.roze.nexacommerce.email.dto.response.EmailLogResponse;
+import com.roze.nexacommerce.email.enums.EmailStatus;
+import com.roze.nexacommerce.email.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receipt emails with the PDF attached, sent once the order's transaction commits. Checkout
+ * only captures the email variables; rendering the PDF and the SMTP round trip happen on the
+ * bounded receipt pool, so the request thread and its connection are released first. A failed
+ * attempt is retried with doubling backoff. Receipts are held in memory only, so ones still
+ * queued at shutdown are lost; the email log shows which orders never got one.
+ */
+@Slf4j
+@Component
+public class ReceiptEmailQueue {
+    private static final String TEMPLATE_KEY = "GUEST_ORDER_RECEIPT_WITH_PDF";
+    private static final String PURPOSE = "ORDER_CONFIRMATION";
+
+    private final ReceiptService receiptService;
+    private final EmailService emailService;
+    private final ReceiptEmailProperties receiptEmailProperties;
+    private final ThreadPoolExecutor receiptEmailExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    // Only holds retries until their backoff ends; the work itself runs on the receipt pool
+    private final ScheduledThreadPoolExecutor retryScheduler;
+    private final Timer lagTimer;
+    private final Timer deliveryTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    public ReceiptEmailQueue(ReceiptService receiptService,
+                             EmailService emailService,
+                             ReceiptEmailProperties receiptEmailProperties,
+                             ThreadPoolExecutor receiptEmailExecutor,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.receiptService = receiptService;
+        this.emailService = emailService;
+        this.receiptEmailProperties = receiptEmailProperties;
+        this.receiptEmailExecutor = receiptEmailExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("receipt-email-retry").daemon(true).factory());
+        this.retryScheduler.setRemoveOnCancelPolicy(true);
+
+        Gauge.builder("receipt.email.queue.depth", receiptEmailExecutor, executor -> executor.getQueue().size())
+                .description("Receipts waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("receipt.email.retry.pending", retryScheduler, scheduler -> scheduler.getQueue().size())
+                .description("Receipts waiting out a retry backoff")
+                .register(meterRegistry);
+        Gauge.builder("receipt.email.active", receiptEmailExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Receipts being rendered or sent")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("receipt.email.lag")
+                .description("Time a receipt waited in the queue before a worker picked it up")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("receipt.email.delivery")
+                .description("Time to render the receipt PDF and send the email")
+                .register(meterRegistry);
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.rejectedCounter = outcomeCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Queues the receipt for sending once the current transaction commits; nothing is sent if it
+     * rolls back. The variables are copied, so the caller may build them from managed entities.
+     */
+    public void enqueue(String orderNumber, String to, Map<String, Object> variables) {
+        ReceiptEmail receipt = new ReceiptEmail(orderNumber, to, new HashMap<>(variables));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(receipt);
+                }
+            });
+        } else {
+            submit(receipt);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    private void submit(ReceiptEmail receipt) {
+        receipt.queuedAtNanos = System.nanoTime();
+        try {
+            receiptEmailExecutor.execute(() -> deliver(receipt));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.error("Receipt queue is full; dropped receipt email for order: {}", receipt.orderNumber);
+        }
+    }
+
+    private void deliver(ReceiptEmail receipt) {
+        lagTimer.record(System.nanoTime() - receipt.queuedAtNanos, TimeUnit.NANOSECONDS);
+        receipt.attempts++;
+        try {
+            deliveryTimer.record(() -> send(receipt));
+            sentCounter.increment();
+            log.info("Receipt email with PDF sent successfully for order: {}", receipt.orderNumber);
+        } catch (Exception e) {
+            retryOrGiveUp(receipt, e);
+        }
+    }
+
+    private void send(ReceiptEmail receipt) {
+        // Rendered once and kept for retries; the worker has no session of its own to load the order in
+        if (receipt.pdf == null) {
+            receipt.pdf = readOnlyTransaction.execute(status -> receiptService.generateOrderReceipt(receipt.orderNumber));
+        }
+        EmailLogResponse response = emailService.sendTemplatedEmailWithAttachment(
+                receipt.to,
+                TEMPLATE_KEY,
+                receipt.variables,
+                PURPOSE,
+                "order-receipt-" + receipt.orderNumber + ".pdf",
+                receipt.pdf,
+                "application/pdf"
+        );
+        if (response.getStatus() != EmailStatus.SENT) {
+            throw new IllegalStateException("Email was not sent, status: " + response.getStatus());
+        }
+    }
+
+    private void retryOrGiveUp(ReceiptEmail receipt, Exception e) {
+        if (receipt.attempts >= receiptEmailProperties.getMaxAttempts() || retryScheduler.isShutdown()) {
+            failedCounter.increment();
+            log.error("Failed to send receipt email for order: {} after {} attempts",
+                    receipt.orderNumber, receipt.attempts, e);
+            return;
+        }
+        long backoffSeconds = receiptEmailProperties.getRetryBackoffSeconds() << (receipt.attempts - 1);
+        retriedCounter.increment();
+        log.warn("Receipt email for order: {} failed on attempt {}, retrying in {}s: {}",
+                receipt.orderNumber, receipt.attempts, backoffSeconds, e.getMessage());
+        try {
+            retryScheduler.schedule(() -> submit(receipt), backoffSeconds, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException rejected) {
+            failedCounter.increment();
+            log.error("Could not schedule a retry of the receipt email for order: {}", receipt.orderNumber);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("receipt.email.attempts")
+                .description("Receipt email attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class ReceiptEmail {
+        private final String orderNumber;
+        private final String to;
+        private final Map<String, Object> variables;
+        private byte[] pdf;
+        private int attempts;
+        private long queuedAtNanos;
+
+        private ReceiptEmail(String orderNumber, String to, Map<String, Object> variables) {
+            this.orderNumber = orderNumber;
+            this.to = to;
+            this.variables = variables;
+        }
+    }
+}
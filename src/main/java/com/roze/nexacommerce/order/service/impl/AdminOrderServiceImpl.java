@@ -1,11 +1,15 @@
 package com.roze.nexacommerce.order.service.impl;
 
+import com.roze.nexacommerce.common.CursorResponse;
+import com.roze.nexacommerce.common.KeysetCursor;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.id.TimeOrderedIdGenerator;
 import com.roze.nexacommerce.common.address.entity.Address;
 import com.roze.nexacommerce.common.address.service.AddressService;
 import com.roze.nexacommerce.customer.entity.CustomerProfile;
 import com.roze.nexacommerce.customer.repository.CustomerProfileRepository;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.inventory.service.InventoryReservationService;
 import com.roze.nexacommerce.order.dto.request.ManualOrderRequest;
 import com.roze.nexacommerce.order.dto.request.OrderItemRequest;
 import com.roze.nexacommerce.order.dto.request.OrderSearchCriteria;
@@ -33,6 +37,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,14 +47,20 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AdminOrderServiceImpl implements AdminOrderService {
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt");
+
     private final OrderRepository orderRepository;
     private final CustomerProfileRepository customerRepository;
     private final ProductRepository productRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final TimeOrderedIdGenerator timeOrderedIdGenerator;
     private final VendorProfileRepository vendorRepository;
     private final UserRepository userRepository;
     private final OrderMapper orderMapper;
@@ -89,7 +102,7 @@ public class AdminOrderServiceImpl implements AdminOrderService {
 
         // Create order
         Order order = Order.builder()
-                .orderNumber(generateOrderNumber())
+                .orderNumber(timeOrderedIdGenerator.nextOrderNumber())
                 .customer(customer)
                 .vendor(vendor)
                 .processedBy(adminUser)
@@ -212,13 +225,16 @@ public class AdminOrderServiceImpl implements AdminOrderService {
 
         // Restore product stock if full refund
         if (newPaymentStatus == PaymentStatus.REFUNDED) {
+            // Locks rows in id order like order creation does
+            Map<Long, Integer> stockRestored = new TreeMap<>();
             for (OrderItem item : order.getOrderItems()) {
                 Product product = item.getProduct();
                 if (product.getTrackQuantity()) {
-                    product.setStock(product.getStock() + item.getQuantity());
-                    productRepository.save(product);
+                    stockRestored.merge(product.getId(), item.getQuantity(), Integer::sum);
                 }
             }
+            stockRestored.forEach(productRepository::restoreStock);
+            inventoryReservationService.stockRestored(stockRestored);
         }
 
         // Add history
@@ -386,6 +402,18 @@ public class AdminOrderServiceImpl implements AdminOrderService {
 
     // ============ HELPER METHODS ============
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> scrollOrders(OrderSearchCriteria criteria, String cursor, int size, String sortBy, String sortDirection) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDirection, CURSOR_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        int limit = KeysetCursor.limit(size).max();
+
+        Window<Order> window = orderRepository.findBy(buildSearchSpecification(criteria),
+                query -> query.sortBy(sort).limit(limit).scroll(position));
+        return KeysetCursor.toResponse(window, sort, orderMapper::toResponse);
+    }
+
     private Specification<Order> buildSearchSpecification(OrderSearchCriteria criteria) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -443,27 +471,46 @@ public class AdminOrderServiceImpl implements AdminOrderService {
     }
 
     private List<OrderItem> processOrderItems(List<OrderItemRequest> itemRequests) {
-        List<OrderItem> orderItems = new ArrayList<>();
-
+        // Every product of the order in one query, with the vendor the order is assigned to
+        Map<Long, Product> products = productRepository.findByIdIn(itemRequests.stream()
+                        .map(OrderItemRequest::getProductId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, Integer> stockTaken = new TreeMap<>();
         for (OrderItemRequest itemRequest : itemRequests) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", itemRequest.getProductId()));
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", itemRequest.getProductId());
+            }
 
             if (!product.isAvailable()) {
                 throw new IllegalStateException("Product is not available: " + product.getName());
             }
 
-            if (product.getTrackQuantity() && !product.getAllowBackorder() &&
-                    product.getStock() < itemRequest.getQuantity()) {
-                throw new IllegalStateException("Insufficient stock for product: " + product.getName());
+            if (product.getTrackQuantity()) {
+                stockTaken.merge(product.getId(), itemRequest.getQuantity(), Integer::sum);
             }
+        }
 
-            // Update product stock
-            if (product.getTrackQuantity()) {
-                product.setStock(product.getStock() - itemRequest.getQuantity());
-                productRepository.save(product);
+        // Units held by customer checkouts are off limits
+        inventoryReservationService.claimForOrder(null, null, products, stockTaken);
+
+        // Each decrement locks its product row. Taking them in id order means two orders sharing
+        // products always lock in the same order, so they wait for each other instead of deadlocking.
+        for (Map.Entry<Long, Integer> taken : stockTaken.entrySet()) {
+            Product product = products.get(taken.getKey());
+            // Backordered products may go below zero; others only while enough stock is left
+            if (productRepository.decrementStock(product.getId(), taken.getValue(),
+                    Boolean.TRUE.equals(product.getAllowBackorder())) == 0) {
+                throw new IllegalStateException("Insufficient stock for product: " + product.getName());
             }
+        }
 
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (OrderItemRequest itemRequest : itemRequests) {
+            Product product = products.get(itemRequest.getProductId());
             OrderItem orderItem = OrderItem.builder()
                     .product(product)
                     .quantity(itemRequest.getQuantity())
@@ -486,12 +533,6 @@ public class AdminOrderServiceImpl implements AdminOrderService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private String generateOrderNumber() {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String random = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        return "ORD-" + timestamp.substring(timestamp.length() - 8) + "-" + random;
-    }
-
     private OrderAddress createOrderAddress(Long addressId) {
         Address commonAddress = addressService.getAddressEntityById(addressId);
 
@@ -1,6 +1,9 @@
 package com.roze.nexacommerce.order.service.impl;
 
+import com.roze.nexacommerce.common.CursorResponse;
+import com.roze.nexacommerce.common.KeysetCursor;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.id.TimeOrderedIdGenerator;
 import com.roze.nexacommerce.common.address.entity.Address;
 import com.roze.nexacommerce.common.address.enums.AddressZone;
 import com.roze.nexacommerce.common.address.service.AddressService;
@@ -8,6 +11,7 @@ import com.roze.nexacommerce.customer.entity.CustomerProfile;
 import com.roze.nexacommerce.customer.repository.CustomerProfileRepository;
 import com.roze.nexacommerce.email.service.EmailService;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.inventory.service.InventoryReservationService;
 import com.roze.nexacommerce.order.dto.request.GuestAddressRequest;
 import com.roze.nexacommerce.order.dto.request.GuestOrderCreateRequest;
 import com.roze.nexacommerce.order.dto.request.OrderCreateRequest;
@@ -24,7 +28,7 @@ import com.roze.nexacommerce.order.enums.PaymentStatus;
 import com.roze.nexacommerce.order.mapper.OrderMapper;
 import com.roze.nexacommerce.order.repository.OrderRepository;
 import com.roze.nexacommerce.order.service.OrderService;
-import com.roze.nexacommerce.order.service.ReceiptService;
+import com.roze.nexacommerce.order.service.ReceiptEmailQueue;
 import com.roze.nexacommerce.product.entity.Product;
 import com.roze.nexacommerce.product.repository.ProductRepository;
 import com.roze.nexacommerce.security.SecurityService;
@@ -34,6 +38,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,20 +47,25 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements OrderService {
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt");
+
     private final OrderRepository orderRepository;
     private final CustomerProfileRepository customerRepository;
     private final ProductRepository productRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final TimeOrderedIdGenerator timeOrderedIdGenerator;
     private final OrderMapper orderMapper;
     private final AddressService addressService;
     private final SecurityService securityService;
     private final EmailService emailService;
-    private final ReceiptService receiptService;
+    private final ReceiptEmailQueue receiptEmailQueue;
     @Value("${app.shipping.inside-dhaka:60}")
     private BigDecimal insideDhakaShipping;
 
@@ -97,14 +108,14 @@ public class OrderServiceImpl implements OrderService {
                 .build();
 
         // Process order items
-        List<OrderItem> orderItems = processOrderItems(request.getItems());
+        List<OrderItem> orderItems = processOrderItems(request.getItems(), customerId, request.getReservationId());
         BigDecimal shippingAmount = calculateShippingAmount(address, calculateTotalAmount(orderItems));
         // Get vendor from first product
         VendorProfile vendor = orderItems.get(0).getProduct().getVendor();
 
         // Create order
         Order order = Order.builder()
-                .orderNumber(generateOrderNumber())
+                .orderNumber(timeOrderedIdGenerator.nextOrderNumber())
                 .customer(customer)
                 .vendor(vendor)
                 .source(OrderSource.WEBSTORE)
@@ -145,8 +156,8 @@ public class OrderServiceImpl implements OrderService {
     public OrderResponse createGuestOrder(GuestOrderCreateRequest request) {
         log.info("Creating guest order for email: {}", request.getGuestEmail());
 
-        // Process order items
-        List<OrderItem> orderItems = processOrderItems(request.getItems());
+        // Process order items; guests cannot hold stock, so only the stock check guards them
+        List<OrderItem> orderItems = processOrderItems(request.getItems(), null, null);
 
         // Get vendor from first product
         VendorProfile vendor = orderItems.get(0).getProduct().getVendor();
@@ -167,7 +178,7 @@ public class OrderServiceImpl implements OrderService {
         );
         // Create guest order
         Order order = Order.builder()
-                .orderNumber(generateOrderNumber())
+                .orderNumber(timeOrderedIdGenerator.nextOrderNumber())
                 .customer(null) // No customer for guest orders
                 .vendor(vendor)
                 .source(OrderSource.WEBSTORE)
@@ -214,34 +225,14 @@ public class OrderServiceImpl implements OrderService {
 
     private void sendGuestOrderReceiptEmailWithPdf(Order order) {
         try {
-            log.info("Sending receipt email with PDF for guest order: {} to: {}",
+            log.info("Queueing receipt email with PDF for guest order: {} to: {}",
                     order.getOrderNumber(), order.getGuestEmail());
 
-            // Generate receipt PDF
-            byte[] receiptPdf = receiptService.generateOrderReceipt(order.getOrderNumber());
-
-            // Prepare email variables
-            Map<String, Object> emailVariables = prepareReceiptEmailVariables(order);
-
-            // Prepare attachment details
-            String attachmentName = "order-receipt-" + order.getOrderNumber() + ".pdf";
-            String contentType = "application/pdf";
-
-            // Send templated email with PDF attachment
-            emailService.sendTemplatedEmailWithAttachment(
-                    order.getGuestEmail(),
-                    "GUEST_ORDER_RECEIPT_WITH_PDF",
-                    emailVariables,
-                    "ORDER_CONFIRMATION",
-                    attachmentName,
-                    receiptPdf,
-                    contentType
-            );
-
-            log.info("Receipt email with PDF sent successfully for order: {}", order.getOrderNumber());
+            // The PDF is rendered and sent after commit, off the checkout thread
+            receiptEmailQueue.enqueue(order.getOrderNumber(), order.getGuestEmail(), prepareReceiptEmailVariables(order));
 
         } catch (Exception e) {
-            log.error("Failed to send receipt email with PDF for order: {}", order.getOrderNumber(), e);
+            log.error("Failed to queue receipt email with PDF for order: {}", order.getOrderNumber(), e);
             // Don't throw exception - email failure shouldn't fail the order creation
         }
     }
@@ -451,6 +442,17 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toResponse(order);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> scrollCustomerOrders(Long customerId, String cursor, int size, String sortBy, String sortDirection) {
+        CustomerProfile customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", customerId));
+
+        Sort sort = KeysetCursor.sort(sortBy, sortDirection, CURSOR_SORT_PROPERTIES);
+        Window<Order> window = orderRepository.findByCustomer(customer, KeysetCursor.decode(cursor, sort), sort, KeysetCursor.limit(size));
+        return KeysetCursor.toResponse(window, sort, orderMapper::toResponse);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PaginatedResponse<OrderResponse> getCustomerOrders(Long customerId, Pageable pageable) {
@@ -582,14 +584,16 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("Order cannot be cancelled in current status: " + order.getStatus());
         }
 
-        // Restore product stock
+        // Restore product stock, locking rows in id order like order creation does
+        Map<Long, Integer> stockRestored = new TreeMap<>();
         for (OrderItem item : order.getOrderItems()) {
             Product product = item.getProduct();
             if (product.getTrackQuantity()) {
-                product.setStock(product.getStock() + item.getQuantity());
-                productRepository.save(product);
+                stockRestored.merge(product.getId(), item.getQuantity(), Integer::sum);
             }
         }
+        stockRestored.forEach(productRepository::restoreStock);
+        inventoryReservationService.stockRestored(stockRestored);
 
         order.setStatus(OrderStatus.CANCELLED);
 
@@ -654,28 +658,47 @@ public class OrderServiceImpl implements OrderService {
 
     // ============ HELPER METHODS ============
 
-    private List<OrderItem> processOrderItems(List<OrderItemRequest> itemRequests) {
-        List<OrderItem> orderItems = new ArrayList<>();
+    private List<OrderItem> processOrderItems(List<OrderItemRequest> itemRequests, Long customerId, String reservationId) {
+        // Every product of the order in one query, with the vendor the order is assigned to
+        Map<Long, Product> products = productRepository.findByIdIn(itemRequests.stream()
+                        .map(OrderItemRequest::getProductId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
 
+        Map<Long, Integer> stockTaken = new TreeMap<>();
         for (OrderItemRequest itemRequest : itemRequests) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", itemRequest.getProductId()));
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", itemRequest.getProductId());
+            }
 
             if (!product.isAvailable()) {
                 throw new IllegalStateException("Product is not available: " + product.getName());
             }
 
-            if (product.getTrackQuantity() && product.getStock() < itemRequest.getQuantity()) {
-                throw new IllegalStateException("Insufficient stock for product: " + product.getName() +
-                        ". Available: " + product.getStock() + ", Requested: " + itemRequest.getQuantity());
+            if (product.getTrackQuantity()) {
+                stockTaken.merge(product.getId(), itemRequest.getQuantity(), Integer::sum);
             }
+        }
 
-            // Update product stock
-            if (product.getTrackQuantity()) {
-                product.setStock(product.getStock() - itemRequest.getQuantity());
-                productRepository.save(product);
+        // Units other checkouts hold are off limits; the customer's own hold is spent by this order
+        inventoryReservationService.claimForOrder(customerId, reservationId, products, stockTaken);
+
+        // Each decrement locks its product row. Taking them in id order means two orders sharing
+        // products always lock in the same order, so they wait for each other instead of deadlocking.
+        for (Map.Entry<Long, Integer> taken : stockTaken.entrySet()) {
+            Product product = products.get(taken.getKey());
+            // The decrement checks the stock itself, so a concurrent checkout cannot take the same units
+            if (productRepository.decrementStock(product.getId(), taken.getValue(), false) == 0) {
+                throw new IllegalStateException("Insufficient stock for product: " + product.getName() +
+                        ". Requested: " + taken.getValue());
             }
+        }
 
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (OrderItemRequest itemRequest : itemRequests) {
+            Product product = products.get(itemRequest.getProductId());
             OrderItem orderItem = OrderItem.builder()
                     .product(product)
                     .quantity(itemRequest.getQuantity())
@@ -698,12 +721,6 @@ public class OrderServiceImpl implements OrderService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private String generateOrderNumber() {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String random = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        return "ORD-" + timestamp.substring(timestamp.length() - 8) + "-" + random;
-    }
-
     private void validateAddressOwnership(Long customerId, Long addressId) {
         CustomerProfile customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", customerId));
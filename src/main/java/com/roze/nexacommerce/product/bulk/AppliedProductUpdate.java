@@ -0,0 +1,13 @@
+package com.roze.nexacommerce.product.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AppliedProductUpdate {
+    private int index;
+    private Long productId;
+    private Long version;
+    private boolean statusChanged;
+}
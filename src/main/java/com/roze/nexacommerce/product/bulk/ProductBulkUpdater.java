@@ -0,0 +1,125 @@
+package com.roze.nexacommerce.product.bulk;
+
+import com.roze.nexacommerce.product.dto.request.ProductBulkUpdateItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Applies a chunk of bulk product changes with one set-based statement. The changes are bound as
+ * parallel arrays and unnested, so the statement text and its plan are the same for every chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductBulkUpdater {
+
+    // o is the pre-update snapshot of each row. Requiring the live version to still match it makes
+    // a row changed concurrently fail the recheck, so old_status is always accurate for the counters.
+    private static final String UPDATE = "WITH changes AS (" +
+            "SELECT c.*, COALESCE(c.id, s.id) AS product_id " +
+            "FROM unnest(CAST(? AS integer[]), CAST(? AS bigint[]), CAST(? AS varchar[]), CAST(? AS integer[]), " +
+            "CAST(? AS integer[]), CAST(? AS numeric[]), CAST(? AS varchar[]), CAST(? AS bigint[])) " +
+            "AS c(item_index, id, sku, stock, stock_delta, price, status, expected_version) " +
+            "LEFT JOIN products s ON c.id IS NULL AND s.sku = c.sku AND s.deleted = false" +
+            "), updated AS (" +
+            "UPDATE products p SET " +
+            "stock = COALESCE(c.stock, p.stock + c.stock_delta, p.stock), " +
+            "price = COALESCE(c.price, p.price), " +
+            "status = COALESCE(c.status, p.status), " +
+            "version = p.version + 1, updated_at = now(), modified_by = ? " +
+            "FROM changes c JOIN products o ON o.id = c.product_id " +
+            "WHERE p.id = o.id AND p.deleted = false " +
+            "AND p.version = COALESCE(c.expected_version, o.version) " +
+            "AND COALESCE(c.stock, p.stock + c.stock_delta, p.stock) >= 0 " +
+            "RETURNING c.item_index, p.id, p.version, p.category_id, p.brand_id, p.published, " +
+            "o.status AS old_status, p.status AS new_status" +
+            "), category_counts AS (" +
+            "UPDATE categories t SET active_product_count = GREATEST(t.active_product_count + d.delta, 0) " +
+            "FROM (SELECT category_id, SUM(CASE WHEN new_status = 'ACTIVE' THEN 1 ELSE 0 END " +
+            "- CASE WHEN old_status = 'ACTIVE' THEN 1 ELSE 0 END) AS delta " +
+            "FROM updated WHERE published = true GROUP BY category_id) d " +
+            "WHERE t.id = d.category_id AND d.delta <> 0" +
+            "), brand_counts AS (" +
+            "UPDATE brands t SET active_product_count = GREATEST(t.active_product_count + d.delta, 0) " +
+            "FROM (SELECT brand_id, SUM(CASE WHEN new_status = 'ACTIVE' THEN 1 ELSE 0 END " +
+            "- CASE WHEN old_status = 'ACTIVE' THEN 1 ELSE 0 END) AS delta " +
+            "FROM updated WHERE published = true AND brand_id IS NOT NULL GROUP BY brand_id) d " +
+            "WHERE t.id = d.brand_id AND d.delta <> 0" +
+            ") " +
+            "SELECT item_index, id, version, old_status, new_status FROM updated";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies the items, keyed by their position in the request, and returns the ones that were
+     * applied. An item missing from the result matched no product, lost a version check or would
+     * have taken stock below zero.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<AppliedProductUpdate> apply(Map<Integer, ProductBulkUpdateItem> items, Long userId) {
+        int size = items.size();
+        Integer[] indexes = new Integer[size];
+        Long[] ids = new Long[size];
+        String[] skus = new String[size];
+        Integer[] stocks = new Integer[size];
+        Integer[] stockDeltas = new Integer[size];
+        BigDecimal[] prices = new BigDecimal[size];
+        String[] statuses = new String[size];
+        Long[] expectedVersions = new Long[size];
+
+        int i = 0;
+        for (Map.Entry<Integer, ProductBulkUpdateItem> entry : items.entrySet()) {
+            ProductBulkUpdateItem item = entry.getValue();
+            indexes[i] = entry.getKey();
+            ids[i] = item.getId();
+            skus[i] = item.getId() == null ? item.getSku() : null;
+            stocks[i] = item.getStock();
+            stockDeltas[i] = item.getStockDelta();
+            prices[i] = item.getPrice();
+            statuses[i] = item.getStatus() != null ? item.getStatus().name() : null;
+            expectedVersions[i] = item.getExpectedVersion();
+            i++;
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<AppliedProductUpdate>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setArray(1, connection.createArrayOf("integer", indexes));
+                statement.setArray(2, connection.createArrayOf("bigint", ids));
+                statement.setArray(3, connection.createArrayOf("varchar", skus));
+                statement.setArray(4, connection.createArrayOf("integer", stocks));
+                statement.setArray(5, connection.createArrayOf("integer", stockDeltas));
+                statement.setArray(6, connection.createArrayOf("numeric", prices));
+                statement.setArray(7, connection.createArrayOf("varchar", statuses));
+                statement.setArray(8, connection.createArrayOf("bigint", expectedVersions));
+                statement.setLong(9, userId);
+                return readApplied(statement);
+            }
+        });
+    }
+
+    private static List<AppliedProductUpdate> readApplied(PreparedStatement statement) throws SQLException {
+        List<AppliedProductUpdate> applied = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                applied.add(new AppliedProductUpdate(
+                        resultSet.getInt("item_index"),
+                        resultSet.getLong("id"),
+                        resultSet.getLong("version"),
+                        !Objects.equals(resultSet.getString("old_status"), resultSet.getString("new_status"))));
+            }
+        }
+        return applied;
+    }
+}
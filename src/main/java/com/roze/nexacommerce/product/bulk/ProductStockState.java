@@ -0,0 +1,11 @@
+package com.roze.nexacommerce.product.bulk;
+
+/**
+ * Current id, SKU, version and stock of a product, read to explain why a bulk change was not applied.
+ */
+public interface ProductStockState {
+    Long getId();
+    String getSku();
+    Long getVersion();
+    Integer getStock();
+}
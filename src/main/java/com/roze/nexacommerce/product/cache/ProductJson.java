@@ -0,0 +1,31 @@
+package com.roze.nexacommerce.product.cache;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.Getter;
+
+/**
+ * A product detail response serialized once. The body is written into the response envelope
+ * as raw JSON; {@link SerializedString} keeps its UTF-8 bytes after the first write.
+ */
+@Getter
+public class ProductJson {
+    private final Long productId;
+    private final long version;
+    // Category and brand versions the body was built under; their names are part of it
+    private final String relatedVersions;
+    private final String json;
+    private final RawValue body;
+
+    public ProductJson(Long productId, long version, String relatedVersions, String json) {
+        this.productId = productId;
+        this.version = version;
+        this.relatedVersions = relatedVersions;
+        this.json = json;
+        this.body = new RawValue(new SerializedString(json));
+    }
+
+    public static String relatedVersions(Long categoryVersion, Long brandVersion) {
+        return "c" + (categoryVersion != null ? categoryVersion : "-") + ".b" + (brandVersion != null ? brandVersion : "-");
+    }
+}
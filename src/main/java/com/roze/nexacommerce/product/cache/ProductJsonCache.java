@@ -0,0 +1,112 @@
+package com.roze.nexacommerce.product.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.roze.nexacommerce.config.ProductCacheProperties;
+import com.roze.nexacommerce.product.entity.Product;
+import com.roze.nexacommerce.product.mapper.ProductMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Serialized product detail responses, in local memory with Redis behind it, both under
+ * {@code product:json:{id}:{version}:{category and brand versions}}. Callers look an entry up
+ * with the versions they have just probed, so a product update only moves its own key and a
+ * category or brand rename only the keys of its products; superseded entries age out.
+ * A hit costs no query beyond the version probe and no mapping.
+ */
+@Slf4j
+@Component
+public class ProductJsonCache {
+    private static final String KEY_PREFIX = "product:json:";
+
+    private final Cache<String, ProductJson> productJsonCache;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final ProductCacheProperties productCacheProperties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductJsonCache(Cache<String, ProductJson> productJsonCache,
+                            RedisTemplate<String, String> redisTemplate,
+                            ProductMapper productMapper,
+                            ObjectMapper objectMapper,
+                            ProductCacheProperties productCacheProperties,
+                            PlatformTransactionManager transactionManager) {
+        this.productJsonCache = productJsonCache;
+        this.redisTemplate = redisTemplate;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.productCacheProperties = productCacheProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * The response for the given product, version and related versions. A write between the
+     * probe and a load gives a newer body, which is returned and cached under its own versions.
+     */
+    public ProductJson get(Long productId, long version, String relatedVersions, Supplier<Product> loader) {
+        if (!productCacheProperties.isEnabled()) {
+            return load(loader);
+        }
+
+        String key = jsonKey(productId, version, relatedVersions);
+        ProductJson cached = productJsonCache.getIfPresent(key);
+        if (cached == null) {
+            cached = readShared(key, productId, version, relatedVersions);
+            if (cached == null) {
+                cached = loadAndShare(loader);
+            }
+            productJsonCache.put(jsonKey(cached.getProductId(), cached.getVersion(), cached.getRelatedVersions()), cached);
+        }
+        return cached;
+    }
+
+    private ProductJson readShared(String key, Long productId, long version, String relatedVersions) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json != null ? new ProductJson(productId, version, relatedVersions, json) : null;
+        } catch (Exception e) {
+            log.debug("Could not read shared product JSON for {}: {}", productId, e.getMessage());
+            return null;
+        }
+    }
+
+    private ProductJson loadAndShare(Supplier<Product> loader) {
+        ProductJson loaded = load(loader);
+        try {
+            redisTemplate.opsForValue().set(jsonKey(loaded.getProductId(), loaded.getVersion(), loaded.getRelatedVersions()),
+                    loaded.getJson(), Duration.ofMinutes(productCacheProperties.getSharedTtlMinutes()));
+        } catch (Exception e) {
+            log.warn("Could not share product JSON for {}: {}", loaded.getProductId(), e.getMessage());
+        }
+        return loaded;
+    }
+
+    private ProductJson load(Supplier<Product> loader) {
+        return readOnlyTransaction.execute(status -> {
+            Product product = loader.get();
+            String relatedVersions = ProductJson.relatedVersions(
+                    product.getCategory() != null ? product.getCategory().getVersion() : null,
+                    product.getBrand() != null ? product.getBrand().getVersion() : null);
+            try {
+                String json = objectMapper.writeValueAsString(productMapper.toResponse(product));
+                return new ProductJson(product.getId(), product.getVersion(), relatedVersions, json);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize product " + product.getId(), e);
+            }
+        });
+    }
+
+    private static String jsonKey(Long productId, long version, String relatedVersions) {
+        return KEY_PREFIX + productId + ":" + version + ":" + relatedVersions;
+    }
+}
@@ -1,22 +1,34 @@
 package com.roze.nexacommerce.product.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
+import com.roze.nexacommerce.product.cache.ProductJson;
+import com.roze.nexacommerce.product.dto.request.ProductBulkUpdateRequest;
 import com.roze.nexacommerce.product.dto.request.ProductCreateRequest;
 import com.roze.nexacommerce.product.dto.request.ProductUpdateRequest;
+import com.roze.nexacommerce.product.dto.response.ProductBulkUpdateResponse;
+import com.roze.nexacommerce.product.dto.response.ProductImportResponse;
 import com.roze.nexacommerce.product.dto.response.ProductResponse;
 import com.roze.nexacommerce.product.enums.ProductStatus;
+import com.roze.nexacommerce.product.importer.ProductImportFormat;
+import com.roze.nexacommerce.product.service.ProductImportService;
 import com.roze.nexacommerce.product.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -25,6 +37,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController extends BaseController {
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @PostMapping
     @PreAuthorize("hasAuthority('CREATE_PRODUCT') or @securityService.isVendorUser()")
@@ -35,16 +48,48 @@ public class ProductController extends BaseController {
         return created(response, "Product created successfully");
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('CREATE_PRODUCT')")
+    public ResponseEntity<BaseResponse<ProductImportResponse>> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) Long vendorId,
+            InputStream body) {
+        // The body is read row by row as it arrives rather than bound to a request object
+        ProductImportFormat format = ProductImportFormat.fromContentType(contentType);
+        ProductImportResponse response = productImportService.importProducts(body, format, vendorId);
+        return ok(response, "Product import completed");
+    }
+
     @GetMapping("/{productId}")
-    public ResponseEntity<BaseResponse<ProductResponse>> getProductById(@PathVariable Long productId) {
-        ProductResponse response = productService.getProductById(productId);
-        return ok(response, "Product retrieved successfully");
+    public ResponseEntity<BaseResponse<RawValue>> getProductById(@PathVariable Long productId,
+                                                                 @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = productService.getProductStamp(productId);
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
+        // The ProductResponse JSON comes pre-serialized from the product cache
+        ProductJson response = productService.getProductJson(stamp);
+        return productResponse(response, stamp);
     }
 
     @GetMapping("/sku/{sku}")
-    public ResponseEntity<BaseResponse<ProductResponse>> getProductBySku(@PathVariable String sku) {
-        ProductResponse response = productService.getProductBySku(sku);
-        return ok(response, "Product retrieved successfully");
+    public ResponseEntity<BaseResponse<RawValue>> getProductBySku(@PathVariable String sku,
+                                                                 @RequestHeader HttpHeaders headers) {
+        ResourceStamp stamp = productService.getProductStampBySku(sku);
+        if (isNotModified(headers, stamp)) {
+            return notModified(stamp);
+        }
+        ProductJson response = productService.getProductJson(stamp);
+        return productResponse(response, stamp);
+    }
+
+    private ResponseEntity<BaseResponse<RawValue>> productResponse(ProductJson response, ResourceStamp stamp) {
+        // A write between the probe and the cache read leaves the two apart; that body is sent
+        // untagged rather than under a validator it does not match
+        if (stamp.getVersion() != response.getVersion() || !stamp.getRelatedVersions().equals(response.getRelatedVersions())) {
+            return ok(response.getBody(), "Product retrieved successfully");
+        }
+        return ok(response.getBody(), "Product retrieved successfully", stamp);
     }
 
     @GetMapping
@@ -61,6 +106,16 @@ public class ProductController extends BaseController {
         return paginated(products, "Products retrieved successfully");
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<BaseResponse<CursorResponse<ProductResponse>>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+        CursorResponse<ProductResponse> products = productService.scrollProducts(cursor, size, sortBy, sortDirection);
+        return ok(products, "Products retrieved successfully");
+    }
+
     @GetMapping("/vendor/{vendorId}")
     public ResponseEntity<BaseResponse<PaginatedResponse<ProductResponse>>> getProductsByVendor(
             @PathVariable Long vendorId,
@@ -160,6 +215,14 @@ public class ProductController extends BaseController {
         return ok(response, "Product stock updated successfully");
     }
 
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasAuthority('UPDATE_PRODUCT')")
+    public ResponseEntity<BaseResponse<ProductBulkUpdateResponse>> bulkUpdateProducts(
+            @Valid @RequestBody ProductBulkUpdateRequest request) {
+        ProductBulkUpdateResponse response = productService.bulkUpdateProducts(request);
+        return ok(response, "Bulk product update completed");
+    }
+
     @DeleteMapping("/{productId}")
     @PreAuthorize("hasAuthority('DELETE_PRODUCT') or @securityService.isProductOwner(#productId)")
     public ResponseEntity<BaseResponse<Void>> deleteProduct(@PathVariable Long productId) {
@@ -0,0 +1,32 @@
+package com.roze.nexacommerce.product.dto;
+
+import com.roze.nexacommerce.common.EntityVersion;
+import com.roze.nexacommerce.product.cache.ProductJson;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Version columns of a product and of the category and brand its detail response shows.
+ */
+public interface ProductVersion extends EntityVersion {
+    Long getCategoryVersion();
+
+    LocalDateTime getCategoryUpdatedAt();
+
+    Long getBrandVersion();
+
+    LocalDateTime getBrandUpdatedAt();
+
+    default String getRelatedVersions() {
+        return ProductJson.relatedVersions(getCategoryVersion(), getBrandVersion());
+    }
+
+    default LocalDateTime getLastModified() {
+        return Stream.of(getUpdatedAt(), getCategoryUpdatedAt(), getBrandUpdatedAt())
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
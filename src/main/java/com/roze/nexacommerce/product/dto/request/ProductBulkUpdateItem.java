@@ -0,0 +1,37 @@
+package com.roze.nexacommerce.product.dto.request;
+
+import com.roze.nexacommerce.product.enums.ProductStatus;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateItem {
+    // The product is matched by id when given, otherwise by SKU
+    private Long id;
+
+    private String sku;
+
+    @PositiveOrZero(message = "Stock must be positive or zero")
+    private Integer stock;
+
+    // Relative change applied instead of an absolute stock; may not take stock below zero
+    private Integer stockDelta;
+
+    @PositiveOrZero(message = "Price must be positive or zero")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 integer and 2 fraction digits")
+    private BigDecimal price;
+
+    private ProductStatus status;
+
+    // When set, the change only applies if the product is still at this version
+    private Long expectedVersion;
+}
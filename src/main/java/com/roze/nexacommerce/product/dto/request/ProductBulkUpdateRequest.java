@@ -0,0 +1,24 @@
+package com.roze.nexacommerce.product.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 10000, message = "At most 10000 items can be updated per request")
+    @Builder.Default
+    private List<@Valid ProductBulkUpdateItem> items = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.roze.nexacommerce.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateFailure {
+    private int index; // position of the item in the request
+    private Long id;
+    private String sku;
+    private String message;
+}
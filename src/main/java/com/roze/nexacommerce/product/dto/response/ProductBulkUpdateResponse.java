@@ -0,0 +1,21 @@
+package com.roze.nexacommerce.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateResponse {
+    private int requested;
+    private int updated;
+    private int failed;
+    @Builder.Default
+    private List<ProductBulkUpdateFailure> failures = new ArrayList<>();
+}
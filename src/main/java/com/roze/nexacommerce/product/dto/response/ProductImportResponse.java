@@ -0,0 +1,24 @@
+package com.roze.nexacommerce.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+    private String format;
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    @Builder.Default
+    private List<ProductImportRowError> errors = new ArrayList<>();
+    private boolean errorsTruncated; // more rows failed than are listed in errors
+    private long durationMillis;
+}
@@ -0,0 +1,16 @@
+package com.roze.nexacommerce.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRowError {
+    private long row; // CSV line or NDJSON line the row starts on
+    private String sku;
+    private String message;
+}
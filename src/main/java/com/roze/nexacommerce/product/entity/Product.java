@@ -10,6 +10,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Where;
 
 import java.math.BigDecimal;
@@ -24,7 +25,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Where(clause = "deleted = false")
+@NamedEntityGraph(name = Product.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("brand"),
+        @NamedAttributeNode("vendor")
+})
 public class Product extends BaseEntity {
+    // To-one associations every listing maps; joined into the page query
+    public static final String SUMMARY_GRAPH = "Product.summary";
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vendor_id")
@@ -81,11 +90,14 @@ public class Product extends BaseEntity {
 
     private String tags;
 
+    // Collections cannot be join-fetched into a paged query; a page loads them with one IN query each
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<ProductImage> images = new ArrayList<>();
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<ProductAttribute> attributes = new ArrayList<>();
 
@@ -0,0 +1,9 @@
+package com.roze.nexacommerce.product.importer;
+
+/**
+ * Id and slug of a category or brand, preloaded so import rows resolve without a query each.
+ */
+public interface CatalogReference {
+    Long getId();
+    String getSlug();
+}
@@ -0,0 +1,173 @@
+package com.roze.nexacommerce.product.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * RFC 4180 CSV with a header row. Headers match {@link ProductImportRow} fields ignoring case,
+ * underscores and dashes; unknown columns are skipped. {@code imageUrls} holds {@code |}-separated
+ * URLs, the first one primary, and {@code attributes} holds {@code name=value} pairs separated
+ * by {@code |}. Rows are numbered by the line they start on.
+ */
+class CsvProductImportReader extends ProductImportReader {
+    private static final String IMAGE_URLS = "imageUrls";
+    private static final String ATTRIBUTES = "attributes";
+    private static final Map<String, String> COLUMNS = new HashMap<>();
+
+    static {
+        for (String property : List.of("sku", "name", "description", "shortDescription", "price",
+                "compareAtPrice", "stock", "lowStockThreshold", "barcode", "trackQuantity", "allowBackorder",
+                "weight", "weightUnit", "status", "featured", "published", "metaTitle", "metaDescription",
+                "tags", "categoryId", "category", "brandId", "brand", IMAGE_URLS, ATTRIBUTES)) {
+            COLUMNS.put(normalize(property), property);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber = 1;
+    private boolean unterminatedQuote;
+
+    CsvProductImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        super(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            header = names.stream().map(name -> COLUMNS.get(normalize(name))).toList();
+        }
+
+        List<String> fields;
+        long rowNumber;
+        do {
+            rowNumber = lineNumber;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        if (unterminatedQuote) {
+            return ProductImportRow.unparseable(rowNumber, "Unterminated quoted field");
+        }
+        try {
+            ProductImportRow row = objectMapper.convertValue(toValues(fields), ProductImportRow.class);
+            row.setRowNumber(rowNumber);
+            return row;
+        } catch (IllegalArgumentException e) {
+            return ProductImportRow.unparseable(rowNumber, "Invalid value: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toValues(List<String> fields) {
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < Math.min(fields.size(), header.size()); i++) {
+            String property = header.get(i);
+            String value = fields.get(i).trim();
+            if (property == null || value.isEmpty()) {
+                continue;
+            }
+            if (IMAGE_URLS.equals(property)) {
+                values.put("images", toImages(value));
+            } else if (ATTRIBUTES.equals(property)) {
+                values.put(ATTRIBUTES, toAttributes(value));
+            } else {
+                values.put(property, value);
+            }
+        }
+        return values;
+    }
+
+    private static List<Map<String, Object>> toImages(String value) {
+        List<Map<String, Object>> images = new ArrayList<>();
+        for (String url : value.split("\\|")) {
+            if (!url.isBlank()) {
+                images.add(Map.of("imageUrl", url.trim(), "displayOrder", images.size(), "isPrimary", images.isEmpty()));
+            }
+        }
+        return images;
+    }
+
+    private static List<Map<String, Object>> toAttributes(String value) {
+        List<Map<String, Object>> attributes = new ArrayList<>();
+        for (String pair : value.split("\\|")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("attribute '" + pair.trim() + "' is not a name=value pair");
+            }
+            attributes.add(Map.of("name", pair.substring(0, separator).trim(),
+                    "value", pair.substring(separator + 1).trim(),
+                    "displayOrder", attributes.size()));
+        }
+        return attributes;
+    }
+
+    /**
+     * Reads one record, which may span lines inside quoted fields. Returns null at end of input.
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        unterminatedQuote = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+        unterminatedQuote = quoted;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("[\\s_\\-\\uFEFF]", "").toLowerCase(Locale.ROOT);
+    }
+}
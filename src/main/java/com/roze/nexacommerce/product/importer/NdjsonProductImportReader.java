@@ -0,0 +1,43 @@
+package com.roze.nexacommerce.product.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line, shaped like {@link ProductImportRow}. Rows are numbered by line.
+ */
+class NdjsonProductImportReader extends ProductImportReader {
+    private final ObjectReader rowReader;
+    private long lineNumber;
+
+    NdjsonProductImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        super(reader);
+        this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                ProductImportRow row = rowReader.readValue(line);
+                if (row == null) {
+                    return ProductImportRow.unparseable(lineNumber, "Line is not a JSON object");
+                }
+                row.setRowNumber(lineNumber);
+                return row;
+            } catch (JsonProcessingException e) {
+                return ProductImportRow.unparseable(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.roze.nexacommerce.product.importer;
+
+import com.roze.nexacommerce.exception.ValidationException;
+import org.springframework.http.MediaType;
+
+public enum ProductImportFormat {
+    CSV(MediaType.valueOf("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    ProductImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ProductImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ProductImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new ValidationException("Product import expects text/csv or application/x-ndjson content");
+    }
+}
@@ -0,0 +1,167 @@
+package com.roze.nexacommerce.product.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based loading for product imports: a chunk is streamed through {@code COPY} into a
+ * transaction-scoped staging table, then merged into products, product_images and
+ * product_attributes by a single statement that also moves the category, brand and vendor
+ * counters. Hibernate is bypassed entirely, so nothing is loaded into the persistence context.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductImportLoader {
+
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE product_import_staging (" +
+            "row_number bigint, sku varchar(255), name varchar(255), description text, short_description text, " +
+            "price numeric(10,2), compare_at_price numeric(10,2), stock integer, low_stock_threshold integer, " +
+            "barcode varchar(255), track_quantity boolean, allow_backorder boolean, weight numeric(10,2), " +
+            "weight_unit varchar(20), status varchar(50), featured boolean, published boolean, " +
+            "meta_title varchar(255), meta_description text, tags text, category_id bigint, brand_id bigint, " +
+            "images jsonb, attributes jsonb) ON COMMIT DROP";
+
+    private static final String COPY_STAGING = "COPY product_import_staging (" +
+            "row_number, sku, name, description, short_description, price, compare_at_price, stock, " +
+            "low_stock_threshold, barcode, track_quantity, allow_backorder, weight, weight_unit, status, " +
+            "featured, published, meta_title, meta_description, tags, category_id, brand_id, images, attributes) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    // ON CONFLICT skips SKUs inserted by someone else since the bulk check; the caller reports them
+    private static final String MERGE = "WITH inserted AS (" +
+            "INSERT INTO products (vendor_id, category_id, brand_id, name, description, short_description, price, " +
+            "compare_at_price, stock, low_stock_threshold, sku, barcode, track_quantity, allow_backorder, weight, " +
+            "weight_unit, status, featured, published, meta_title, meta_description, tags, deleted, " +
+            "created_at, updated_at, created_by, modified_by, version) " +
+            "SELECT CAST(:vendorId AS bigint), s.category_id, s.brand_id, s.name, s.description, s.short_description, " +
+            "s.price, s.compare_at_price, s.stock, s.low_stock_threshold, s.sku, s.barcode, s.track_quantity, " +
+            "s.allow_backorder, s.weight, s.weight_unit, COALESCE(s.status, 'DRAFT'), s.featured, s.published, " +
+            "s.meta_title, s.meta_description, s.tags, false, now(), now(), :userId, :userId, 0 " +
+            "FROM product_import_staging s ORDER BY s.row_number " +
+            "ON CONFLICT (sku) DO NOTHING " +
+            "RETURNING id, sku, category_id, brand_id, status, published" +
+            "), images AS (" +
+            "INSERT INTO product_images (product_id, image_url, alt_text, display_order, is_primary, " +
+            "created_at, updated_at, created_by, modified_by, version) " +
+            "SELECT i.id, image.\"imageUrl\", image.\"altText\", image.\"displayOrder\", image.\"isPrimary\", " +
+            "now(), now(), :userId, :userId, 0 " +
+            "FROM inserted i JOIN product_import_staging s ON s.sku = i.sku " +
+            "CROSS JOIN LATERAL jsonb_to_recordset(s.images) " +
+            "AS image(\"imageUrl\" text, \"altText\" text, \"displayOrder\" integer, \"isPrimary\" boolean)" +
+            "), attributes AS (" +
+            "INSERT INTO product_attributes (product_id, name, value, display_type, display_order, " +
+            "created_at, updated_at, created_by, modified_by, version) " +
+            "SELECT i.id, attribute.name, attribute.value, attribute.\"displayType\", attribute.\"displayOrder\", " +
+            "now(), now(), :userId, :userId, 0 " +
+            "FROM inserted i JOIN product_import_staging s ON s.sku = i.sku " +
+            "CROSS JOIN LATERAL jsonb_to_recordset(s.attributes) " +
+            "AS attribute(name text, value text, \"displayType\" text, \"displayOrder\" integer)" +
+            "), category_counts AS (" +
+            "UPDATE categories c SET active_product_count = c.active_product_count + counted.total " +
+            "FROM (SELECT category_id, COUNT(*) AS total FROM inserted " +
+            "WHERE status = 'ACTIVE' AND published = true GROUP BY category_id) counted " +
+            "WHERE c.id = counted.category_id" +
+            "), brand_counts AS (" +
+            "UPDATE brands b SET active_product_count = b.active_product_count + counted.total " +
+            "FROM (SELECT brand_id, COUNT(*) AS total FROM inserted " +
+            "WHERE brand_id IS NOT NULL AND status = 'ACTIVE' AND published = true GROUP BY brand_id) counted " +
+            "WHERE b.id = counted.brand_id" +
+            "), vendor_count AS (" +
+            "UPDATE vendors v SET total_products = COALESCE(v.total_products, 0) + (SELECT COUNT(*) FROM inserted), " +
+            "version = COALESCE(v.version, 0) + 1 " +
+            "WHERE v.id = CAST(:vendorId AS bigint)" +
+            ") " +
+            "SELECT id, sku FROM inserted";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Loads the rows and returns the ids of the inserted products by SKU. A row missing from the
+     * result was not inserted because its SKU already existed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, Long> load(Collection<ProductImportRow> rows, Long vendorId, Long userId) {
+        String copyData = toCopyData(rows);
+        jdbcTemplate.getJdbcTemplate().execute(CREATE_STAGING);
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING, new StringReader(copyData));
+            } catch (IOException e) {
+                throw new SQLException("Could not stream import rows to the staging table", e);
+            }
+        });
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("vendorId", vendorId)
+                .addValue("userId", userId);
+        Map<String, Long> inserted = new HashMap<>();
+        jdbcTemplate.query(MERGE, parameters, resultSet -> {
+            inserted.put(resultSet.getString("sku"), resultSet.getLong("id"));
+        });
+        return inserted;
+    }
+
+    private String toCopyData(Collection<ProductImportRow> rows) {
+        StringBuilder data = new StringBuilder(rows.size() * 256);
+        for (ProductImportRow row : rows) {
+            List<Object> values = Arrays.asList(
+                    row.getRowNumber(), row.getSku(), row.getName(), row.getDescription(), row.getShortDescription(),
+                    row.getPrice(), row.getCompareAtPrice(), row.getStock(), row.getLowStockThreshold(),
+                    row.getBarcode(), row.getTrackQuantity(), row.getAllowBackorder(), row.getWeight(),
+                    row.getWeightUnit(), row.getStatus(), row.getFeatured(), row.getPublished(), row.getMetaTitle(),
+                    row.getMetaDescription(), row.getTags(), row.getCategoryId(), row.getBrandId(),
+                    toJson(row.getImages()), toJson(row.getAttributes()));
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    data.append(',');
+                }
+                appendField(data, values.get(i));
+            }
+            data.append('\n');
+        }
+        return data.toString();
+    }
+
+    private String toJson(List<?> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize import row collections", e);
+        }
+    }
+
+    /**
+     * CSV-format COPY reads an unquoted empty field as NULL and a quoted one as an empty string,
+     * so every present value is quoted.
+     */
+    private static void appendField(StringBuilder data, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        data.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
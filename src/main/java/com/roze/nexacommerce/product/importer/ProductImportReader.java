@@ -0,0 +1,41 @@
+package com.roze.nexacommerce.product.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads import rows one at a time straight off the request body, so an upload is never held
+ * in memory as a whole.
+ */
+public abstract class ProductImportReader implements Closeable {
+    protected final BufferedReader reader;
+
+    protected ProductImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public static ProductImportReader open(ProductImportFormat format, InputStream input, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (format == ProductImportFormat.CSV) {
+            return new CsvProductImportReader(reader, objectMapper);
+        }
+        return new NdjsonProductImportReader(reader, objectMapper);
+    }
+
+    /**
+     * The next row, or null once the input is exhausted. A row that cannot be parsed comes back
+     * with its parse error set instead of ending the import.
+     */
+    public abstract ProductImportRow next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
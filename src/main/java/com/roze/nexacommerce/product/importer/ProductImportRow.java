@@ -0,0 +1,106 @@
+package com.roze.nexacommerce.product.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.roze.nexacommerce.product.dto.request.ProductAttributeRequest;
+import com.roze.nexacommerce.product.dto.request.ProductImageRequest;
+import com.roze.nexacommerce.product.enums.ProductStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One product in an import upload. Categories and brands may be given by id or by slug;
+ * both are resolved against maps loaded once per import.
+ */
+@Data
+public class ProductImportRow {
+
+    @JsonIgnore
+    private long rowNumber;
+
+    // Set instead of the fields when the row could not be parsed at all
+    @JsonIgnore
+    private String parseError;
+
+    @NotBlank(message = "SKU is required")
+    @Size(max = 255, message = "SKU must be at most 255 characters")
+    private String sku;
+
+    @NotBlank(message = "Product name is required")
+    @Size(min = 2, max = 200, message = "Name must be between 2 and 200 characters")
+    private String name;
+
+    private String description;
+
+    private String shortDescription;
+
+    @NotNull(message = "Price is required")
+    @PositiveOrZero(message = "Price must be positive or zero")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 integer and 2 fraction digits")
+    private BigDecimal price;
+
+    @PositiveOrZero(message = "Compare-at price must be positive or zero")
+    @Digits(integer = 8, fraction = 2, message = "Compare-at price must have at most 8 integer and 2 fraction digits")
+    private BigDecimal compareAtPrice;
+
+    @NotNull(message = "Stock is required")
+    @PositiveOrZero(message = "Stock must be positive or zero")
+    private Integer stock;
+
+    private Integer lowStockThreshold;
+
+    @Size(max = 255, message = "Barcode must be at most 255 characters")
+    private String barcode;
+
+    private Boolean trackQuantity;
+
+    private Boolean allowBackorder;
+
+    @Digits(integer = 8, fraction = 2, message = "Weight must have at most 8 integer and 2 fraction digits")
+    private BigDecimal weight;
+
+    @Size(max = 20, message = "Weight unit must be at most 20 characters")
+    private String weightUnit;
+
+    private ProductStatus status;
+
+    private Boolean featured;
+
+    private Boolean published;
+
+    @Size(max = 255, message = "Meta title must be at most 255 characters")
+    private String metaTitle;
+
+    private String metaDescription;
+
+    private String tags;
+
+    private Long categoryId;
+
+    private String category;
+
+    private Long brandId;
+
+    private String brand;
+
+    @Valid
+    private List<ProductImageRequest> images = new ArrayList<>();
+
+    @Valid
+    private List<ProductAttributeRequest> attributes = new ArrayList<>();
+
+    public static ProductImportRow unparseable(long rowNumber, String parseError) {
+        ProductImportRow row = new ProductImportRow();
+        row.setRowNumber(rowNumber);
+        row.setParseError(parseError);
+        return row;
+    }
+}
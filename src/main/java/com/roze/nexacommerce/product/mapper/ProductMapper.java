@@ -1,5 +1,6 @@
 package com.roze.nexacommerce.product.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.product.dto.request.ProductAttributeRequest;
 import com.roze.nexacommerce.product.dto.request.ProductCreateRequest;
 import com.roze.nexacommerce.product.dto.request.ProductImageRequest;
@@ -12,102 +13,40 @@ import com.roze.nexacommerce.product.entity.Product;
 import com.roze.nexacommerce.product.entity.ProductAttribute;
 import com.roze.nexacommerce.product.entity.ProductImage;
 import com.roze.nexacommerce.vendor.entity.VendorProfile;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
-import java.util.List;
-import java.util.stream.Collectors;
+@Mapper(config = MappingConfig.class)
+public abstract class ProductMapper {
 
-@Component
-@RequiredArgsConstructor
-public class ProductMapper {
-    private final ModelMapper modelMapper;
+    // Images and attributes are mapped through toImageEntity and toAttributeEntity
+    public abstract Product toEntity(ProductCreateRequest request);
 
-    public Product toEntity(ProductCreateRequest request) {
-        Product product = modelMapper.map(request, Product.class);
+    @Mapping(target = "vendorId", source = "vendor.id")
+    @Mapping(target = "vendorName", source = "vendor.companyName")
+    @Mapping(target = "categoryId", source = "category.id")
+    @Mapping(target = "categoryName", source = "category.name")
+    @Mapping(target = "brandId", source = "brand.id")
+    @Mapping(target = "brandName", source = "brand.name")
+    @Mapping(target = "brandSlug", source = "brand.slug")
+    public abstract ProductResponse toResponse(Product product);
 
-        // Map images
-        if (request.getImages() != null) {
-            List<ProductImage> images = request.getImages().stream()
-                    .map(this::toImageEntity)
-                    .collect(Collectors.toList());
-            product.setImages(images);
-        }
+    // The id tells the image update apart from a new image
+    @Mapping(target = "id", source = "id")
+    public abstract ProductImage toImageEntity(ProductImageRequest request);
 
-        // Map attributes
-        if (request.getAttributes() != null) {
-            List<ProductAttribute> attributes = request.getAttributes().stream()
-                    .map(this::toAttributeEntity)
-                    .collect(Collectors.toList());
-            product.setAttributes(attributes);
-        }
+    public abstract ProductImageResponse toImageResponse(ProductImage image);
 
-        return product;
-    }
-
-    public ProductResponse toResponse(Product product) {
-        ProductResponse response = modelMapper.map(product, ProductResponse.class);
-
-        // Set vendor info
-        if (product.getVendor() != null) {
-            response.setVendorId(product.getVendor().getId());
-            response.setVendorName(product.getVendor().getCompanyName());
-        }
-
-        // Set category info
-        if (product.getCategory() != null) {
-            response.setCategoryId(product.getCategory().getId());
-            response.setCategoryName(product.getCategory().getName());
-        }
-        if (product.getBrand() != null) {
-            response.setBrandId(product.getBrand().getId());
-            response.setBrandName(product.getBrand().getName());
-            response.setBrandSlug(product.getBrand().getSlug());
-        }
-        // Map images
-        if (product.getImages() != null) {
-            List<ProductImageResponse> imageResponses = product.getImages().stream()
-                    .map(this::toImageResponse)
-                    .collect(Collectors.toList());
-            response.setImages(imageResponses);
-        }
-
-        // Map attributes
-        if (product.getAttributes() != null) {
-            List<ProductAttributeResponse> attributeResponses = product.getAttributes().stream()
-                    .map(this::toAttributeResponse)
-                    .collect(Collectors.toList());
-            response.setAttributes(attributeResponses);
-        }
-
-        // Set computed fields
-        response.setInStock(product.isInStock());
-        response.setLowStock(product.isLowStock());
-        response.setAvailable(product.isAvailable());
-
-        return response;
-    }
+    @Mapping(target = "id", source = "id")
+    public abstract ProductAttribute toAttributeEntity(ProductAttributeRequest request);
 
-    public ProductImage toImageEntity(ProductImageRequest request) {
-        return modelMapper.map(request, ProductImage.class);
-    }
-
-    public ProductImageResponse toImageResponse(ProductImage image) {
-        return modelMapper.map(image, ProductImageResponse.class);
-    }
-
-    public ProductAttribute toAttributeEntity(ProductAttributeRequest request) {
-        return modelMapper.map(request, ProductAttribute.class);
-    }
-
-    public ProductAttributeResponse toAttributeResponse(ProductAttribute attribute) {
-        return modelMapper.map(attribute, ProductAttributeResponse.class);
-    }
+    public abstract ProductAttributeResponse toAttributeResponse(ProductAttribute attribute);
 
-    public void updateEntity(ProductUpdateRequest request, Product product) {
-        modelMapper.map(request, product);
-    }
+    // Images and attributes are merged by the service, matching on their ids
+    @Mapping(target = "images", ignore = true)
+    @Mapping(target = "attributes", ignore = true)
+    public abstract void updateEntity(ProductUpdateRequest request, @MappingTarget Product product);
 
     public VendorInfo toVendorInfo(VendorProfile vendor) {
         return VendorInfo.builder()
@@ -118,4 +57,4 @@ public class ProductMapper {
                 .rating(vendor.getRatingAvg() != null ? vendor.getRatingAvg().doubleValue() : 0.0)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -2,28 +2,61 @@ package com.roze.nexacommerce.product.repository;
 
 import com.roze.nexacommerce.brand.entity.Brand;
 import com.roze.nexacommerce.category.entity.Category;
+import com.roze.nexacommerce.export.dto.ProductExportRow;
+import com.roze.nexacommerce.inventory.dto.ProductInventoryState;
+import com.roze.nexacommerce.product.bulk.ProductStockState;
+import com.roze.nexacommerce.product.dto.ProductVersion;
 import com.roze.nexacommerce.product.entity.Product;
 import com.roze.nexacommerce.product.enums.ProductStatus;
+import com.roze.nexacommerce.product.search.dto.FacetCountProjection;
+import com.roze.nexacommerce.product.search.dto.ProductSearchResultProjection;
+import com.roze.nexacommerce.product.search.index.ProductDocumentProjection;
+import com.roze.nexacommerce.product.search.suggest.ProductSuggestionProjection;
 import com.roze.nexacommerce.vendor.entity.VendorProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     Optional<Product> findBySku(String sku);
 
+    @Query("SELECT p.id AS id, p.version AS version, p.updatedAt AS updatedAt, " +
+            "c.version AS categoryVersion, c.updatedAt AS categoryUpdatedAt, b.version AS brandVersion, b.updatedAt AS brandUpdatedAt " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.brand b WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.version AS version, p.updatedAt AS updatedAt, " +
+            "c.version AS categoryVersion, c.updatedAt AS categoryUpdatedAt, b.version AS brandVersion, b.updatedAt AS brandUpdatedAt " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.brand b WHERE p.sku = :sku")
+    Optional<ProductVersion> findVersionBySku(@Param("sku") String sku);
+
+    @Override
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    Page<Product> findAll(Pageable pageable);
+
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    List<Product> findByIdIn(Collection<Long> ids);
+
     List<Product> findByVendor(VendorProfile vendor);
 
+    @EntityGraph(Product.SUMMARY_GRAPH)
     Page<Product> findByVendor(VendorProfile vendor, Pageable pageable);
 
     List<Product> findByCategory(Category category);
@@ -32,8 +65,10 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
     List<Product> findByStatus(ProductStatus status);
 
+    @EntityGraph(Product.SUMMARY_GRAPH)
     Page<Product> findByStatus(ProductStatus status, Pageable pageable);
 
+    @EntityGraph(Product.SUMMARY_GRAPH)
     List<Product> findByFeaturedTrueAndPublishedTrueAndStatus(ProductStatus status);
 
     List<Product> findByPublishedTrueAndStatus(ProductStatus status);
@@ -44,15 +79,30 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
     boolean existsBySkuAndIdNot(String sku, Long id);
 
+    // Native so soft-deleted products count too; the unique constraint on sku covers them
+    @Query(value = "SELECT p.sku FROM products p WHERE p.sku IN (:skus)", nativeQuery = true)
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    @Query("SELECT p.id AS id, p.sku AS sku, p.version AS version, p.stock AS stock FROM Product p " +
+            "WHERE p.id IN :ids OR p.sku IN :skus")
+    List<ProductStockState> findStockStates(@Param("ids") Collection<Long> ids, @Param("skus") Collection<String> skus);
+
+    @Query("SELECT p.id AS id, p.name AS name, p.stock AS stock, p.trackQuantity AS trackQuantity, " +
+            "p.allowBackorder AS allowBackorder FROM Product p WHERE p.id IN :ids")
+    List<ProductInventoryState> findInventoryStates(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT p FROM Product p WHERE p.vendor = :vendor AND p.published = true AND p.status = 'ACTIVE'")
     List<Product> findActiveProductsByVendor(VendorProfile vendor);
 
+    @EntityGraph(Product.SUMMARY_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.category = :category AND p.published = true AND p.status = 'ACTIVE'")
     Page<Product> findActiveProductsByCategory(Category category, Pageable pageable);
 
+    @EntityGraph(Product.SUMMARY_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.published = true AND p.status = 'ACTIVE'")
     Page<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
+    @EntityGraph(Product.SUMMARY_GRAPH)
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "AND p.published = true AND p.status = 'ACTIVE'")
@@ -61,6 +111,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @Query("SELECT COUNT(p) FROM Product p WHERE p.vendor = :vendor")
     Long countByVendor(VendorProfile vendor);
 
+    @EntityGraph(Product.SUMMARY_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.brand = :brand AND p.published = true AND p.status = 'ACTIVE'")
     Page<Product> findActiveProductsByBrand(Brand brand, Pageable pageable);
 
@@ -108,16 +159,182 @@ Page<Product> searchWithFilters(
         @Param("inStock") Boolean inStock,
         @Param("featured") Boolean featured,
         Pageable pageable);
-    @Query("SELECT p FROM Product p WHERE " +
-            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(p.sku) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-            "AND p.published = true AND p.status = 'ACTIVE' " +
-            "ORDER BY p.name ASC")
+    /**
+     * Trigram-backed autocomplete: substring match on name/sku plus fuzzy word similarity on name,
+     * best matches first, capped at :limit in SQL.
+     */
+    @Query(value = "SELECT p.* FROM products p WHERE " +
+            "p.deleted = false AND p.published = true AND p.status = 'ACTIVE' " +
+            "AND (p.name ILIKE '%' || :query || '%' " +
+            "OR p.sku ILIKE '%' || :query || '%' " +
+            "OR :query <% p.name) " +
+            "ORDER BY word_similarity(:query, p.name) DESC, p.name ASC " +
+            "LIMIT :limit",
+            nativeQuery = true)
     List<Product> searchProductsAutocomplete(@Param("query") String query, @Param("limit") int limit);
 
-    @Query("SELECT DISTINCT p.name FROM Product p WHERE " +
-            "LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "AND p.published = true AND p.status = 'ACTIVE' " +
-            "ORDER BY p.name ASC")
+    @Query(value = "SELECT p.name FROM products p WHERE " +
+            "p.deleted = false AND p.published = true AND p.status = 'ACTIVE' " +
+            "AND (p.name ILIKE '%' || :query || '%' OR :query <% p.name) " +
+            "GROUP BY p.name " +
+            "ORDER BY MAX(word_similarity(:query, p.name)) DESC, p.name ASC " +
+            "LIMIT :limit",
+            nativeQuery = true)
     List<String> findProductNameSuggestions(@Param("query") String query, @Param("limit") int limit);
-}
\ No newline at end of file
+
+    @Query("SELECT p.id AS id, p.name AS name, p.sku AS sku, p.shortDescription AS shortDescription, " +
+            "p.description AS description, c.id AS categoryId, c.name AS categoryName, b.id AS brandId, " +
+            "p.price AS price, p.stock AS stock, p.featured AS featured, p.createdAt AS createdAt " +
+            "FROM Product p JOIN p.category c LEFT JOIN p.brand b " +
+            "WHERE p.published = true AND p.status = 'ACTIVE'")
+    List<ProductDocumentProjection> findSearchDocuments();
+
+    @Query("SELECT p.id AS id, p.name AS name, p.sku AS sku, p.shortDescription AS shortDescription, " +
+            "p.description AS description, c.id AS categoryId, c.name AS categoryName, b.id AS brandId, " +
+            "p.price AS price, p.stock AS stock, p.featured AS featured, p.createdAt AS createdAt " +
+            "FROM Product p JOIN p.category c LEFT JOIN p.brand b " +
+            "WHERE p.id IN :ids AND p.published = true AND p.status = 'ACTIVE'")
+    List<ProductDocumentProjection> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Only the columns the suggestion tries use; descriptions stay out of the frequent rebuilds
+    @Query("SELECT p.id AS id, p.name AS name, p.category.id AS categoryId, p.brand.id AS brandId " +
+            "FROM Product p WHERE p.published = true AND p.status = 'ACTIVE'")
+    List<ProductSuggestionProjection> findSuggestionSources();
+
+    // Forward-only cursor for exports; must be consumed inside a transaction for the fetch size to apply
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id AS id, p.sku AS sku, p.name AS name, c.name AS categoryName, b.name AS brandName, " +
+            "v.companyName AS vendorName, p.price AS price, p.compareAtPrice AS compareAtPrice, p.stock AS stock, " +
+            "p.status AS status, p.featured AS featured, p.published AS published, " +
+            "p.createdAt AS createdAt, p.updatedAt AS updatedAt " +
+            "FROM Product p JOIN p.category c LEFT JOIN p.brand b LEFT JOIN p.vendor v " +
+            "WHERE (:status IS NULL OR p.status = :status) " +
+            "ORDER BY p.id")
+    Stream<ProductExportRow> streamExportRows(@Param("status") ProductStatus status);
+
+    String SEARCH_FILTER_CONDITIONS = "AND p.deleted = false AND p.published = true AND p.status = 'ACTIVE' " +
+            "AND (:filterCategories = false OR p.category_id IN (:categories)) " +
+            "AND (:filterBrands = false OR p.brand_id IN (:brands)) " +
+            "AND (CAST(:minPrice AS numeric) IS NULL OR p.price >= CAST(:minPrice AS numeric)) " +
+            "AND (CAST(:maxPrice AS numeric) IS NULL OR p.price <= CAST(:maxPrice AS numeric)) " +
+            "AND (CAST(:inStock AS boolean) IS NULL OR (CAST(:inStock AS boolean) = true AND p.stock > 0) " +
+            "OR (CAST(:inStock AS boolean) = false AND p.stock <= 0)) " +
+            "AND (CAST(:featured AS boolean) IS NULL OR p.featured = CAST(:featured AS boolean)) ";
+
+    String TEXT_SEARCH_CONDITIONS = "FROM products p JOIN categories c ON c.id = p.category_id " +
+            "WHERE (LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
+            "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')) " +
+            "OR LOWER(p.short_description) LIKE LOWER(CONCAT('%', :query, '%')) " +
+            "OR LOWER(p.sku) LIKE LOWER(CONCAT('%', :query, '%')) " +
+            "OR LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+            SEARCH_FILTER_CONDITIONS;
+
+    String FULL_TEXT_SEARCH_CONDITIONS = "FROM products p, to_tsquery('simple', :tsQuery) q " +
+            "WHERE p.search_vector @@ q " +
+            SEARCH_FILTER_CONDITIONS;
+
+    // One pass over the filtered rows: a row per category, a row per brand and a grand total with the price range
+    String FACET_SELECT = "SELECT CASE WHEN GROUPING(p.category_id) = 0 THEN 'CATEGORY' " +
+            "WHEN GROUPING(p.brand_id) = 0 THEN 'BRAND' ELSE 'TOTAL' END AS \"facet\", " +
+            "CASE WHEN GROUPING(p.category_id) = 0 THEN p.category_id ELSE p.brand_id END AS \"facetId\", " +
+            "COUNT(*) AS \"productCount\", MIN(p.price) AS \"minPrice\", MAX(p.price) AS \"maxPrice\" ";
+
+    String FACET_GROUPING = "GROUP BY GROUPING SETS ((p.category_id), (p.brand_id), ())";
+
+    /**
+     * Full-text variant of {@link #searchWithFilters} backed by the GIN index on search_vector.
+     * The sort key is resolved in SQL; anything other than price/newest/name ranks by ts_rank_cd.
+     */
+    @Query(value = "SELECT p.* " + FULL_TEXT_SEARCH_CONDITIONS +
+            "ORDER BY " +
+            "CASE WHEN :sortBy = 'price_asc' THEN p.price END ASC, " +
+            "CASE WHEN :sortBy = 'price_desc' THEN p.price END DESC, " +
+            "CASE WHEN :sortBy = 'newest' THEN p.created_at END DESC, " +
+            "CASE WHEN :sortBy = 'name' THEN p.name END ASC, " +
+            "ts_rank_cd(p.search_vector, q) DESC, p.name ASC",
+            countQuery = "SELECT COUNT(*) " + FULL_TEXT_SEARCH_CONDITIONS,
+            nativeQuery = true)
+    Page<Product> searchWithFullText(
+            @Param("tsQuery") String tsQuery,
+            @Param("filterCategories") boolean filterCategories,
+            @Param("categories") List<Long> categories,
+            @Param("filterBrands") boolean filterBrands,
+            @Param("brands") List<Long> brands,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("inStock") Boolean inStock,
+            @Param("featured") Boolean featured,
+            @Param("sortBy") String sortBy,
+            Pageable pageable);
+
+    /**
+     * Facet counts and price range over the whole result set of {@link #searchWithFilters}.
+     */
+    @Query(value = FACET_SELECT + TEXT_SEARCH_CONDITIONS + FACET_GROUPING, nativeQuery = true)
+    List<FacetCountProjection> countSearchFacets(
+            @Param("query") String query,
+            @Param("filterCategories") boolean filterCategories,
+            @Param("categories") List<Long> categories,
+            @Param("filterBrands") boolean filterBrands,
+            @Param("brands") List<Long> brands,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("inStock") Boolean inStock,
+            @Param("featured") Boolean featured);
+
+    /**
+     * Facet counts and price range over the whole result set of {@link #searchWithFullText}.
+     */
+    @Query(value = FACET_SELECT + FULL_TEXT_SEARCH_CONDITIONS + FACET_GROUPING, nativeQuery = true)
+    List<FacetCountProjection> countFullTextSearchFacets(
+            @Param("tsQuery") String tsQuery,
+            @Param("filterCategories") boolean filterCategories,
+            @Param("categories") List<Long> categories,
+            @Param("filterBrands") boolean filterBrands,
+            @Param("brands") List<Long> brands,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("inStock") Boolean inStock,
+            @Param("featured") Boolean featured);
+
+    /**
+     * Hydrates a result page in one round trip with exactly the columns a search result shows.
+     * The image is the primary one, falling back to the first by display order.
+     */
+    @Query(value = "SELECT p.id AS \"id\", p.name AS \"name\", p.sku AS \"sku\", " +
+            "p.description AS \"description\", p.short_description AS \"shortDescription\", " +
+            "p.price AS \"price\", p.compare_at_price AS \"compareAtPrice\", " +
+            "(SELECT pi.image_url FROM product_images pi WHERE pi.product_id = p.id " +
+            "ORDER BY COALESCE(pi.is_primary, false) DESC, pi.display_order NULLS LAST, pi.id LIMIT 1) AS \"imageUrl\", " +
+            "c.name AS \"categoryName\", b.name AS \"brandName\", v.company_name AS \"vendorName\", " +
+            "p.stock > 0 AS \"inStock\" " +
+            "FROM products p " +
+            "LEFT JOIN categories c ON c.id = p.category_id " +
+            "LEFT JOIN brands b ON b.id = p.brand_id " +
+            "LEFT JOIN vendors v ON v.id = p.vendor_id " +
+            "WHERE p.id IN (:ids) AND p.deleted = false",
+            nativeQuery = true)
+    List<ProductSearchResultProjection> findSearchResultsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Takes stock in one statement that only matches while enough is left, so concurrent checkouts
+     * cannot oversell and never conflict on the version. Returns 0 when the product is missing or
+     * short. The version still moves, so an edit made from an older read cannot write back the
+     * old stock.
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET stock = stock - :quantity, version = version + 1, updated_at = now() " +
+            "WHERE id = :id AND deleted = false AND (stock >= :quantity OR :allowBackorder = true)",
+            nativeQuery = true)
+    int decrementStock(@Param("id") Long id, @Param("quantity") Integer quantity,
+                       @Param("allowBackorder") boolean allowBackorder);
+
+    @Modifying
+    @Query(value = "UPDATE products SET stock = stock + :quantity, version = version + 1, updated_at = now() " +
+            "WHERE id = :id",
+            nativeQuery = true)
+    int restoreStock(@Param("id") Long id, @Param("quantity") Integer quantity);
+}
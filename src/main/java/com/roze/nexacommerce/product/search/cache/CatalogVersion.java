@@ -0,0 +1,75 @@
+package com.roze.nexacommerce.product.search.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the catalog that search results were computed against. Caches put it in their
+ * keys, so bumping it orphans every older entry at once. Bumps are shared through a Redis
+ * counter; each node turns any change it observes in that counter into a local bump, which
+ * keeps working even if the shared counter is reset.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogVersion {
+    private static final String KEY = "catalog:version";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AtomicLong version = new AtomicLong();
+    private volatile String lastSeenShared;
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Bumps the version once the surrounding transaction commits; bumping earlier would let a
+     * concurrent search cache pre-commit results under the new version.
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.search.result-cache.version-poll-millis:2000}")
+    public void pollSharedVersion() {
+        try {
+            String shared = redisTemplate.opsForValue().get(KEY);
+            if (shared != null && !shared.equals(lastSeenShared)) {
+                if (lastSeenShared != null) {
+                    version.incrementAndGet();
+                }
+                lastSeenShared = shared;
+            }
+        } catch (Exception e) {
+            log.debug("Could not poll shared catalog version: {}", e.getMessage());
+        }
+    }
+
+    private void increment() {
+        version.incrementAndGet();
+        try {
+            Long shared = redisTemplate.opsForValue().increment(KEY);
+            lastSeenShared = Objects.toString(shared, null);
+        } catch (Exception e) {
+            log.warn("Could not publish catalog version bump: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.roze.nexacommerce.product.search.cache;
+
+import com.roze.nexacommerce.product.search.dto.SearchRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Cache key for one page of search results. Equivalent requests normalize to the same key:
+ * the query is trimmed and lower-cased (every search path matches case-insensitively), id
+ * filters are sorted and de-duplicated and prices lose trailing zeros.
+ */
+@Data
+@AllArgsConstructor
+public class SearchResultKey {
+    private long catalogVersion;
+    private String query;
+    private List<Long> categories;
+    private List<Long> brands;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean inStock;
+    private Boolean featured;
+    private String sortBy;
+    private int page;
+    private int size;
+
+    public static SearchResultKey of(long catalogVersion, SearchRequest request, Pageable pageable) {
+        return of(catalogVersion, request, request.getSortBy() != null ? request.getSortBy() : "relevance",
+                pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * Facets do not depend on sort or page, so every page of a query shares one facet entry.
+     */
+    public static SearchResultKey forFacets(long catalogVersion, SearchRequest request) {
+        return of(catalogVersion, request, null, -1, 0);
+    }
+
+    private static SearchResultKey of(long catalogVersion, SearchRequest request, String sortBy, int page, int size) {
+        return new SearchResultKey(
+                catalogVersion,
+                request.getQuery() != null ? request.getQuery().trim().toLowerCase(Locale.ROOT) : "",
+                normalizeIds(request.getCategories()),
+                normalizeIds(request.getBrands()),
+                normalizePrice(request.getMinPrice()),
+                normalizePrice(request.getMaxPrice()),
+                request.getInStock(),
+                request.getFeatured(),
+                sortBy,
+                page,
+                size);
+    }
+
+    private static List<Long> normalizeIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return ids.stream().distinct().sorted().collect(Collectors.toList());
+    }
+
+    private static BigDecimal normalizePrice(BigDecimal price) {
+        return price != null ? price.stripTrailingZeros() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.roze.nexacommerce.product.search.cache;
+
+import com.roze.nexacommerce.product.search.index.ProductFacetCounts;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ids of one result page and the total hit count, or - for a facet entry - the facet counts.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultPage {
+    private List<Long> productIds;
+    private long totalHits;
+    private ProductFacetCounts facets;
+}
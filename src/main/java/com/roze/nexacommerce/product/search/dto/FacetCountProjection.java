@@ -0,0 +1,11 @@
+package com.roze.nexacommerce.product.search.dto;
+
+import java.math.BigDecimal;
+
+public interface FacetCountProjection {
+    String getFacet();
+    Long getFacetId();
+    Long getProductCount();
+    BigDecimal getMinPrice();
+    BigDecimal getMaxPrice();
+}
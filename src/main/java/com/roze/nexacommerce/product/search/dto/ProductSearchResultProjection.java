@@ -0,0 +1,18 @@
+package com.roze.nexacommerce.product.search.dto;
+
+import java.math.BigDecimal;
+
+public interface ProductSearchResultProjection {
+    Long getId();
+    String getName();
+    String getSku();
+    String getDescription();
+    String getShortDescription();
+    BigDecimal getPrice();
+    BigDecimal getCompareAtPrice();
+    String getImageUrl();
+    String getCategoryName();
+    String getBrandName();
+    String getVendorName();
+    Boolean getInStock();
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -19,4 +20,6 @@ public class SearchResult {
     private SearchFilters availableFilters;
     private Long totalResults;
     private Long searchTime;
+    private Map<String, Long> searchTimeBreakdown; // milliseconds per branch: products, categories, brands, facets
+    private List<String> degradedBranches; // branches that timed out or failed and were left empty
 }
\ No newline at end of file
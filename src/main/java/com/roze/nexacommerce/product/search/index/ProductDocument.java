@@ -0,0 +1,31 @@
+package com.roze.nexacommerce.product.search.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, detached copy of the product columns the search index needs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDocument {
+    private Long id;
+    private String name;
+    private String sku;
+    private String shortDescription;
+    private String description;
+    private Long categoryId;
+    private String categoryName;
+    private Long brandId;
+    private BigDecimal price;
+    private Integer stock;
+    private Boolean featured;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.roze.nexacommerce.product.search.index;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ProductDocumentProjection {
+    Long getId();
+    String getName();
+    String getSku();
+    String getShortDescription();
+    String getDescription();
+    Long getCategoryId();
+    String getCategoryName();
+    Long getBrandId();
+    BigDecimal getPrice();
+    Integer getStock();
+    Boolean getFeatured();
+    LocalDateTime getCreatedAt();
+}
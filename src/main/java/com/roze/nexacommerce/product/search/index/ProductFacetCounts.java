@@ -0,0 +1,27 @@
+package com.roze.nexacommerce.product.search.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Category/brand counts and price range over a complete result set, independent of paging.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetCounts {
+    @Builder.Default
+    private Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+    @Builder.Default
+    private Map<Long, Long> brandCounts = new LinkedHashMap<>();
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private long totalCount;
+}
@@ -0,0 +1,17 @@
+package com.roze.nexacommerce.product.search.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchHits {
+    private List<Long> productIds;
+    private long totalHits;
+}
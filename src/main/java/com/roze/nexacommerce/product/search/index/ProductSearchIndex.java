@@ -0,0 +1,578 @@
+package com.roze.nexacommerce.product.search.index;
+
+import com.roze.nexacommerce.config.SearchProperties;
+import com.roze.nexacommerce.product.search.dto.SearchRequest;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over published, ACTIVE products.
+ * Text queries are answered from term postings and ranked with BM25, filters are answered
+ * from compressed per-category/brand/flag/price-bucket bitmaps over dense document ordinals,
+ * and facet counts are cardinalities of bitmap intersections. Only product ids are returned;
+ * callers hydrate the page they need.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+    // Field weights applied to term frequencies, mirroring the columns the JPQL search scans
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float SKU_WEIGHT = 2.5f;
+    private static final float SHORT_DESCRIPTION_WEIGHT = 1.5f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // A query token that only matches as a prefix ("lap" -> "laptop") scores below an exact term
+    private static final double PREFIX_MATCH_BOOST = 0.7;
+
+    // Lower bounds of the price buckets (1-2-5 series); the first bucket also takes anything below its bound
+    private static final BigDecimal[] PRICE_BUCKET_BOUNDS = {
+            new BigDecimal("0"), new BigDecimal("10"), new BigDecimal("20"), new BigDecimal("50"),
+            new BigDecimal("100"), new BigDecimal("200"), new BigDecimal("500"),
+            new BigDecimal("1000"), new BigDecimal("2000"), new BigDecimal("5000"),
+            new BigDecimal("10000"), new BigDecimal("20000"), new BigDecimal("50000"),
+            new BigDecimal("100000"), new BigDecimal("200000"), new BigDecimal("500000"),
+            new BigDecimal("1000000")
+    };
+
+    private final SearchProperties searchProperties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexState state = new IndexState();
+    private Map<Long, ProductDocument> pendingChanges;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether reads should be answered from the index rather than the database.
+     */
+    public boolean isServing() {
+        return searchProperties.getIndex().isEnabled() && ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ProductSearchHits search(SearchRequest request, Pageable pageable) {
+        List<String> queryTokens = queryTokens(request);
+
+        lock.readLock().lock();
+        try {
+            IndexState current = state;
+            RoaringBitmap candidates = current.filter(request);
+            Map<Integer, Double> scores = score(current, queryTokens, candidates);
+            RoaringBitmap matched = queryTokens.isEmpty() ? candidates : bitmapOf(scores.keySet());
+
+            // Ties fall back to the ordinal, so a page holds the same products however they were collected
+            Comparator<Integer> order = current.comparator(request.getSortBy(), scores)
+                    .thenComparing(Comparator.<Integer>naturalOrder());
+            int totalHits = matched.getCardinality();
+            int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), totalHits);
+
+            // Only the matches up to the end of the page are kept; the worst of them sits at the head
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(limit, 1), order.reversed());
+            for (IntIterator iterator = matched.getIntIterator(); iterator.hasNext(); ) {
+                int ordinal = iterator.next();
+                if (top.size() < limit) {
+                    top.add(ordinal);
+                } else if (limit > 0 && order.compare(ordinal, top.peek()) < 0) {
+                    top.poll();
+                    top.add(ordinal);
+                }
+            }
+            List<Integer> matches = new ArrayList<>(top);
+            matches.sort(order);
+
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            List<Long> productIds = new ArrayList<>(matches.size() - from);
+            for (int ordinal : matches.subList(from, matches.size())) {
+                productIds.add(current.entries.get(ordinal).document.getId());
+            }
+
+            return ProductSearchHits.builder()
+                    .productIds(productIds)
+                    .totalHits(totalHits)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts over every product the request matches. Nothing is sorted or paged, so this
+     * is cheaper than {@link #search} and independent of the requested page.
+     */
+    public ProductFacetCounts facets(SearchRequest request) {
+        List<String> queryTokens = queryTokens(request);
+
+        lock.readLock().lock();
+        try {
+            IndexState current = state;
+            RoaringBitmap candidates = current.filter(request);
+            RoaringBitmap matched = queryTokens.isEmpty()
+                    ? candidates
+                    : bitmapOf(score(current, queryTokens, candidates).keySet());
+            return current.facets(matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void upsert(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            state.upsert(document);
+            if (pendingChanges != null) {
+                pendingChanges.put(document.getId(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(productId);
+            if (pendingChanges != null) {
+                pendingChanges.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts recording incremental changes so they can be replayed on top of the snapshot
+     * that is about to be loaded.
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a fresh index from the given snapshot off-lock, then swaps it in after replaying
+     * any changes that happened while the snapshot was being loaded.
+     */
+    public void finishRebuild(List<ProductDocument> documents) {
+        IndexState rebuilt = new IndexState();
+        documents.forEach(rebuilt::upsert);
+        rebuilt.optimize();
+
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.forEach((productId, document) -> {
+                    if (document == null) {
+                        rebuilt.remove(productId);
+                    } else {
+                        rebuilt.upsert(document);
+                    }
+                });
+            }
+            pendingChanges = null;
+            state = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void cancelRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<String> queryTokens(SearchRequest request) {
+        return new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(request.getQuery())));
+    }
+
+    private Map<Integer, Double> score(IndexState current, List<String> queryTokens, RoaringBitmap candidates) {
+        if (queryTokens.isEmpty()) {
+            return Map.of();
+        }
+        return current.score(queryTokens, candidates, searchProperties.getIndex().getK1(), searchProperties.getIndex().getB());
+    }
+
+    private static RoaringBitmap bitmapOf(Collection<Integer> ordinals) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        ordinals.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static final class Entry {
+        private final ProductDocument document;
+        private final Map<String, Float> termFrequencies;
+        private final float length;
+
+        private Entry(ProductDocument document, Map<String, Float> termFrequencies, float length) {
+            this.document = document;
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+    }
+
+    private static final class IndexState {
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+        // Ordinals of removed entries, handed out again so updates do not grow entries between rebuilds
+        private final RoaringBitmap freeOrdinals = new RoaringBitmap();
+        private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+        private final Map<Long, RoaringBitmap> categoryPostings = new HashMap<>();
+        private final Map<Long, RoaringBitmap> brandPostings = new HashMap<>();
+        private final RoaringBitmap featuredPostings = new RoaringBitmap();
+        private final RoaringBitmap inStockPostings = new RoaringBitmap();
+        private final RoaringBitmap[] priceBuckets = new RoaringBitmap[PRICE_BUCKET_BOUNDS.length];
+        private double totalLength;
+
+        private IndexState() {
+            for (int bucket = 0; bucket < priceBuckets.length; bucket++) {
+                priceBuckets[bucket] = new RoaringBitmap();
+            }
+        }
+
+        private void upsert(ProductDocument document) {
+            remove(document.getId());
+
+            Map<String, Float> termFrequencies = new HashMap<>();
+            addField(termFrequencies, document.getName(), NAME_WEIGHT);
+            addField(termFrequencies, document.getSku(), SKU_WEIGHT);
+            addField(termFrequencies, document.getShortDescription(), SHORT_DESCRIPTION_WEIGHT);
+            addField(termFrequencies, document.getCategoryName(), CATEGORY_WEIGHT);
+            addField(termFrequencies, document.getDescription(), DESCRIPTION_WEIGHT);
+            float length = 0;
+            for (float frequency : termFrequencies.values()) {
+                length += frequency;
+            }
+
+            int ordinal = allocate(new Entry(document, termFrequencies, length));
+            ordinals.put(document.getId(), ordinal);
+            live.add(ordinal);
+            totalLength += length;
+
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(ordinal, frequency));
+            if (document.getCategoryId() != null) {
+                categoryPostings.computeIfAbsent(document.getCategoryId(), key -> new RoaringBitmap()).add(ordinal);
+            }
+            if (document.getBrandId() != null) {
+                brandPostings.computeIfAbsent(document.getBrandId(), key -> new RoaringBitmap()).add(ordinal);
+            }
+            if (Boolean.TRUE.equals(document.getFeatured())) {
+                featuredPostings.add(ordinal);
+            }
+            if (document.getStock() != null && document.getStock() > 0) {
+                inStockPostings.add(ordinal);
+            }
+            if (document.getPrice() != null) {
+                priceBuckets[priceBucket(document.getPrice())].add(ordinal);
+            }
+        }
+
+        private void remove(Long productId) {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+
+            Entry entry = entries.set(ordinal, null);
+            live.remove(ordinal);
+            freeOrdinals.add(ordinal);
+            totalLength -= entry.length;
+
+            for (String term : entry.termFrequencies.keySet()) {
+                Map<Integer, Float> posting = postings.get(term);
+                posting.remove(ordinal);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            clearPosting(categoryPostings, entry.document.getCategoryId(), ordinal);
+            clearPosting(brandPostings, entry.document.getBrandId(), ordinal);
+            featuredPostings.remove(ordinal);
+            inStockPostings.remove(ordinal);
+            if (entry.document.getPrice() != null) {
+                priceBuckets[priceBucket(entry.document.getPrice())].remove(ordinal);
+            }
+        }
+
+        private int allocate(Entry entry) {
+            if (freeOrdinals.isEmpty()) {
+                entries.add(entry);
+                return entries.size() - 1;
+            }
+            int ordinal = freeOrdinals.first();
+            freeOrdinals.remove(ordinal);
+            entries.set(ordinal, entry);
+            return ordinal;
+        }
+
+        /**
+         * Compresses runs of consecutive ordinals; a freshly loaded snapshot is mostly runs.
+         */
+        private void optimize() {
+            live.runOptimize();
+            categoryPostings.values().forEach(RoaringBitmap::runOptimize);
+            brandPostings.values().forEach(RoaringBitmap::runOptimize);
+            featuredPostings.runOptimize();
+            inStockPostings.runOptimize();
+            for (RoaringBitmap bucket : priceBuckets) {
+                bucket.runOptimize();
+            }
+        }
+
+        private RoaringBitmap filter(SearchRequest request) {
+            RoaringBitmap candidates = live.clone();
+            if (request.getCategories() != null && !request.getCategories().isEmpty()) {
+                candidates.and(union(categoryPostings, request.getCategories()));
+            }
+            if (request.getBrands() != null && !request.getBrands().isEmpty()) {
+                candidates.and(union(brandPostings, request.getBrands()));
+            }
+            if (request.getFeatured() != null) {
+                if (request.getFeatured()) {
+                    candidates.and(featuredPostings);
+                } else {
+                    candidates.andNot(featuredPostings);
+                }
+            }
+            if (request.getInStock() != null) {
+                if (request.getInStock()) {
+                    candidates.and(inStockPostings);
+                } else {
+                    candidates.andNot(inStockPostings);
+                }
+            }
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                candidates = withinPrice(candidates, request.getMinPrice(), request.getMaxPrice());
+            }
+            return candidates;
+        }
+
+        /**
+         * Buckets that lie wholly inside the range are taken as-is; only the boundary buckets
+         * look at individual prices.
+         */
+        private RoaringBitmap withinPrice(RoaringBitmap candidates, BigDecimal minPrice, BigDecimal maxPrice) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (int bucket = 0; bucket < priceBuckets.length; bucket++) {
+                BigDecimal lower = bucket == 0 ? null : PRICE_BUCKET_BOUNDS[bucket];
+                BigDecimal upper = bucket + 1 < PRICE_BUCKET_BOUNDS.length ? PRICE_BUCKET_BOUNDS[bucket + 1] : null;
+                if ((maxPrice != null && lower != null && lower.compareTo(maxPrice) > 0)
+                        || (minPrice != null && upper != null && upper.compareTo(minPrice) <= 0)) {
+                    continue;
+                }
+
+                RoaringBitmap inBucket = RoaringBitmap.and(priceBuckets[bucket], candidates);
+                boolean coversMin = minPrice == null || (lower != null && lower.compareTo(minPrice) >= 0);
+                boolean coversMax = maxPrice == null || (upper != null && upper.compareTo(maxPrice) <= 0);
+                if (coversMin && coversMax) {
+                    result.or(inBucket);
+                } else {
+                    for (IntIterator iterator = inBucket.getIntIterator(); iterator.hasNext(); ) {
+                        int ordinal = iterator.next();
+                        if (matchesPrice(ordinal, minPrice, maxPrice)) {
+                            result.add(ordinal);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Scores candidates with BM25. Every query token has to match (as a term or a term prefix),
+         * which keeps the AND semantics of the LIKE-based search.
+         */
+        private Map<Integer, Double> score(List<String> queryTokens, RoaringBitmap candidates, double k1, double b) {
+            int documentCount = live.getCardinality();
+            if (documentCount == 0) {
+                return Map.of();
+            }
+            double averageLength = totalLength / documentCount;
+
+            Map<Integer, Double> scores = null;
+            for (String token : queryTokens) {
+                Map<Integer, Double> tokenScores = new HashMap<>();
+                for (Map.Entry<String, Map<Integer, Float>> term
+                        : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                    Map<Integer, Float> posting = term.getValue();
+                    double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    double boost = term.getKey().equals(token) ? 1.0 : PREFIX_MATCH_BOOST;
+
+                    for (Map.Entry<Integer, Float> hit : posting.entrySet()) {
+                        int ordinal = hit.getKey();
+                        if (!candidates.contains(ordinal) || (scores != null && !scores.containsKey(ordinal))) {
+                            continue;
+                        }
+                        double frequency = hit.getValue();
+                        double norm = k1 * (1 - b + b * entries.get(ordinal).length / averageLength);
+                        double score = boost * idf * frequency * (k1 + 1) / (frequency + norm);
+                        tokenScores.merge(ordinal, score, Math::max);
+                    }
+                }
+
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((ordinal, score) -> score + tokenScores.get(ordinal));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores;
+        }
+
+        private boolean matchesPrice(int ordinal, BigDecimal minPrice, BigDecimal maxPrice) {
+            BigDecimal price = entries.get(ordinal).document.getPrice();
+            if (minPrice != null && (price == null || price.compareTo(minPrice) < 0)) {
+                return false;
+            }
+            return maxPrice == null || (price != null && price.compareTo(maxPrice) <= 0);
+        }
+
+        /**
+         * Category/brand counts and price range over every match, not just the returned page.
+         */
+        private ProductFacetCounts facets(RoaringBitmap matches) {
+            ProductFacetCounts facets = ProductFacetCounts.builder()
+                    .totalCount(matches.getCardinality())
+                    .build();
+            if (matches.isEmpty()) {
+                return facets;
+            }
+
+            categoryPostings.forEach((categoryId, bitmap) -> {
+                int count = RoaringBitmap.andCardinality(bitmap, matches);
+                if (count > 0) {
+                    facets.getCategoryCounts().put(categoryId, (long) count);
+                }
+            });
+            brandPostings.forEach((brandId, bitmap) -> {
+                int count = RoaringBitmap.andCardinality(bitmap, matches);
+                if (count > 0) {
+                    facets.getBrandCounts().put(brandId, (long) count);
+                }
+            });
+
+            // The extreme prices sit in the lowest and highest non-empty buckets
+            for (int bucket = 0; bucket < priceBuckets.length && facets.getMinPrice() == null; bucket++) {
+                facets.setMinPrice(extremePrice(RoaringBitmap.and(priceBuckets[bucket], matches), false));
+            }
+            for (int bucket = priceBuckets.length - 1; bucket >= 0 && facets.getMaxPrice() == null; bucket--) {
+                facets.setMaxPrice(extremePrice(RoaringBitmap.and(priceBuckets[bucket], matches), true));
+            }
+            return facets;
+        }
+
+        private BigDecimal extremePrice(RoaringBitmap ordinals, boolean highest) {
+            BigDecimal extreme = null;
+            for (IntIterator iterator = ordinals.getIntIterator(); iterator.hasNext(); ) {
+                BigDecimal price = entries.get(iterator.next()).document.getPrice();
+                if (extreme == null || (highest ? price.compareTo(extreme) > 0 : price.compareTo(extreme) < 0)) {
+                    extreme = price;
+                }
+            }
+            return extreme;
+        }
+
+        private Comparator<Integer> comparator(String sortBy, Map<Integer, Double> scores) {
+            Comparator<Integer> byName = Comparator.comparing(
+                    ordinal -> entries.get(ordinal).document.getName(),
+                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+            Comparator<Integer> byPrice = Comparator.comparing(
+                    ordinal -> entries.get(ordinal).document.getPrice(),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            Comparator<Integer> byPriceDescending = Comparator.comparing(
+                    ordinal -> entries.get(ordinal).document.getPrice(),
+                    Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder()));
+            Comparator<Integer> byCreatedAt = Comparator.comparing(
+                    ordinal -> entries.get(ordinal).document.getCreatedAt(),
+                    Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+
+            switch (sortBy != null ? sortBy : "relevance") {
+                case "price_asc":
+                    return byPrice.thenComparing(byName);
+                case "price_desc":
+                    return byPriceDescending.thenComparing(byName);
+                case "name":
+                    return byName;
+                case "newest":
+                    return byCreatedAt.thenComparing(byName);
+                case "relevance":
+                default:
+                    Comparator<Integer> byScore = Comparator.comparing(
+                            ordinal -> scores.getOrDefault(ordinal, 0.0), Comparator.reverseOrder());
+                    return byScore.thenComparing(byName);
+            }
+        }
+
+        private static void addField(Map<String, Float> termFrequencies, String text, float weight) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                termFrequencies.merge(token, weight, Float::sum);
+            }
+        }
+
+        private static RoaringBitmap union(Map<Long, RoaringBitmap> bitmaps, List<Long> keys) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (Long key : keys) {
+                RoaringBitmap bitmap = bitmaps.get(key);
+                if (bitmap != null) {
+                    result.or(bitmap);
+                }
+            }
+            return result;
+        }
+
+        private static void clearPosting(Map<Long, RoaringBitmap> bitmaps, Long key, int ordinal) {
+            if (key == null) {
+                return;
+            }
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        private static int priceBucket(BigDecimal price) {
+            int bucket = Arrays.binarySearch(PRICE_BUCKET_BOUNDS, price, Comparator.naturalOrder());
+            if (bucket >= 0) {
+                return bucket;
+            }
+            // Insertion point minus one is the last bound below the price
+            return Math.max(0, -bucket - 2);
+        }
+    }
+}
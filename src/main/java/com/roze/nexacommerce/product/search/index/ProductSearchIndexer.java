@@ -0,0 +1,168 @@
+package com.roze.nexacommerce.product.search.index;
+
+import com.roze.nexacommerce.config.SearchProperties;
+import com.roze.nexacommerce.product.entity.Product;
+import com.roze.nexacommerce.product.enums.ProductStatus;
+import com.roze.nexacommerce.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link ProductSearchIndex} in sync with the catalog: a full load on startup and on a
+ * fixed interval, plus incremental updates pushed by the product service after commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final SearchProperties searchProperties;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (searchProperties.getIndex().isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@searchProperties.index.rebuildIntervalMinutes}",
+            initialDelayString = "#{@searchProperties.index.rebuildIntervalMinutes}",
+            timeUnit = TimeUnit.MINUTES)
+    public void scheduledRebuild() {
+        if (searchProperties.getIndex().isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.debug("Product search index rebuild already in progress");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        productSearchIndex.beginRebuild();
+        try {
+            List<ProductDocument> documents = productRepository.findSearchDocuments().stream()
+                    .map(this::toDocument)
+                    .collect(Collectors.toList());
+            productSearchIndex.finishRebuild(documents);
+            log.info("Product search index rebuilt with {} products in {} ms",
+                    documents.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            productSearchIndex.cancelRebuild();
+            log.error("Failed to rebuild product search index", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Re-indexes the product once the surrounding transaction commits. Products that are no
+     * longer published or ACTIVE are dropped from the index.
+     */
+    public void productChanged(Product product) {
+        if (!searchProperties.getIndex().isEnabled()) {
+            return;
+        }
+
+        Long productId = product.getId();
+        ProductDocument document = isSearchable(product) ? toDocument(product) : null;
+        afterCommit(() -> {
+            if (document == null) {
+                productSearchIndex.remove(productId);
+            } else {
+                productSearchIndex.upsert(document);
+            }
+        });
+    }
+
+    /**
+     * Re-indexes products written outside Hibernate, such as bulk imports and bulk updates.
+     * Call after they commit; products that are not searchable are dropped from the index.
+     */
+    public void productsChanged(Collection<Long> productIds) {
+        if (!searchProperties.getIndex().isEnabled() || productIds.isEmpty()) {
+            return;
+        }
+        Set<Long> unindexed = new HashSet<>(productIds);
+        for (ProductDocumentProjection projection : productRepository.findSearchDocumentsByIdIn(productIds)) {
+            productSearchIndex.upsert(toDocument(projection));
+            unindexed.remove(projection.getId());
+        }
+        unindexed.forEach(productSearchIndex::remove);
+    }
+
+    public void productRemoved(Long productId) {
+        if (searchProperties.getIndex().isEnabled()) {
+            afterCommit(() -> productSearchIndex.remove(productId));
+        }
+    }
+
+    private boolean isSearchable(Product product) {
+        return product.getStatus() == ProductStatus.ACTIVE && Boolean.TRUE.equals(product.getPublished());
+    }
+
+    private ProductDocument toDocument(Product product) {
+        return ProductDocument.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .shortDescription(product.getShortDescription())
+                .description(product.getDescription())
+                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
+                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .brandId(product.getBrand() != null ? product.getBrand().getId() : null)
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .featured(product.getFeatured())
+                .createdAt(product.getCreatedAt())
+                .build();
+    }
+
+    private ProductDocument toDocument(ProductDocumentProjection projection) {
+        return ProductDocument.builder()
+                .id(projection.getId())
+                .name(projection.getName())
+                .sku(projection.getSku())
+                .shortDescription(projection.getShortDescription())
+                .description(projection.getDescription())
+                .categoryId(projection.getCategoryId())
+                .categoryName(projection.getCategoryName())
+                .brandId(projection.getBrandId())
+                .price(projection.getPrice())
+                .stock(projection.getStock())
+                .featured(projection.getFeatured())
+                .createdAt(projection.getCreatedAt())
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
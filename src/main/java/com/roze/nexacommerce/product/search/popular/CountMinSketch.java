@@ -0,0 +1,100 @@
+package com.roze.nexacommerce.product.search.popular;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Count-Min Sketch: {@code depth} rows of {@code width} counters, updated with
+ * atomic increments. Estimates never undercount and overcount by at most ~e/width of the
+ * total, with probability 1 - e^-depth.
+ */
+public final class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * Counts one occurrence and returns the updated estimate.
+     */
+    public long add(String item) {
+        long hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public long estimate(String item) {
+        long hash = hash(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            long value = other.counters.get(i);
+            if (value != 0) {
+                counters.addAndGet(i, value);
+            }
+        }
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(counters.length() * Long.BYTES);
+        for (int i = 0; i < counters.length(); i++) {
+            buffer.putLong(counters.get(i));
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    /**
+     * Returns {@code null} when the payload was written with other dimensions, e.g. by a node
+     * running an older configuration.
+     */
+    public static CountMinSketch decode(String encoded, int width, int depth) {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        if (bytes.length != width * depth * Long.BYTES) {
+            return null;
+        }
+        CountMinSketch sketch = new CountMinSketch(width, depth);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int i = 0; i < sketch.counters.length(); i++) {
+            sketch.counters.set(i, buffer.getLong());
+        }
+        return sketch;
+    }
+
+    // Row indexes are derived from two halves of one 64-bit hash (Kirsch-Mitzenmacher)
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return row * width + Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static long hash(String item) {
+        // FNV-1a over the chars, then a final avalanche so both halves are well mixed
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < item.length(); i++) {
+            hash ^= item.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
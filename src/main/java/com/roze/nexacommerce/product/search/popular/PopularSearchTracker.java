@@ -0,0 +1,234 @@
+package com.roze.nexacommerce.product.search.popular;
+
+import com.roze.nexacommerce.config.SearchProperties;
+import com.roze.nexacommerce.product.search.index.SearchTokenizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the most frequent search queries over a sliding set of time windows.
+ * Each window is a {@link CountMinSketch} plus a map of at most maxCandidates candidate queries;
+ * recording a known candidate is a handful of atomic increments on the request thread. A scheduled refresh persists the
+ * current window to Redis, merges every node's windows and publishes an immutable top-K list,
+ * so reads never touch the sketches.
+ */
+@Slf4j
+@Component
+public class PopularSearchTracker {
+    private static final String KEY_PREFIX = "search:popular:";
+    private static final int MAX_QUERY_LENGTH = 64;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SearchProperties searchProperties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicReference<Window> current;
+
+    // Closed windows of this node, newest first; only touched by the scheduler thread
+    private final Deque<Window> history = new ArrayDeque<>();
+
+    private volatile List<String> popular = List.of();
+
+    public PopularSearchTracker(RedisTemplate<String, String> redisTemplate, SearchProperties searchProperties) {
+        this.redisTemplate = redisTemplate;
+        this.searchProperties = searchProperties;
+        this.current = new AtomicReference<>(newWindow(currentEpoch()));
+    }
+
+    public void record(String query) {
+        SearchProperties.Popular settings = searchProperties.getPopular();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        Window window = current.get();
+        long estimate = window.sketch.add(normalized);
+        Long updated = window.candidates.computeIfPresent(normalized, (key, previous) -> Math.max(previous, estimate));
+        // Rare queries stay in the sketch only; a new one has to beat the weakest candidate
+        if (updated == null && estimate > window.floor) {
+            window.admit(normalized, estimate, settings.getMaxCandidates());
+        }
+    }
+
+    public List<String> getPopular(int limit) {
+        List<String> snapshot = popular;
+        return snapshot.subList(0, Math.min(Math.max(limit, 0), snapshot.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${application.search.popular.refresh-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        if (!searchProperties.getPopular().isEnabled()) {
+            return;
+        }
+
+        long epoch = currentEpoch();
+        Window window = current.get();
+        if (window.epoch != epoch) {
+            // Swap first so new queries land in the fresh window, then flush the closed one.
+            // A record that raced the swap may miss the flush; the counts are approximate anyway.
+            current.set(newWindow(epoch));
+            persist(window);
+            history.addFirst(window);
+            while (history.size() >= searchProperties.getPopular().getWindowCount()) {
+                history.removeLast();
+            }
+        }
+
+        Window active = current.get();
+        persist(active);
+        publish(epoch);
+    }
+
+    private void publish(long epoch) {
+        SearchProperties.Popular settings = searchProperties.getPopular();
+        CountMinSketch merged = new CountMinSketch(settings.getWidth(), settings.getDepth());
+        Set<String> candidates = new HashSet<>();
+        if (!mergeShared(epoch, merged, candidates)) {
+            merged = new CountMinSketch(settings.getWidth(), settings.getDepth());
+            candidates.clear();
+            mergeLocal(merged, candidates);
+        }
+
+        // Min-heap of the best K so far; the root is the weakest entry to evict
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (String candidate : candidates) {
+            heap.offer(Map.entry(candidate, merged.estimate(candidate)));
+            if (heap.size() > settings.getTopK()) {
+                heap.poll();
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<String> queries = new ArrayList<>(top.size());
+        for (Map.Entry<String, Long> entry : top) {
+            queries.add(entry.getKey());
+        }
+        popular = List.copyOf(queries);
+    }
+
+    /**
+     * Merges the sketches and candidates every node has written for the live windows.
+     * Returns false if Redis could not be read, so the caller can fall back to local data.
+     */
+    private boolean mergeShared(long epoch, CountMinSketch merged, Set<String> candidates) {
+        SearchProperties.Popular settings = searchProperties.getPopular();
+        try {
+            for (long windowEpoch = epoch - settings.getWindowCount() + 1; windowEpoch <= epoch; windowEpoch++) {
+                String key = KEY_PREFIX + windowEpoch;
+                for (Object encoded : redisTemplate.opsForHash().values(key)) {
+                    CountMinSketch sketch = CountMinSketch.decode((String) encoded, settings.getWidth(), settings.getDepth());
+                    if (sketch != null) {
+                        merged.merge(sketch);
+                    }
+                }
+                Set<String> members = redisTemplate.opsForSet().members(key + ":candidates");
+                if (members != null) {
+                    candidates.addAll(members);
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not read shared popular searches, using local counts: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void mergeLocal(CountMinSketch merged, Set<String> candidates) {
+        Window active = current.get();
+        merged.merge(active.sketch);
+        candidates.addAll(active.candidates.keySet());
+        for (Window window : history) {
+            merged.merge(window.sketch);
+            candidates.addAll(window.candidates.keySet());
+        }
+    }
+
+    private void persist(Window window) {
+        SearchProperties.Popular settings = searchProperties.getPopular();
+        String key = KEY_PREFIX + window.epoch;
+        // Keys outlive the sliding range by one window so late readers still see a full set
+        Duration ttl = Duration.ofMinutes(settings.getWindowMinutes() * (settings.getWindowCount() + 1L));
+        try {
+            redisTemplate.opsForHash().put(key, nodeId, window.sketch.encode());
+            redisTemplate.expire(key, ttl);
+            if (!window.candidates.isEmpty()) {
+                redisTemplate.opsForSet().add(key + ":candidates", window.candidates.keySet().toArray(new String[0]));
+                redisTemplate.expire(key + ":candidates", ttl);
+            }
+        } catch (Exception e) {
+            log.warn("Could not persist popular searches window {}: {}", window.epoch, e.getMessage());
+        }
+    }
+
+    private Window newWindow(long epoch) {
+        SearchProperties.Popular settings = searchProperties.getPopular();
+        return new Window(epoch, new CountMinSketch(settings.getWidth(), settings.getDepth()));
+    }
+
+    private long currentEpoch() {
+        return System.currentTimeMillis() / TimeUnit.MINUTES.toMillis(searchProperties.getPopular().getWindowMinutes());
+    }
+
+    int candidateCount() {
+        return current.get().candidates.size();
+    }
+
+    static String normalize(String query) {
+        String normalized = String.join(" ", SearchTokenizer.tokenize(query));
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+
+    private static final class Window {
+        private final long epoch;
+        private final CountMinSketch sketch;
+        private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+        // Weakest estimate among the candidates once the map is full; below it nothing is admitted
+        private volatile long floor;
+
+        private Window(long epoch, CountMinSketch sketch) {
+            this.epoch = epoch;
+            this.sketch = sketch;
+        }
+
+        /**
+         * Adds a new candidate, evicting the weakest one when the map is at capacity. Only new
+         * queries that beat the floor get here, so the scan runs far less often than recording.
+         */
+        private synchronized void admit(String query, long estimate, int maxCandidates) {
+            if (candidates.size() < maxCandidates || candidates.containsKey(query)) {
+                candidates.merge(query, estimate, Math::max);
+                return;
+            }
+            Map.Entry<String, Long> weakest = weakest();
+            if (weakest == null || estimate <= weakest.getValue()) {
+                floor = weakest != null ? weakest.getValue() : floor;
+                return;
+            }
+            candidates.remove(weakest.getKey());
+            candidates.put(query, estimate);
+            floor = weakest().getValue();
+        }
+
+        private Map.Entry<String, Long> weakest() {
+            Map.Entry<String, Long> weakest = null;
+            for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+                if (weakest == null || entry.getValue() < weakest.getValue()) {
+                    weakest = Map.entry(entry.getKey(), entry.getValue());
+                }
+            }
+            return weakest;
+        }
+    }
+}
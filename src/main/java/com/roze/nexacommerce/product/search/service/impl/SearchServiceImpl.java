@@ -1,41 +1,81 @@
-
 package com.roze.nexacommerce.product.search.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.roze.nexacommerce.brand.entity.Brand;
 import com.roze.nexacommerce.brand.repository.BrandRepository;
 import com.roze.nexacommerce.category.entity.Category;
 import com.roze.nexacommerce.category.repository.CategoryRepository;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.config.SearchProperties;
+import com.roze.nexacommerce.exception.ExternalServiceException;
 import com.roze.nexacommerce.product.entity.Product;
-import com.roze.nexacommerce.product.entity.ProductImage;
-import com.roze.nexacommerce.product.enums.ProductStatus;
 import com.roze.nexacommerce.product.repository.ProductRepository;
+import com.roze.nexacommerce.product.search.cache.CatalogVersion;
+import com.roze.nexacommerce.product.search.cache.SearchResultKey;
+import com.roze.nexacommerce.product.search.cache.SearchResultPage;
 import com.roze.nexacommerce.product.search.dto.*;
+import com.roze.nexacommerce.product.search.index.ProductFacetCounts;
+import com.roze.nexacommerce.product.search.index.ProductSearchHits;
+import com.roze.nexacommerce.product.search.index.ProductSearchIndex;
+import com.roze.nexacommerce.product.search.index.SearchTokenizer;
+import com.roze.nexacommerce.product.search.popular.PopularSearchTracker;
 import com.roze.nexacommerce.product.search.service.SearchService;
+import com.roze.nexacommerce.product.search.suggest.SearchSuggester;
+import com.roze.nexacommerce.product.search.suggest.Suggestion;
+import com.roze.nexacommerce.product.search.suggest.SuggestionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.DoubleSummaryStatistics;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SearchServiceImpl implements SearchService {
+    private static final List<String> DEFAULT_POPULAR_SEARCHES = List.of("laptop", "smartphone", "headphones", "watch", "camera");
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final BrandRepository brandRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final SearchProperties searchProperties;
+    private final Cache<String, AutocompleteResult> autocompleteCache;
+    private final SearchSuggester searchSuggester;
+    private final PopularSearchTracker popularSearchTracker;
+    private final Cache<SearchResultKey, SearchResultPage> searchResultCache;
+    private final CatalogVersion catalogVersion;
+    private final ExecutorService searchExecutor;
+    private final Semaphore searchFanoutPermits;
+    private final PlatformTransactionManager transactionManager;
 
 //    @Override
 //    @Transactional(readOnly = true)
@@ -65,87 +105,265 @@ public class SearchServiceImpl implements SearchService {
 //                .build();
 //    }
 @Override
-@Transactional(readOnly = true)
 public SearchResult search(SearchRequest request, Pageable pageable) {
     long startTime = System.currentTimeMillis();
+    SearchProperties.Fanout fanout = searchProperties.getFanout();
+    Map<String, Long> branchTimes = new ConcurrentHashMap<>();
+    List<String> degradedBranches = new ArrayList<>();
+    long forkedAt = System.nanoTime();
 
     // Search products with filters
-    Page<Product> productPage = searchProductsWithFilters(request, pageable);
-    List<ProductSearchResult> productResults = productPage.getContent().stream()
-            .map(this::mapToProductSearchResult)
-            .collect(Collectors.toList());
+    Future<Page<ProductSearchResult>> products = fork("products", forkedAt, fanout.getProductsTimeoutMillis(), branchTimes,
+            () -> toResultPage(resolveResultPage(request, pageable), pageable));
 
     // Search categories - always show relevant categories
-    List<CategorySearchResult> categoryResults = searchCategories(request.getQuery());
+    Future<List<CategorySearchResult>> categories = fork("categories", forkedAt, fanout.getCategoriesTimeoutMillis(), branchTimes,
+            () -> searchCategories(request.getQuery()));
 
     // Search brands - always show relevant brands
-    List<BrandSearchResult> brandResults = searchBrands(request.getQuery());
-
-    // Get available filters based on current results
-    SearchFilters availableFilters = getAvailableFilters(request, productPage.getContent());
+    Future<List<BrandSearchResult>> brands = fork("brands", forkedAt, fanout.getBrandsTimeoutMillis(), branchTimes,
+            () -> searchBrands(request.getQuery()));
+
+    // Facets are counted over the full result set, not the page
+    Future<SearchFilters> filters = fork("facets", forkedAt, fanout.getFacetsTimeoutMillis(), branchTimes,
+            () -> getAvailableFilters(request, resolveFacets(request)));
+
+    Page<ProductSearchResult> productPage;
+    try {
+        productPage = joinRequired("products", products, forkedAt, fanout.getProductsTimeoutMillis());
+    } catch (RuntimeException e) {
+        categories.cancel(true);
+        brands.cancel(true);
+        filters.cancel(true);
+        throw e;
+    }
+    List<CategorySearchResult> categoryResults = join("categories", categories, forkedAt,
+            fanout.getCategoriesTimeoutMillis(), new ArrayList<>(), branchTimes, degradedBranches);
+    List<BrandSearchResult> brandResults = join("brands", brands, forkedAt,
+            fanout.getBrandsTimeoutMillis(), new ArrayList<>(), branchTimes, degradedBranches);
+    SearchFilters availableFilters = join("facets", filters, forkedAt,
+            fanout.getFacetsTimeoutMillis(), SearchFilters.builder().build(), branchTimes, degradedBranches);
+    recordQuery(request.getQuery(), productPage.getTotalElements());
 
     long searchTime = System.currentTimeMillis() - startTime;
 
     return SearchResult.builder()
-            .products(productResults)
+            .products(productPage.getContent())
             .categories(categoryResults)
             .brands(brandResults)
             .availableFilters(availableFilters)
             .totalResults(productPage.getTotalElements())
             .searchTime(searchTime)
+            .searchTimeBreakdown(Map.copyOf(branchTimes))
+            .degradedBranches(degradedBranches)
             .build();
 }
 
-    private SearchFilters getAvailableFilters(SearchRequest request, List<Product> products) {
-        if (products.isEmpty()) {
+    /**
+     * Starts one search branch in its own read-only transaction, bounded by what is left of its
+     * budget. With fan-out enabled the branch waits up to that budget for a permit and runs on a
+     * virtual thread; with fan-out disabled it runs inline. A branch that gets neither a permit
+     * nor any budget comes back as a timed-out future, so the join degrades or fails it exactly
+     * like a branch that ran too long. The branch records its own duration.
+     */
+    private <T> Future<T> fork(String branch, long forkedAt, long timeoutMillis, Map<String, Long> branchTimes,
+                               Supplier<T> task) {
+        Callable<T> timed = () -> {
+            long start = System.nanoTime();
+            try {
+                return readOnly(TimeUnit.NANOSECONDS.toMillis(remainingNanos(forkedAt, timeoutMillis)), task);
+            } finally {
+                branchTimes.put(branch, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        };
+
+        boolean fanoutEnabled = searchProperties.getFanout().isEnabled();
+        if (fanoutEnabled && acquirePermit(remainingNanos(forkedAt, timeoutMillis))) {
+            // Released once, by the branch when it ends or by the future if it is cancelled before starting
+            AtomicBoolean claimed = new AtomicBoolean(false);
+            FutureTask<T> forked = new FutureTask<>(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    return timed.call();
+                } finally {
+                    searchFanoutPermits.release();
+                }
+            }) {
+                @Override
+                protected void done() {
+                    if (claimed.compareAndSet(false, true)) {
+                        searchFanoutPermits.release();
+                    }
+                }
+            };
+            searchExecutor.execute(forked);
+            return forked;
+        }
+        if (fanoutEnabled || remainingNanos(forkedAt, timeoutMillis) == 0) {
+            return CompletableFuture.failedFuture(new TimeoutException(fanoutEnabled
+                    ? "No search capacity within " + timeoutMillis + " ms"
+                    : "Search budget of " + timeoutMillis + " ms already spent"));
+        }
+        FutureTask<T> inline = new FutureTask<>(timed);
+        inline.run();
+        return inline;
+    }
+
+    private boolean acquirePermit(long waitNanos) {
+        try {
+            return searchFanoutPermits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <T> T readOnly(long timeoutMillis, Supplier<T> task) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        // The JPA statement timeout follows the transaction deadline, so an abandoned branch also stops its query
+        template.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+        return template.execute(status -> task.get());
+    }
+
+    private <T> T joinRequired(String branch, Future<T> future, long forkedAt, long timeoutMillis) {
+        try {
+            return future.get(remainingNanos(forkedAt, timeoutMillis), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ExternalServiceException("Search timed out, please try again");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ExternalServiceException("Search timed out, please try again");
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Search branch " + branch + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ExternalServiceException("Search was interrupted", e);
+        }
+    }
+
+    /**
+     * Waits for an optional branch; a branch that fails or runs past its budget is reported as
+     * degraded and replaced by the fallback instead of failing the whole search.
+     */
+    private <T> T join(String branch, Future<T> future, long forkedAt, long timeoutMillis, T fallback,
+                       Map<String, Long> branchTimes, List<String> degradedBranches) {
+        try {
+            return future.get(remainingNanos(forkedAt, timeoutMillis), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            branchTimes.putIfAbsent(branch, timeoutMillis);
+            log.warn("Search branch {} timed out after {} ms", branch, timeoutMillis);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                branchTimes.putIfAbsent(branch, 0L);
+                log.warn("Search branch {} skipped: {}", branch, e.getCause().getMessage());
+            } else {
+                log.warn("Search branch {} failed", branch, e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        degradedBranches.add(branch);
+        return fallback;
+    }
+
+    private long remainingNanos(long forkedAt, long timeoutMillis) {
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - (System.nanoTime() - forkedAt));
+    }
+
+    private SearchFilters getAvailableFilters(SearchRequest request, ProductFacetCounts facetCounts) {
+        if (facetCounts == null || facetCounts.getTotalCount() == 0) {
             return SearchFilters.builder().build();
         }
 
-        // Extract available categories from products
-        Set<Long> availableCategoryIds = products.stream()
-                .map(product -> product.getCategory().getId())
-                .collect(Collectors.toSet());
-        List<CategoryFilter> availableCategories = categoryRepository.findByIdIn(availableCategoryIds)
-                .stream()
+        Set<Long> selectedCategories = request.getCategories() != null ? Set.copyOf(request.getCategories()) : Set.of();
+        Map<Long, Long> categoryCounts = facetCounts.getCategoryCounts();
+        List<CategoryFilter> availableCategories = categoryCounts.isEmpty() ? new ArrayList<>()
+                : categoryRepository.findByIdIn(categoryCounts.keySet()).stream()
                 .map(category -> CategoryFilter.builder()
                         .id(category.getId())
                         .name(category.getName())
-                        .productCount(products.stream()
-                                .filter(p -> p.getCategory().getId().equals(category.getId()))
-                                .count())
+                        .productCount(categoryCounts.get(category.getId()))
+                        .selected(selectedCategories.contains(category.getId()))
                         .build())
                 .collect(Collectors.toList());
 
-        // Extract available brands from products
-        Set<Long> availableBrandIds = products.stream()
-                .filter(product -> product.getBrand() != null)
-                .map(product -> product.getBrand().getId())
-                .collect(Collectors.toSet());
-        List<BrandFilter> availableBrands = brandRepository.findByIdIn(availableBrandIds)
-                .stream()
+        Set<Long> selectedBrands = request.getBrands() != null ? Set.copyOf(request.getBrands()) : Set.of();
+        Map<Long, Long> brandCounts = facetCounts.getBrandCounts();
+        List<BrandFilter> availableBrands = brandCounts.isEmpty() ? new ArrayList<>()
+                : brandRepository.findByIdIn(brandCounts.keySet()).stream()
                 .map(brand -> BrandFilter.builder()
                         .id(brand.getId())
                         .name(brand.getName())
-                        .productCount(products.stream()
-                                .filter(p -> p.getBrand() != null && p.getBrand().getId().equals(brand.getId()))
-                                .count())
+                        .productCount(brandCounts.get(brand.getId()))
+                        .selected(selectedBrands.contains(brand.getId()))
                         .build())
                 .collect(Collectors.toList());
 
-        // Calculate price range
-        DoubleSummaryStatistics priceStats = products.stream()
-                .mapToDouble(product -> product.getPrice().doubleValue())
-                .summaryStatistics();
-
         return SearchFilters.builder()
                 .categories(availableCategories)
                 .brands(availableBrands)
                 .priceRange(PriceRange.builder()
-                        .min(BigDecimal.valueOf(priceStats.getMin()))
-                        .max(BigDecimal.valueOf(priceStats.getMax()))
+                        .min(facetCounts.getMinPrice())
+                        .max(facetCounts.getMaxPrice())
+                        .selectedMin(request.getMinPrice())
+                        .selectedMax(request.getMaxPrice())
                         .build())
+                .inStock(request.getInStock())
+                .featured(request.getFeatured())
                 .build();
     }
+
+    /**
+     * Runs the GROUPING SETS aggregate matching whichever database search path served the page.
+     */
+    private ProductFacetCounts countFacets(SearchRequest request) {
+        boolean filterCategories = request.getCategories() != null && !request.getCategories().isEmpty();
+        boolean filterBrands = request.getBrands() != null && !request.getBrands().isEmpty();
+        List<Long> categories = filterCategories ? request.getCategories() : List.of(-1L);
+        List<Long> brands = filterBrands ? request.getBrands() : List.of(-1L);
+
+        List<FacetCountProjection> rows = isFullTextServing(request)
+                ? productRepository.countFullTextSearchFacets(toPrefixTsQuery(request.getQuery()),
+                filterCategories, categories, filterBrands, brands,
+                request.getMinPrice(), request.getMaxPrice(), request.getInStock(), request.getFeatured())
+                : productRepository.countSearchFacets(request.getQuery(),
+                filterCategories, categories, filterBrands, brands,
+                request.getMinPrice(), request.getMaxPrice(), request.getInStock(), request.getFeatured());
+
+        ProductFacetCounts facetCounts = new ProductFacetCounts();
+        for (FacetCountProjection row : rows) {
+            switch (row.getFacet()) {
+                case "CATEGORY":
+                    if (row.getFacetId() != null) {
+                        facetCounts.getCategoryCounts().put(row.getFacetId(), row.getProductCount());
+                    }
+                    break;
+                case "BRAND":
+                    // Products without a brand group under a null id and are not a selectable facet
+                    if (row.getFacetId() != null) {
+                        facetCounts.getBrandCounts().put(row.getFacetId(), row.getProductCount());
+                    }
+                    break;
+                default:
+                    facetCounts.setTotalCount(row.getProductCount());
+                    facetCounts.setMinPrice(row.getMinPrice());
+                    facetCounts.setMaxPrice(row.getMaxPrice());
+                    break;
+            }
+        }
+        return facetCounts;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public AutocompleteResult autocomplete(String query, int limit) {
@@ -158,14 +376,31 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
                     .build();
         }
 
+        String cacheKey = query.trim().toLowerCase(Locale.ROOT) + "|" + limit;
+        return autocompleteCache.get(cacheKey, key -> loadAutocomplete(query.trim(), limit));
+    }
+
+    private AutocompleteResult loadAutocomplete(String query, int limit) {
         // Get limited results for autocomplete
-        List<Product> products = productRepository.searchProductsAutocomplete(query, limit);
-        List<Category> categories = categoryRepository.searchCategoriesAutocomplete(query, limit);
-        List<Brand> brands = brandRepository.searchBrandsAutocomplete(query, limit);
+        List<Long> productIds;
+        List<Category> categories;
+        List<Brand> brands;
+        if (searchSuggester.isReady()) {
+            // Prefix lookup is served by the in-memory trie; only the winning ids are loaded
+            productIds = suggestionIds(SuggestionType.PRODUCT, query, limit);
+            List<Long> categoryIds = suggestionIds(SuggestionType.CATEGORY, query, limit);
+            categories = inIdOrder(categoryIds.isEmpty() ? List.of() : categoryRepository.findAllById(categoryIds), categoryIds, Category::getId);
+            List<Long> brandIds = suggestionIds(SuggestionType.BRAND, query, limit);
+            brands = inIdOrder(brandIds.isEmpty() ? List.of() : brandRepository.findAllById(brandIds), brandIds, Brand::getId);
+        } else {
+            productIds = productRepository.searchProductsAutocomplete(query, limit).stream()
+                    .map(Product::getId)
+                    .collect(Collectors.toList());
+            categories = categoryRepository.searchCategoriesAutocomplete(query, limit);
+            brands = brandRepository.searchBrandsAutocomplete(query, limit);
+        }
 
-        List<ProductSearchResult> productResults = products.stream()
-                .map(this::mapToProductSearchResult)
-                .collect(Collectors.toList());
+        List<ProductSearchResult> productResults = hydrateResults(productIds);
 
         List<CategorySearchResult> categoryResults = categories.stream()
                 .map(this::mapToCategorySearchResult)
@@ -188,9 +423,19 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
     @Override
     @Transactional(readOnly = true)
     public List<String> getPopularSearches(int limit) {
-        // In a real implementation, you might want to track popular searches
-        // For now, return some default popular searches
-        return List.of("laptop", "smartphone", "headphones", "watch", "camera");
+        List<String> popularSearches = popularSearchTracker.getPopular(limit);
+        if (!popularSearches.isEmpty()) {
+            return popularSearches;
+        }
+        // Nothing tracked yet (fresh cluster or tracking disabled)
+        return DEFAULT_POPULAR_SEARCHES.subList(0, Math.min(Math.max(limit, 0), DEFAULT_POPULAR_SEARCHES.size()));
+    }
+
+    private void recordQuery(String query, long totalHits) {
+        // Queries without results would only surface dead ends in the popular list
+        if (StringUtils.hasText(query) && totalHits > 0) {
+            popularSearchTracker.record(query);
+        }
     }
 
     @Override
@@ -202,7 +447,14 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
 
         // Get suggestions from product names, categories, and brands
         List<String> suggestions = new ArrayList<>();
-        
+
+        if (searchSuggester.isReady()) {
+            suggestions.addAll(suggestionTexts(SuggestionType.PRODUCT, query, 3));
+            suggestions.addAll(suggestionTexts(SuggestionType.CATEGORY, query, 2));
+            suggestions.addAll(suggestionTexts(SuggestionType.BRAND, query, 2));
+            return suggestions.stream().distinct().collect(Collectors.toList());
+        }
+
         // Product name suggestions
         List<String> productSuggestions = productRepository.findProductNameSuggestions(query, 3);
         suggestions.addAll(productSuggestions);
@@ -221,17 +473,15 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
     @Override
     @Transactional(readOnly = true)
     public PaginatedResponse<ProductSearchResult> searchProductsOnly(String query, Pageable pageable, String sortBy) {
-        Page<Product> productPage = searchProductsWithFilters(
+        SearchResultPage resultPage = resolveResultPage(
                 SearchRequest.builder().query(query).sortBy(sortBy).build(),
                 pageable
         );
-
-        List<ProductSearchResult> productResults = productPage.getContent().stream()
-                .map(this::mapToProductSearchResult)
-                .collect(Collectors.toList());
+        Page<ProductSearchResult> productPage = toResultPage(resultPage, pageable);
+        recordQuery(query, productPage.getTotalElements());
 
         return PaginatedResponse.<ProductSearchResult>builder()
-                .items(productResults)
+                .items(productPage.getContent())
                 .totalItems(productPage.getTotalElements())
                 .currentPage(productPage.getNumber())
                 .pageSize(productPage.getSize())
@@ -239,7 +489,76 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
                 .build();
     }
 
+    /**
+     * Looks the page up in the result cache, computing it on a miss. The catalog version is read
+     * before computing, so a result that raced a catalog change lands under the old version and
+     * is never served.
+     */
+    private SearchResultPage resolveResultPage(SearchRequest request, Pageable pageable) {
+        if (!searchProperties.getResultCache().isEnabled()) {
+            return loadResultPage(request, pageable);
+        }
+
+        SearchResultKey key = SearchResultKey.of(catalogVersion.current(), request, pageable);
+        SearchResultPage cached = searchResultCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        SearchResultPage loaded = loadResultPage(request, pageable);
+        searchResultCache.put(key, loaded);
+        return loaded;
+    }
+
+    private SearchResultPage loadResultPage(SearchRequest request, Pageable pageable) {
+        if (isIndexServing()) {
+            ProductSearchHits hits = productSearchIndex.search(request, pageable);
+            return SearchResultPage.builder()
+                    .productIds(hits.getProductIds())
+                    .totalHits(hits.getTotalHits())
+                    .build();
+        }
+
+        Page<Product> productPage = searchProductsWithFilters(request, pageable);
+        return SearchResultPage.builder()
+                .productIds(productPage.getContent().stream().map(Product::getId).collect(Collectors.toList()))
+                .totalHits(productPage.getTotalElements())
+                .build();
+    }
+
+    /**
+     * Facet counts through the same cache; one entry serves every page and sort of a query.
+     */
+    private ProductFacetCounts resolveFacets(SearchRequest request) {
+        if (!searchProperties.getResultCache().isEnabled()) {
+            return loadFacets(request);
+        }
+
+        SearchResultKey key = SearchResultKey.forFacets(catalogVersion.current(), request);
+        SearchResultPage cached = searchResultCache.getIfPresent(key);
+        if (cached != null) {
+            return cached.getFacets();
+        }
+
+        ProductFacetCounts facets = loadFacets(request);
+        searchResultCache.put(key, SearchResultPage.builder().facets(facets).build());
+        return facets;
+    }
+
+    private ProductFacetCounts loadFacets(SearchRequest request) {
+        return isIndexServing() ? productSearchIndex.facets(request) : countFacets(request);
+    }
+
+    private Page<ProductSearchResult> toResultPage(SearchResultPage resultPage, Pageable pageable) {
+        return new PageImpl<>(hydrateResults(resultPage.getProductIds()), pageable, resultPage.getTotalHits());
+    }
+
     private Page<Product> searchProductsWithFilters(SearchRequest request, Pageable pageable) {
+        if (isFullTextServing(request)) {
+            return searchProductsWithFullText(request, pageable);
+        }
+
+        // Fallback: JPQL scan while the index is disabled or still building
         // Apply sorting based on request
         Pageable sortedPageable = applySorting(pageable, request.getSortBy());
 
@@ -255,6 +574,80 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
         );
     }
 
+    private boolean isIndexServing() {
+        return productSearchIndex.isServing();
+    }
+
+    private boolean isFullTextServing(SearchRequest request) {
+        return searchProperties.getFullText().isEnabled() && StringUtils.hasText(toPrefixTsQuery(request.getQuery()));
+    }
+
+    private Page<Product> searchProductsWithFullText(SearchRequest request, Pageable pageable) {
+        boolean filterCategories = request.getCategories() != null && !request.getCategories().isEmpty();
+        boolean filterBrands = request.getBrands() != null && !request.getBrands().isEmpty();
+
+        // IN () is not valid SQL, so unused list filters get a placeholder that the flag short-circuits
+        return productRepository.searchWithFullText(
+                toPrefixTsQuery(request.getQuery()),
+                filterCategories,
+                filterCategories ? request.getCategories() : List.of(-1L),
+                filterBrands,
+                filterBrands ? request.getBrands() : List.of(-1L),
+                request.getMinPrice(),
+                request.getMaxPrice(),
+                request.getInStock(),
+                request.getFeatured(),
+                request.getSortBy() != null ? request.getSortBy() : "relevance",
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+        );
+    }
+
+    /**
+     * Turns free text into a prefix tsquery, e.g. "wireless head" -> "wireless:* & head:*".
+     * Tokens only contain letters and digits, so no tsquery operators can leak in.
+     */
+    private String toPrefixTsQuery(String query) {
+        return SearchTokenizer.tokenize(query).stream()
+                .distinct()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Loads the search results for a page of product ids with a single projection query,
+     * keeping the order of the ids.
+     */
+    private List<ProductSearchResult> hydrateResults(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return inIdOrder(productRepository.findSearchResultsByIdIn(productIds), productIds, ProductSearchResultProjection::getId)
+                .stream()
+                .map(this::mapToProductSearchResult)
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<T> inIdOrder(List<T> rows, List<Long> ids, Function<T, Long> idOf) {
+        Map<Long, T> rowsById = rows.stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> suggestionIds(SuggestionType type, String query, int limit) {
+        return searchSuggester.suggest(type, query, limit).stream()
+                .map(Suggestion::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> suggestionTexts(SuggestionType type, String query, int limit) {
+        return searchSuggester.suggest(type, query, limit).stream()
+                .map(Suggestion::getText)
+                .collect(Collectors.toList());
+    }
+
     private Pageable applySorting(Pageable pageable, String sortBy) {
         Sort sort;
         switch (sortBy) {
@@ -302,16 +695,7 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
                 .collect(Collectors.toList());
     }
 
-    private ProductSearchResult mapToProductSearchResult(Product product) {
-        String primaryImageUrl = product.getImages().stream()
-                .filter(ProductImage::getIsPrimary)
-                .findFirst()
-                .map(ProductImage::getImageUrl)
-                .orElse(product.getImages().stream()
-                        .findFirst()
-                        .map(ProductImage::getImageUrl)
-                        .orElse(null));
-
+    private ProductSearchResult mapToProductSearchResult(ProductSearchResultProjection product) {
         return ProductSearchResult.builder()
                 .id(product.getId())
                 .name(product.getName())
@@ -320,43 +704,33 @@ public SearchResult search(SearchRequest request, Pageable pageable) {
                 .shortDescription(product.getShortDescription())
                 .price(product.getPrice())
                 .compareAtPrice(product.getCompareAtPrice())
-                .imageUrl(primaryImageUrl)
-                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
-                .brandName(product.getBrand() != null ? product.getBrand().getName() : null)
-                .vendorName(product.getVendor() != null ? product.getVendor().getCompanyName() : null)
-                .inStock(product.isInStock())
+                .imageUrl(product.getImageUrl())
+                .categoryName(product.getCategoryName())
+                .brandName(product.getBrandName())
+                .vendorName(product.getVendorName())
+                .inStock(Boolean.TRUE.equals(product.getInStock()))
                 .type("PRODUCT")
                 .build();
     }
 
     private CategorySearchResult mapToCategorySearchResult(Category category) {
-        // Count active products in category (you might want to cache this)
-        long productCount = category.getProducts().stream()
-                .filter(product -> product.getStatus() == ProductStatus.ACTIVE && product.getPublished())
-                .count();
-
         return CategorySearchResult.builder()
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
                 .imageUrl(category.getImageUrl())
-                .productCount(productCount)
+                .productCount(category.getActiveProductCount() != null ? category.getActiveProductCount() : 0L)
                 .type("CATEGORY")
                 .build();
     }
 
     private BrandSearchResult mapToBrandSearchResult(Brand brand) {
-        // Count active products for brand
-        long productCount = brand.getProducts().stream()
-                .filter(product -> product.getStatus() == ProductStatus.ACTIVE && product.getPublished())
-                .count();
-
         return BrandSearchResult.builder()
                 .id(brand.getId())
                 .name(brand.getName())
                 .description(brand.getDescription())
                 .logoUrl(brand.getLogoUrl())
-                .productCount(productCount)
+                .productCount(brand.getActiveProductCount() != null ? brand.getActiveProductCount() : 0L)
                 .type("BRAND")
                 .build();
     }
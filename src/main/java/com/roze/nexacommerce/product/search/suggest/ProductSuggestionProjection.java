@@ -0,0 +1,8 @@
+package com.roze.nexacommerce.product.search.suggest;
+
+public interface ProductSuggestionProjection {
+    Long getId();
+    String getName();
+    Long getCategoryId();
+    Long getBrandId();
+}
@@ -0,0 +1,225 @@
+package com.roze.nexacommerce.product.search.suggest;
+
+import com.roze.nexacommerce.brand.repository.BrandRepository;
+import com.roze.nexacommerce.category.repository.CategoryRepository;
+import com.roze.nexacommerce.config.SearchProperties;
+import com.roze.nexacommerce.order.repository.OrderItemRepository;
+import com.roze.nexacommerce.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Serves search-as-you-type from in-memory {@link SuggestionTrie}s built from product, category
+ * and brand names weighted by units sold. Catalog writes only mark the suggester dirty; the
+ * rebuild runs on the scheduler thread and the new tries are swapped in atomically. A rebuild
+ * for a catalog change reads only names and ids and reuses the sales weights, which are
+ * recounted on the full rebuild interval.
+ */
+@Slf4j
+@Component
+public class SearchSuggester {
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final SearchProperties searchProperties;
+    private final Timer buildTimer;
+    private final Timer lookupTimer;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    private volatile Snapshot snapshot;
+    private volatile Map<Long, Long> soldByProduct = Map.of();
+
+    public SearchSuggester(ProductRepository productRepository,
+                           CategoryRepository categoryRepository,
+                           BrandRepository brandRepository,
+                           OrderItemRepository orderItemRepository,
+                           SearchProperties searchProperties,
+                           MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.brandRepository = brandRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.searchProperties = searchProperties;
+
+        this.buildTimer = Timer.builder("search.suggester.build")
+                .description("Time to rebuild the suggestion tries")
+                .register(meterRegistry);
+        this.lookupTimer = Timer.builder("search.suggester.lookup")
+                .description("Prefix lookup latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("search.suggester.memory", this, suggester -> suggester.snapshot != null ? suggester.snapshot.estimatedBytes : 0)
+                .description("Estimated retained size of the suggestion tries")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.suggester.entries", this, suggester -> suggester.snapshot != null ? suggester.snapshot.entries : 0)
+                .description("Suggestions held by the tries")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return searchProperties.getSuggester().isEnabled() && snapshot != null;
+    }
+
+    public List<Suggestion> suggest(SuggestionType type, String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+        return lookupTimer.record(() -> current.trie(type).lookup(prefix, limit));
+    }
+
+    /**
+     * Flags the catalog as changed once the surrounding transaction commits; the next refresh
+     * tick rebuilds in the background. Flagging earlier would let a rebuild read the rows as they
+     * were before the write and clear the flag, and a rollback would rebuild for nothing.
+     */
+    public void markDirty() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirty.set(true);
+                }
+            });
+        } else {
+            dirty.set(true);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (searchProperties.getSuggester().isEnabled()) {
+            rebuild(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.search.suggester.refresh-delay-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void refreshIfDirty() {
+        if (searchProperties.getSuggester().isEnabled() && dirty.compareAndSet(true, false)) {
+            rebuild(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.search.suggester.full-rebuild-interval-minutes:60}",
+            initialDelayString = "${application.search.suggester.full-rebuild-interval-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void scheduledRebuild() {
+        if (searchProperties.getSuggester().isEnabled()) {
+            rebuild(true);
+        }
+    }
+
+    /**
+     * Rebuilds the tries; {@code recountSales} also reloads the units sold per product, which
+     * scans the order items and is left to startup and the full rebuild interval.
+     */
+    public synchronized void rebuild(boolean recountSales) {
+        try {
+            if (recountSales) {
+                Map<Long, Long> sold = new HashMap<>();
+                for (Object[] row : orderItemRepository.findSoldQuantitiesByProduct()) {
+                    sold.put((Long) row[0], row[1] != null ? ((Number) row[1]).longValue() : 0L);
+                }
+                soldByProduct = sold;
+            }
+            Snapshot rebuilt = buildTimer.recordCallable(this::buildSnapshot);
+            snapshot = rebuilt;
+            log.info("Search suggester rebuilt with {} entries (~{} KB)", rebuilt.entries, rebuilt.estimatedBytes / 1024);
+        } catch (Exception e) {
+            // Keep serving the previous tries; the next change or interval retries
+            dirty.set(true);
+            log.error("Failed to rebuild search suggester", e);
+        }
+    }
+
+    private Snapshot buildSnapshot() {
+        int topK = searchProperties.getSuggester().getTopK();
+        Map<Long, Long> soldByProduct = this.soldByProduct;
+
+        // Categories and brands are weighted by the popularity of the products they hold
+        Map<Long, Long> categoryWeights = new HashMap<>();
+        Map<Long, Long> brandWeights = new HashMap<>();
+        List<Suggestion> products = new ArrayList<>();
+        for (ProductSuggestionProjection product : productRepository.findSuggestionSources()) {
+            long weight = 1 + soldByProduct.getOrDefault(product.getId(), 0L);
+            products.add(Suggestion.builder()
+                    .id(product.getId())
+                    .text(product.getName())
+                    .type(SuggestionType.PRODUCT)
+                    .weight(weight)
+                    .build());
+            if (product.getCategoryId() != null) {
+                categoryWeights.merge(product.getCategoryId(), weight, Long::sum);
+            }
+            if (product.getBrandId() != null) {
+                brandWeights.merge(product.getBrandId(), weight, Long::sum);
+            }
+        }
+
+        List<Suggestion> categories = categoryRepository.findByActiveTrue().stream()
+                .map(category -> Suggestion.builder()
+                        .id(category.getId())
+                        .text(category.getName())
+                        .type(SuggestionType.CATEGORY)
+                        .weight(categoryWeights.getOrDefault(category.getId(), 0L))
+                        .build())
+                .collect(Collectors.toList());
+
+        List<Suggestion> brands = brandRepository.findByActiveTrue().stream()
+                .map(brand -> Suggestion.builder()
+                        .id(brand.getId())
+                        .text(brand.getName())
+                        .type(SuggestionType.BRAND)
+                        .weight(brandWeights.getOrDefault(brand.getId(), 0L))
+                        .build())
+                .collect(Collectors.toList());
+
+        return new Snapshot(
+                SuggestionTrie.build(products, topK),
+                SuggestionTrie.build(categories, topK),
+                SuggestionTrie.build(brands, topK));
+    }
+
+    private static final class Snapshot {
+        private final SuggestionTrie products;
+        private final SuggestionTrie categories;
+        private final SuggestionTrie brands;
+        private final long estimatedBytes;
+        private final int entries;
+
+        private Snapshot(SuggestionTrie products, SuggestionTrie categories, SuggestionTrie brands) {
+            this.products = products;
+            this.categories = categories;
+            this.brands = brands;
+            this.estimatedBytes = products.estimatedBytes() + categories.estimatedBytes() + brands.estimatedBytes();
+            this.entries = products.size() + categories.size() + brands.size();
+        }
+
+        private SuggestionTrie trie(SuggestionType type) {
+            switch (type) {
+                case CATEGORY:
+                    return categories;
+                case BRAND:
+                    return brands;
+                case PRODUCT:
+                default:
+                    return products;
+            }
+        }
+    }
+}
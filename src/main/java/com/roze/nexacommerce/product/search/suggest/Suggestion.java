@@ -0,0 +1,17 @@
+package com.roze.nexacommerce.product.search.suggest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private Long id;
+    private String text;
+    private SuggestionType type;
+    private long weight;
+}
@@ -0,0 +1,160 @@
+package com.roze.nexacommerce.product.search.suggest;
+
+import com.roze.nexacommerce.product.search.index.SearchTokenizer;
+
+import java.util.*;
+
+/**
+ * Immutable prefix trie that stores the top-K suggestions (by weight) at every node, so a
+ * lookup is a walk down the prefix followed by a copy of at most K entries.
+ * Every word start of a suggestion is inserted, so "iph" finds "Apple iPhone 15".
+ */
+public final class SuggestionTrie {
+    // Keys are truncated so a long product name cannot blow up the node count
+    private static final int MAX_KEY_LENGTH = 48;
+
+    private final List<Suggestion> suggestions;
+    private final Node root;
+    private final int nodeCount;
+
+    private SuggestionTrie(List<Suggestion> suggestions, Node root, int nodeCount) {
+        this.suggestions = suggestions;
+        this.root = root;
+        this.nodeCount = nodeCount;
+    }
+
+    public static SuggestionTrie build(List<Suggestion> suggestions, int topK) {
+        List<Suggestion> entries = List.copyOf(suggestions);
+        Comparator<Integer> byWeight = Comparator.<Integer>comparingLong(index -> entries.get(index).getWeight())
+                .reversed()
+                .thenComparing(index -> entries.get(index).getText(), String.CASE_INSENSITIVE_ORDER);
+
+        BuildNode buildRoot = new BuildNode();
+        for (int index = 0; index < entries.size(); index++) {
+            for (String key : keys(entries.get(index).getText())) {
+                BuildNode node = buildRoot;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), ch -> new BuildNode());
+                }
+                node.terminals.add(index);
+            }
+        }
+
+        int[] nodeCount = new int[1];
+        Node root = freeze(buildRoot, topK, byWeight, nodeCount);
+        return new SuggestionTrie(entries, root, nodeCount[0]);
+    }
+
+    public List<Suggestion> lookup(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        int size = Math.min(limit, node.top.length);
+        List<Suggestion> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(suggestions.get(node.top[i]));
+        }
+        return result;
+    }
+
+    public int size() {
+        return suggestions.size();
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Rough retained size: object headers plus array payloads for every node, and the text of
+     * every suggestion. Good enough to watch the trend, not an exact heap measurement.
+     */
+    public long estimatedBytes() {
+        long bytes = estimateNode(root);
+        for (Suggestion suggestion : suggestions) {
+            bytes += 64 + 2L * (suggestion.getText() != null ? suggestion.getText().length() : 0);
+        }
+        return bytes;
+    }
+
+    static String normalize(String text) {
+        String key = String.join(" ", SearchTokenizer.tokenize(text));
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static Set<String> keys(String text) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String key = String.join(" ", tokens.subList(i, tokens.size()));
+            keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+        }
+        return keys;
+    }
+
+    private static Node freeze(BuildNode buildNode, int topK, Comparator<Integer> byWeight, int[] nodeCount) {
+        nodeCount[0]++;
+
+        char[] labels = new char[buildNode.children.size()];
+        Node[] children = new Node[buildNode.children.size()];
+        Set<Integer> candidates = new HashSet<>(buildNode.terminals);
+
+        int i = 0;
+        for (Map.Entry<Character, BuildNode> entry : buildNode.children.entrySet()) {
+            labels[i] = entry.getKey();
+            children[i] = freeze(entry.getValue(), topK, byWeight, nodeCount);
+            for (int index : children[i].top) {
+                candidates.add(index);
+            }
+            i++;
+        }
+
+        int[] top = candidates.stream()
+                .sorted(byWeight)
+                .limit(topK)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return new Node(labels, children, top);
+    }
+
+    private static long estimateNode(Node node) {
+        long bytes = 16 + (16 + 2L * node.labels.length) + (16 + 4L * node.children.length) + (16 + 4L * node.top.length);
+        for (Node child : node.children) {
+            bytes += estimateNode(child);
+        }
+        return bytes;
+    }
+
+    private static final class BuildNode {
+        // TreeMap keeps labels sorted so the frozen node can binary search them
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private final List<Integer> terminals = new ArrayList<>();
+    }
+
+    private static final class Node {
+        private final char[] labels;
+        private final Node[] children;
+        private final int[] top;
+
+        private Node(char[] labels, Node[] children, int[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
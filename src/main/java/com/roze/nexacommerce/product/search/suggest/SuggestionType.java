@@ -0,0 +1,7 @@
+package com.roze.nexacommerce.product.search.suggest;
+
+public enum SuggestionType {
+    PRODUCT,
+    CATEGORY,
+    BRAND
+}
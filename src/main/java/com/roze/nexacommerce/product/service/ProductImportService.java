@@ -0,0 +1,15 @@
+package com.roze.nexacommerce.product.service;
+
+import com.roze.nexacommerce.product.dto.response.ProductImportResponse;
+import com.roze.nexacommerce.product.importer.ProductImportFormat;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    /**
+     * Imports products streamed as CSV or NDJSON. Rows are loaded in independently committed
+     * chunks, so a failed row never rolls back the others; every failure is reported by row.
+     */
+    ProductImportResponse importProducts(InputStream input, ProductImportFormat format, Long vendorId);
+}
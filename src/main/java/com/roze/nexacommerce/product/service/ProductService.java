@@ -1,8 +1,13 @@
 package com.roze.nexacommerce.product.service;
 
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
+import com.roze.nexacommerce.product.cache.ProductJson;
+import com.roze.nexacommerce.product.dto.request.ProductBulkUpdateRequest;
 import com.roze.nexacommerce.product.dto.request.ProductCreateRequest;
 import com.roze.nexacommerce.product.dto.request.ProductUpdateRequest;
+import com.roze.nexacommerce.product.dto.response.ProductBulkUpdateResponse;
 import com.roze.nexacommerce.product.dto.response.ProductResponse;
 import com.roze.nexacommerce.product.enums.ProductStatus;
 import org.springframework.data.domain.Pageable;
@@ -17,8 +22,24 @@ public interface ProductService {
 
     ProductResponse getProductBySku(String sku);
 
+    /**
+     * The detail response for a probed stamp as pre-serialized JSON, served from the product
+     * JSON cache.
+     */
+    ProductJson getProductJson(ResourceStamp stamp);
+
+    /**
+     * Versions of the product and of its category and brand for conditional GETs, read by key
+     * without loading the product.
+     */
+    ResourceStamp getProductStamp(Long productId);
+
+    ResourceStamp getProductStampBySku(String sku);
+
     PaginatedResponse<ProductResponse> getAllProducts(Pageable pageable);
 
+    CursorResponse<ProductResponse> scrollProducts(String cursor, int size, String sortBy, String sortDirection);
+
     PaginatedResponse<ProductResponse> getProductsByVendor(Long vendorId, Pageable pageable);
 
     PaginatedResponse<ProductResponse> getProductsByCategory(Long categoryId, Pageable pageable);
@@ -37,7 +58,15 @@ public interface ProductService {
 
     ProductResponse updateProductStock(Long productId, Integer stock);
 
+    /**
+     * Applies stock, price and status changes to many products with set-based updates, one
+     * transaction per chunk. Items that cannot be applied are reported instead of failing the batch.
+     */
+    ProductBulkUpdateResponse bulkUpdateProducts(ProductBulkUpdateRequest request);
+
     void deleteProduct(Long productId);
 
     PaginatedResponse<ProductResponse> getProductsByBrand(Long brandId, Pageable pageable);
-}
\ No newline at end of file
+
+    void reconcileActiveProductCounts();
+}
@@ -0,0 +1,277 @@
+package com.roze.nexacommerce.product.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roze.nexacommerce.brand.repository.BrandRepository;
+import com.roze.nexacommerce.category.repository.CategoryRepository;
+import com.roze.nexacommerce.config.ProductImportProperties;
+import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.inventory.service.InventoryReservationService;
+import com.roze.nexacommerce.product.dto.response.ProductImportResponse;
+import com.roze.nexacommerce.product.dto.response.ProductImportRowError;
+import com.roze.nexacommerce.product.importer.CatalogReference;
+import com.roze.nexacommerce.product.importer.ProductImportFormat;
+import com.roze.nexacommerce.product.importer.ProductImportLoader;
+import com.roze.nexacommerce.product.importer.ProductImportReader;
+import com.roze.nexacommerce.product.importer.ProductImportRow;
+import com.roze.nexacommerce.product.repository.ProductRepository;
+import com.roze.nexacommerce.product.search.cache.CatalogVersion;
+import com.roze.nexacommerce.product.search.index.ProductSearchIndexer;
+import com.roze.nexacommerce.product.search.suggest.SearchSuggester;
+import com.roze.nexacommerce.product.service.ProductImportService;
+import com.roze.nexacommerce.vendor.repository.VendorProfileRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
+    private final VendorProfileRepository vendorRepository;
+    private final ProductImportLoader productImportLoader;
+    private final ProductSearchIndexer productSearchIndexer;
+    private final InventoryReservationService inventoryReservationService;
+    private final SearchSuggester searchSuggester;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AuditorAware<Long> auditorAware;
+    private final ProductImportProperties productImportProperties;
+    private final TransactionTemplate chunkTransaction;
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+                                    CategoryRepository categoryRepository,
+                                    BrandRepository brandRepository,
+                                    VendorProfileRepository vendorRepository,
+                                    ProductImportLoader productImportLoader,
+                                    ProductSearchIndexer productSearchIndexer,
+                                    InventoryReservationService inventoryReservationService,
+                                    SearchSuggester searchSuggester,
+                                    CatalogVersion catalogVersion,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    AuditorAware<Long> auditorAware,
+                                    ProductImportProperties productImportProperties,
+                                    PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.brandRepository = brandRepository;
+        this.vendorRepository = vendorRepository;
+        this.productImportLoader = productImportLoader;
+        this.productSearchIndexer = productSearchIndexer;
+        this.inventoryReservationService = inventoryReservationService;
+        this.searchSuggester = searchSuggester;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.auditorAware = auditorAware;
+        this.productImportProperties = productImportProperties;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ProductImportResponse importProducts(InputStream input, ProductImportFormat format, Long vendorId) {
+        if (vendorId != null && !vendorRepository.existsById(vendorId)) {
+            throw new ResourceNotFoundException("Vendor", "id", vendorId);
+        }
+
+        long startTime = System.currentTimeMillis();
+        ImportRun run = new ImportRun(vendorId, auditorAware.getCurrentAuditor().orElse(-1L),
+                CatalogReferences.of(categoryRepository.findCatalogReferences()),
+                CatalogReferences.of(brandRepository.findCatalogReferences()),
+                productImportProperties.getMaxReportedErrors());
+
+        try (ProductImportReader reader = ProductImportReader.open(format, input, objectMapper)) {
+            ProductImportRow row;
+            while ((row = reader.next()) != null) {
+                run.totalRows++;
+                run.lastRowNumber = row.getRowNumber();
+                if (run.totalRows > productImportProperties.getMaxRows()) {
+                    run.fail(row.getRowNumber(), row.getSku(), "Imports are limited to "
+                            + productImportProperties.getMaxRows() + " rows; the rest of the upload was not read");
+                    break;
+                }
+
+                String error = validate(row, run);
+                if (error != null) {
+                    run.fail(row.getRowNumber(), row.getSku(), error);
+                    continue;
+                }
+                run.pending.add(row);
+                if (run.pending.size() >= productImportProperties.getChunkSize()) {
+                    flush(run);
+                }
+            }
+        } catch (IOException e) {
+            // Chunks already loaded stay committed, so report how far the upload got instead of failing it
+            log.warn("Product import upload ended early after row {}: {}", run.lastRowNumber, e.getMessage());
+            run.fail(run.lastRowNumber + 1, null, "Upload could not be read past this row: " + e.getMessage());
+        }
+        flush(run);
+
+        if (run.importedRows > 0) {
+            catalogVersion.bump();
+            searchSuggester.markDirty();
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Product import finished: {} rows, {} imported, {} failed in {} ms",
+                run.totalRows, run.importedRows, run.failedRows, duration);
+        return ProductImportResponse.builder()
+                .format(format.name())
+                .totalRows(run.totalRows)
+                .importedRows(run.importedRows)
+                .failedRows(run.failedRows)
+                .errors(run.errors)
+                .errorsTruncated(run.failedRows > run.errors.size())
+                .durationMillis(duration)
+                .build();
+    }
+
+    /**
+     * Returns why the row cannot be imported, or null once its category and brand ids are resolved.
+     */
+    private String validate(ProductImportRow row, ImportRun run) {
+        if (row.getParseError() != null) {
+            return row.getParseError();
+        }
+
+        Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        Long categoryId = run.categories.resolve(row.getCategoryId(), row.getCategory());
+        if (categoryId == null) {
+            return row.getCategoryId() == null && row.getCategory() == null
+                    ? "Category is required"
+                    : "Category not found: " + Objects.requireNonNullElse(row.getCategory(), row.getCategoryId());
+        }
+        row.setCategoryId(categoryId);
+
+        if (row.getBrandId() != null || row.getBrand() != null) {
+            Long brandId = run.brands.resolve(row.getBrandId(), row.getBrand());
+            if (brandId == null) {
+                return "Brand not found: " + Objects.requireNonNullElse(row.getBrand(), row.getBrandId());
+            }
+            row.setBrandId(brandId);
+        }
+
+        if (!run.seenSkus.add(row.getSku())) {
+            return "SKU appears more than once in the upload";
+        }
+        return null;
+    }
+
+    private void flush(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<ProductImportRow> chunk = run.pending;
+        run.pending = new ArrayList<>();
+
+        // One query per chunk instead of an existsBySku per row
+        Set<String> existing = new HashSet<>(productRepository.findExistingSkus(
+                chunk.stream().map(ProductImportRow::getSku).toList()));
+        List<ProductImportRow> loadable = new ArrayList<>(chunk.size());
+        for (ProductImportRow row : chunk) {
+            if (existing.contains(row.getSku())) {
+                run.fail(row.getRowNumber(), row.getSku(), "SKU already exists");
+            } else {
+                loadable.add(row);
+            }
+        }
+
+        if (!loadable.isEmpty()) {
+            try {
+                Map<String, Long> inserted = chunkTransaction.execute(status ->
+                        productImportLoader.load(loadable, run.vendorId, run.userId));
+                for (ProductImportRow row : loadable) {
+                    if (inserted.containsKey(row.getSku())) {
+                        run.importedRows++;
+                    } else {
+                        run.fail(row.getRowNumber(), row.getSku(), "SKU already exists");
+                    }
+                }
+                productSearchIndexer.productsChanged(inserted.values());
+                inventoryReservationService.stockChanged(inserted.values());
+            } catch (DataAccessException e) {
+                log.warn("Product import chunk of {} rows failed: {}", loadable.size(), e.getMostSpecificCause().getMessage());
+                String message = "Chunk could not be loaded: " + e.getMostSpecificCause().getMessage();
+                loadable.forEach(row -> run.fail(row.getRowNumber(), row.getSku(), message));
+            }
+        }
+
+        log.info("Product import progress: {} rows read, {} imported, {} failed",
+                run.totalRows, run.importedRows, run.failedRows);
+    }
+
+    private static final class ImportRun {
+        private final Long vendorId;
+        private final Long userId;
+        private final CatalogReferences categories;
+        private final CatalogReferences brands;
+        private final int maxReportedErrors;
+        private final Set<String> seenSkus = new HashSet<>();
+        private final List<ProductImportRowError> errors = new ArrayList<>();
+        private List<ProductImportRow> pending = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private long lastRowNumber;
+
+        private ImportRun(Long vendorId, Long userId, CatalogReferences categories, CatalogReferences brands,
+                          int maxReportedErrors) {
+            this.vendorId = vendorId;
+            this.userId = userId;
+            this.categories = categories;
+            this.brands = brands;
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long rowNumber, String sku, String message) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportRowError(rowNumber, sku, message));
+            }
+        }
+    }
+
+    private static final class CatalogReferences {
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<String, Long> idsBySlug = new HashMap<>();
+
+        private static CatalogReferences of(List<CatalogReference> references) {
+            CatalogReferences catalogReferences = new CatalogReferences();
+            for (CatalogReference reference : references) {
+                catalogReferences.ids.add(reference.getId());
+                if (reference.getSlug() != null) {
+                    catalogReferences.idsBySlug.put(reference.getSlug().toLowerCase(Locale.ROOT), reference.getId());
+                }
+            }
+            return catalogReferences;
+        }
+
+        private Long resolve(Long id, String slug) {
+            if (id != null) {
+                return ids.contains(id) ? id : null;
+            }
+            return slug != null ? idsBySlug.get(slug.trim().toLowerCase(Locale.ROOT)) : null;
+        }
+    }
+}
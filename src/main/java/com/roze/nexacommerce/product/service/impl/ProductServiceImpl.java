@@ -4,13 +4,26 @@ import com.roze.nexacommerce.brand.entity.Brand;
 import com.roze.nexacommerce.brand.repository.BrandRepository;
 import com.roze.nexacommerce.category.entity.Category;
 import com.roze.nexacommerce.category.repository.CategoryRepository;
+import com.roze.nexacommerce.common.CursorResponse;
+import com.roze.nexacommerce.common.KeysetCursor;
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.ResourceStamp;
 import com.roze.nexacommerce.exception.DuplicateResourceException;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
+import com.roze.nexacommerce.inventory.service.InventoryReservationService;
+import com.roze.nexacommerce.product.bulk.AppliedProductUpdate;
+import com.roze.nexacommerce.product.bulk.ProductBulkUpdater;
+import com.roze.nexacommerce.product.bulk.ProductStockState;
+import com.roze.nexacommerce.product.cache.ProductJson;
+import com.roze.nexacommerce.product.cache.ProductJsonCache;
 import com.roze.nexacommerce.product.dto.request.ProductAttributeRequest;
+import com.roze.nexacommerce.product.dto.request.ProductBulkUpdateItem;
+import com.roze.nexacommerce.product.dto.request.ProductBulkUpdateRequest;
 import com.roze.nexacommerce.product.dto.request.ProductCreateRequest;
 import com.roze.nexacommerce.product.dto.request.ProductImageRequest;
 import com.roze.nexacommerce.product.dto.request.ProductUpdateRequest;
+import com.roze.nexacommerce.product.dto.response.ProductBulkUpdateFailure;
+import com.roze.nexacommerce.product.dto.response.ProductBulkUpdateResponse;
 import com.roze.nexacommerce.product.dto.response.ProductResponse;
 import com.roze.nexacommerce.product.entity.Product;
 import com.roze.nexacommerce.product.entity.ProductAttribute;
@@ -20,24 +33,44 @@ import com.roze.nexacommerce.product.mapper.ProductMapper;
 import com.roze.nexacommerce.product.repository.ProductAttributeRepository;
 import com.roze.nexacommerce.product.repository.ProductImageRepository;
 import com.roze.nexacommerce.product.repository.ProductRepository;
+import com.roze.nexacommerce.product.search.dto.SearchRequest;
+import com.roze.nexacommerce.product.search.index.ProductSearchHits;
+import com.roze.nexacommerce.product.search.index.ProductSearchIndex;
+import com.roze.nexacommerce.product.search.index.ProductSearchIndexer;
+import com.roze.nexacommerce.product.search.cache.CatalogVersion;
+import com.roze.nexacommerce.product.search.suggest.SearchSuggester;
 import com.roze.nexacommerce.product.service.ProductService;
 import com.roze.nexacommerce.vendor.entity.VendorProfile;
 import com.roze.nexacommerce.vendor.repository.VendorProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductServiceImpl implements ProductService {
+    // Keyset listings only seek on columns backed by a (column, id) index
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt");
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1_000;
+
     private final ProductRepository productRepository;
     private final VendorProfileRepository vendorRepository;
     private final CategoryRepository categoryRepository;
@@ -45,6 +78,15 @@ public class ProductServiceImpl implements ProductService {
     private final ProductAttributeRepository productAttributeRepository;
     private final ProductImageRepository productImageRepository;
     private final BrandRepository brandRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSearchIndexer productSearchIndexer;
+    private final SearchSuggester searchSuggester;
+    private final CatalogVersion catalogVersion;
+    private final ProductJsonCache productJsonCache;
+    private final ProductBulkUpdater productBulkUpdater;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditorAware<Long> auditorAware;
+    private final InventoryReservationService inventoryReservationService;
 
     @Override
     @Transactional
@@ -80,6 +122,11 @@ public class ProductServiceImpl implements ProductService {
         product.getAttributes().forEach(attribute -> attribute.setProduct(product));
 
         Product savedProduct = productRepository.save(product);
+        adjustActiveProductCounts(ActiveProductState.NONE, ActiveProductState.of(savedProduct));
+        productSearchIndexer.productChanged(savedProduct);
+        inventoryReservationService.stockChanged(List.of(savedProduct.getId()));
+        catalogVersion.bump();
+        searchSuggester.markDirty();
 
         // Update vendor product count
         if (vendorId != null) {
@@ -103,12 +150,50 @@ public class ProductServiceImpl implements ProductService {
         return productMapper.toResponse(product);
     }
 
+    @Override
+    public ProductJson getProductJson(ResourceStamp stamp) {
+        Long productId = stamp.getId();
+        return productJsonCache.get(productId, stamp.getVersion(), stamp.getRelatedVersions(),
+                () -> productRepository.findById(productId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId)));
+    }
+
+    @Override
+    public ResourceStamp getProductStamp(Long productId) {
+        return productRepository.findVersionById(productId)
+                .map(version -> ResourceStamp.of(version, version.getRelatedVersions(), version.getLastModified()))
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+    }
+
+    @Override
+    public ResourceStamp getProductStampBySku(String sku) {
+        return productRepository.findVersionBySku(sku)
+                .map(version -> ResourceStamp.of(version, version.getRelatedVersions(), version.getLastModified()))
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "sku", sku));
+    }
+
     @Override
     public PaginatedResponse<ProductResponse> getAllProducts(Pageable pageable) {
         Page<Product> productPage = productRepository.findAll(pageable);
         return buildPaginatedResponse(productPage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<ProductResponse> scrollProducts(String cursor, int size, String sortBy, String sortDirection) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDirection, CURSOR_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        int limit = KeysetCursor.limit(size).max();
+
+        Specification<Product> all = (root, query, cb) -> cb.conjunction();
+        Window<Product> window = productRepository.findBy(all, query -> query
+                .project("category", "brand", "vendor")
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(position));
+        return KeysetCursor.toResponse(window, sort, productMapper::toResponse);
+    }
+
     @Override
     public PaginatedResponse<ProductResponse> getProductsByVendor(Long vendorId, Pageable pageable) {
         VendorProfile vendor = vendorRepository.findById(vendorId)
@@ -123,7 +208,9 @@ public class ProductServiceImpl implements ProductService {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
 
-        Page<Product> productPage = productRepository.findByCategory(category, pageable);
+        Page<Product> productPage = isIndexBrowsable(pageable)
+                ? browseIndex(SearchRequest.builder().categories(List.of(categoryId)).build(), pageable)
+                : productRepository.findActiveProductsByCategory(category, pageable);
         return buildPaginatedResponse(productPage);
     }
 
@@ -141,7 +228,9 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public PaginatedResponse<ProductResponse> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        Page<Product> productPage = productRepository.findByPriceRange(minPrice, maxPrice, pageable);
+        Page<Product> productPage = isIndexBrowsable(pageable)
+                ? browseIndex(SearchRequest.builder().minPrice(minPrice).maxPrice(maxPrice).build(), pageable)
+                : productRepository.findByPriceRange(minPrice, maxPrice, pageable);
         return buildPaginatedResponse(productPage);
     }
 
@@ -158,6 +247,7 @@ public class ProductServiceImpl implements ProductService {
     public ProductResponse updateProduct(Long productId, ProductUpdateRequest request) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        ActiveProductState before = ActiveProductState.of(product);
 
         // Validate unique constraint if SKU is being updated
         if (request.getSku() != null && !request.getSku().equals(product.getSku())
@@ -192,6 +282,11 @@ public class ProductServiceImpl implements ProductService {
 
         // Save the main product entity
         Product updatedProduct = productRepository.save(product);
+        adjustActiveProductCounts(before, ActiveProductState.of(updatedProduct));
+        productSearchIndexer.productChanged(updatedProduct);
+        inventoryReservationService.stockChanged(List.of(productId));
+        catalogVersion.bump();
+        searchSuggester.markDirty();
         log.info("Product updated successfully with ID: {}", productId);
         return productMapper.toResponse(updatedProduct);
     }
@@ -314,7 +409,9 @@ public class ProductServiceImpl implements ProductService {
         Brand brand = brandRepository.findById(brandId)
                 .orElseThrow(() -> new ResourceNotFoundException("Brand", "id", brandId));
 
-        Page<Product> productPage = productRepository.findActiveProductsByBrand(brand, pageable);
+        Page<Product> productPage = isIndexBrowsable(pageable)
+                ? browseIndex(SearchRequest.builder().brands(List.of(brandId)).build(), pageable)
+                : productRepository.findActiveProductsByBrand(brand, pageable);
         return buildPaginatedResponse(productPage);
     }
 
@@ -324,8 +421,13 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
 
+        ActiveProductState before = ActiveProductState.of(product);
         product.setStatus(status);
         Product updatedProduct = productRepository.save(product);
+        adjustActiveProductCounts(before, ActiveProductState.of(updatedProduct));
+        productSearchIndexer.productChanged(updatedProduct);
+        catalogVersion.bump();
+        searchSuggester.markDirty();
 
         return productMapper.toResponse(updatedProduct);
     }
@@ -338,11 +440,81 @@ public class ProductServiceImpl implements ProductService {
 
         product.setStock(stock);
         Product updatedProduct = productRepository.save(product);
+        productSearchIndexer.productChanged(updatedProduct);
+        inventoryReservationService.stockChanged(List.of(productId));
+        catalogVersion.bump();
 
         ProductResponse response = productMapper.toResponse(updatedProduct);
         return response;
     }
 
+    @Override
+    public ProductBulkUpdateResponse bulkUpdateProducts(ProductBulkUpdateRequest request) {
+        List<ProductBulkUpdateItem> items = request.getItems();
+        List<ProductBulkUpdateFailure> failures = new ArrayList<>();
+        Map<Integer, ProductBulkUpdateItem> valid = new LinkedHashMap<>();
+        Set<String> seenKeys = new HashSet<>();
+        for (int index = 0; index < items.size(); index++) {
+            ProductBulkUpdateItem item = items.get(index);
+            String error = validateBulkItem(item, seenKeys);
+            if (error != null) {
+                failures.add(bulkFailure(index, item, error));
+            } else {
+                valid.put(index, item);
+            }
+        }
+
+        Long userId = auditorAware.getCurrentAuditor().orElse(-1L);
+        List<Integer> indexes = new ArrayList<>(valid.keySet());
+        int updated = 0;
+        boolean statusChanged = false;
+        for (int start = 0; start < indexes.size(); start += BULK_UPDATE_CHUNK_SIZE) {
+            Map<Integer, ProductBulkUpdateItem> chunk = new LinkedHashMap<>();
+            for (Integer index : indexes.subList(start, Math.min(start + BULK_UPDATE_CHUNK_SIZE, indexes.size()))) {
+                chunk.put(index, valid.get(index));
+            }
+
+            List<AppliedProductUpdate> applied;
+            try {
+                applied = transactionTemplate.execute(status -> productBulkUpdater.apply(chunk, userId));
+            } catch (DataAccessException e) {
+                log.warn("Bulk product update chunk of {} items failed: {}", chunk.size(), e.getMostSpecificCause().getMessage());
+                String message = "Chunk could not be applied: " + e.getMostSpecificCause().getMessage();
+                chunk.forEach((index, item) -> failures.add(bulkFailure(index, item, message)));
+                continue;
+            }
+
+            Set<Long> changedProductIds = new HashSet<>();
+            for (AppliedProductUpdate update : applied) {
+                chunk.remove(update.getIndex());
+                changedProductIds.add(update.getProductId());
+                statusChanged |= update.isStatusChanged();
+            }
+            updated += applied.size();
+            failures.addAll(explainUnapplied(chunk));
+
+            // The chunk has committed; no transaction is active, so these take effect immediately
+            productSearchIndexer.productsChanged(changedProductIds);
+            inventoryReservationService.stockChanged(changedProductIds);
+        }
+
+        if (updated > 0) {
+            catalogVersion.bump();
+        }
+        if (statusChanged) {
+            searchSuggester.markDirty();
+        }
+
+        failures.sort(Comparator.comparingInt(ProductBulkUpdateFailure::getIndex));
+        log.info("Bulk product update applied {} of {} items", updated, items.size());
+        return ProductBulkUpdateResponse.builder()
+                .requested(items.size())
+                .updated(updated)
+                .failed(failures.size())
+                .failures(failures)
+                .build();
+    }
+
     @Override
     @Transactional
     public void deleteProduct(Long productId) {
@@ -354,7 +526,160 @@ public class ProductServiceImpl implements ProductService {
         vendor.removeProduct();
         vendorRepository.save(vendor);
 
+        adjustActiveProductCounts(ActiveProductState.of(product), ActiveProductState.NONE);
         productRepository.delete(product);
+        productSearchIndexer.productRemoved(productId);
+        inventoryReservationService.stockChanged(List.of(productId));
+        catalogVersion.bump();
+        searchSuggester.markDirty();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "0 30 2 * * ?") // Run daily at 2:30 AM
+    public void reconcileActiveProductCounts() {
+        log.info("Starting reconciliation of active product counts");
+
+        int categories = categoryRepository.reconcileActiveProductCounts();
+        int brands = brandRepository.reconcileActiveProductCounts();
+        log.info("Reconciled active product counts for {} categories and {} brands", categories, brands);
+    }
+
+    /**
+     * Moves the category and brand active-product counters by the difference between two states
+     * of a product, in the same transaction as the product change.
+     */
+    private void adjustActiveProductCounts(ActiveProductState before, ActiveProductState after) {
+        moveActiveProductCount(before.categoryId, after.categoryId, categoryRepository::adjustActiveProductCount);
+        moveActiveProductCount(before.brandId, after.brandId, brandRepository::adjustActiveProductCount);
+    }
+
+    private static void moveActiveProductCount(Long fromId, Long toId, BiFunction<Long, Integer, Integer> adjust) {
+        if (Objects.equals(fromId, toId)) {
+            return;
+        }
+        if (fromId != null) {
+            adjust.apply(fromId, -1);
+        }
+        if (toId != null) {
+            adjust.apply(toId, 1);
+        }
+    }
+
+    private static String validateBulkItem(ProductBulkUpdateItem item, Set<String> seenKeys) {
+        if (item == null) {
+            return "Item is empty";
+        }
+        if (item.getId() == null && (item.getSku() == null || item.getSku().isBlank())) {
+            return "Either id or sku is required";
+        }
+        if (item.getStock() != null && item.getStockDelta() != null) {
+            return "Give either stock or stockDelta, not both";
+        }
+        if (item.getStock() == null && item.getStockDelta() == null && item.getPrice() == null && item.getStatus() == null) {
+            return "Nothing to update";
+        }
+        String key = item.getId() != null ? "id:" + item.getId() : "sku:" + item.getSku();
+        if (!seenKeys.add(key)) {
+            return "Product appears more than once in the request";
+        }
+        return null;
+    }
+
+    /**
+     * Works out why the items left in the chunk were not applied, from the products' current state.
+     */
+    private List<ProductBulkUpdateFailure> explainUnapplied(Map<Integer, ProductBulkUpdateItem> unapplied) {
+        if (unapplied.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = new HashSet<>();
+        Set<String> skus = new HashSet<>();
+        unapplied.values().forEach(item -> {
+            if (item.getId() != null) {
+                ids.add(item.getId());
+            } else {
+                skus.add(item.getSku());
+            }
+        });
+
+        Map<Long, ProductStockState> byId = new HashMap<>();
+        Map<String, ProductStockState> bySku = new HashMap<>();
+        for (ProductStockState state : productRepository.findStockStates(ids, skus)) {
+            byId.put(state.getId(), state);
+            bySku.put(state.getSku(), state);
+        }
+
+        List<ProductBulkUpdateFailure> failures = new ArrayList<>(unapplied.size());
+        unapplied.forEach((index, item) -> {
+            ProductStockState state = item.getId() != null ? byId.get(item.getId()) : bySku.get(item.getSku());
+            String message;
+            if (state == null) {
+                message = "Product not found";
+            } else if (item.getExpectedVersion() != null && !item.getExpectedVersion().equals(state.getVersion())) {
+                message = "Version conflict: expected " + item.getExpectedVersion() + " but product is at " + state.getVersion();
+            } else if (item.getStockDelta() != null && state.getStock() + item.getStockDelta() < 0) {
+                message = "Stock cannot go below zero (current stock " + state.getStock() + ")";
+            } else {
+                message = "Product was modified concurrently; retry the item";
+            }
+            failures.add(bulkFailure(index, item, message));
+        });
+        return failures;
+    }
+
+    private static ProductBulkUpdateFailure bulkFailure(int index, ProductBulkUpdateItem item, String message) {
+        return ProductBulkUpdateFailure.builder()
+                .index(index)
+                .id(item != null ? item.getId() : null)
+                .sku(item != null ? item.getSku() : null)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Answers a catalog listing from the in-memory bitmaps; only the requested page is loaded.
+     */
+    private Page<Product> browseIndex(SearchRequest filter, Pageable pageable) {
+        filter.setSortBy(indexSortKey(pageable.getSort()));
+        ProductSearchHits hits = productSearchIndex.search(filter, pageable);
+
+        Map<Long, Product> productsById = productRepository.findByIdIn(hits.getProductIds()).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+        List<Product> products = hits.getProductIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(products, pageable, hits.getTotalHits());
+    }
+
+    private boolean isIndexBrowsable(Pageable pageable) {
+        return productSearchIndex.isServing() && indexSortKey(pageable.getSort()) != null;
+    }
+
+    /**
+     * The index sort that produces the requested order, or null when the index has none and the
+     * listing must come from the database.
+     */
+    private String indexSortKey(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "newest";
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1) {
+            return null;
+        }
+        Sort.Order order = orders.get(0);
+        switch (order.getProperty()) {
+            case "price":
+                return order.isAscending() ? "price_asc" : "price_desc";
+            case "name":
+                return order.isAscending() ? "name" : null;
+            case "createdAt":
+                return order.isDescending() ? "newest" : null;
+            default:
+                return null;
+        }
     }
 
     private PaginatedResponse<ProductResponse> buildPaginatedResponse(Page<Product> productPage) {
@@ -370,4 +695,29 @@ public class ProductServiceImpl implements ProductService {
                 .totalPages(productPage.getTotalPages())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Where a product is counted: its category and brand while it is ACTIVE and published,
+     * nowhere otherwise.
+     */
+    private static final class ActiveProductState {
+        private static final ActiveProductState NONE = new ActiveProductState(null, null);
+
+        private final Long categoryId;
+        private final Long brandId;
+
+        private ActiveProductState(Long categoryId, Long brandId) {
+            this.categoryId = categoryId;
+            this.brandId = brandId;
+        }
+
+        private static ActiveProductState of(Product product) {
+            if (product.getStatus() != ProductStatus.ACTIVE || !Boolean.TRUE.equals(product.getPublished())) {
+                return NONE;
+            }
+            return new ActiveProductState(
+                    product.getCategory() != null ? product.getCategory().getId() : null,
+                    product.getBrand() != null ? product.getBrand().getId() : null);
+        }
+    }
+}
@@ -27,7 +27,7 @@ import java.util.List;
 public class ReturnRequest extends BaseEntity {
     
     @Column(nullable = false, unique = true)
-    private String returnNumber; // RMA-2024-001234
+    private String returnNumber; // RMA-01KA3F7W2N0Q4
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
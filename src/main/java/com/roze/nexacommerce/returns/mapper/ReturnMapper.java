@@ -1,6 +1,7 @@
 // ReturnMapper.java
 package com.roze.nexacommerce.returns.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.order.entity.Order;
 import com.roze.nexacommerce.order.entity.OrderItem;
 import com.roze.nexacommerce.order.enums.OrderStatus;
@@ -10,78 +11,42 @@ import com.roze.nexacommerce.returns.dto.response.*;
 import com.roze.nexacommerce.returns.entity.ReturnItem;
 import com.roze.nexacommerce.returns.entity.ReturnPolicy;
 import com.roze.nexacommerce.returns.entity.ReturnRequest;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class ReturnMapper {
-    private final ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public abstract class ReturnMapper {
 
     // ReturnPolicy Mappings
-    public ReturnPolicy toEntity(ReturnPolicyCreateRequest request) {
-        return modelMapper.map(request, ReturnPolicy.class);
-    }
+    public abstract ReturnPolicy toEntity(ReturnPolicyCreateRequest request);
 
-    public ReturnPolicyResponse toResponse(ReturnPolicy policy) {
-        return modelMapper.map(policy, ReturnPolicyResponse.class);
-    }
+    public abstract ReturnPolicyResponse toResponse(ReturnPolicy policy);
 
-    public void updateEntity(ReturnPolicyUpdateRequest request, ReturnPolicy policy) {
-        modelMapper.map(request, policy);
-    }
+    public abstract void updateEntity(ReturnPolicyUpdateRequest request, @MappingTarget ReturnPolicy policy);
 
     // ReturnRequest Mappings
-    public ReturnRequestResponse toResponse(ReturnRequest returnRequest) {
-        ReturnRequestResponse response = modelMapper.map(returnRequest, ReturnRequestResponse.class);
-        
-        // Set additional fields
-        if (returnRequest.getOrder() != null) {
-            response.setOrderId(returnRequest.getOrder().getId());
-            response.setOrderNumber(returnRequest.getOrder().getOrderNumber());
-        }
-        
-        if (returnRequest.getCustomer() != null) {
-            response.setCustomerId(returnRequest.getCustomer().getId());
-            if (returnRequest.getCustomer().getUser() != null) {
-                response.setCustomerName(returnRequest.getCustomer().getUser().getName());
-            }
-        }
-        
-        // Set helper fields
-        response.setEligibleForFreeReturn(returnRequest.isEligibleForFreeReturn());
-        response.setWithinReturnWindow(returnRequest.isWithinReturnWindow());
-        
-        // Map return items
-        if (returnRequest.getReturnItems() != null) {
-            List<ReturnItemResponse> itemResponses = returnRequest.getReturnItems().stream()
-                    .map(this::toReturnItemResponse)
-                    .collect(Collectors.toList());
-            response.setReturnItems(itemResponses);
-        }
-        
-        return response;
-    }
+    @Mapping(target = "orderId", source = "order.id")
+    @Mapping(target = "orderNumber", source = "order.orderNumber")
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerName", source = "customer.user.name")
+    public abstract ReturnRequestResponse toResponse(ReturnRequest returnRequest);
 
-    public ReturnItemResponse toReturnItemResponse(ReturnItem returnItem) {
-        ReturnItemResponse response = modelMapper.map(returnItem, ReturnItemResponse.class);
-        
-        if (returnItem.getOrderItem() != null) {
-            response.setOrderItemId(returnItem.getOrderItem().getId());
-            
-            if (returnItem.getOrderItem().getProduct() != null) {
-                response.setProductId(returnItem.getOrderItem().getProduct().getId());
-                response.setProductName(returnItem.getOrderItem().getProductName());
-                response.setProductImage(returnItem.getOrderItem().getProductImage());
-            }
+    @Mapping(target = "orderItemId", source = "orderItem.id")
+    public abstract ReturnItemResponse toReturnItemResponse(ReturnItem returnItem);
+
+    @AfterMapping
+    protected void setProductDetails(ReturnItem returnItem, @MappingTarget ReturnItemResponse response) {
+        if (returnItem.getOrderItem() != null && returnItem.getOrderItem().getProduct() != null) {
+            response.setProductId(returnItem.getOrderItem().getProduct().getId());
+            response.setProductName(returnItem.getOrderItem().getProductName());
+            response.setProductImage(returnItem.getOrderItem().getProductImage());
         }
-        
-        return response;
     }
 
     // Return Summary Mappings
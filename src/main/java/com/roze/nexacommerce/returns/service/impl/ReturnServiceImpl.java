@@ -2,6 +2,7 @@
 package com.roze.nexacommerce.returns.service.impl;
 
 import com.roze.nexacommerce.common.PaginatedResponse;
+import com.roze.nexacommerce.common.id.TimeOrderedIdGenerator;
 import com.roze.nexacommerce.exception.ResourceNotFoundException;
 import com.roze.nexacommerce.order.entity.Order;
 import com.roze.nexacommerce.order.entity.OrderItem;
@@ -41,6 +42,7 @@ public class ReturnServiceImpl implements ReturnService {
     private final ReturnPolicyRepository returnPolicyRepository;
     private final OrderRepository orderRepository;
     private final ReturnMapper returnMapper;
+    private final TimeOrderedIdGenerator timeOrderedIdGenerator;
     
     @Override
     @Transactional
@@ -64,7 +66,7 @@ public class ReturnServiceImpl implements ReturnService {
         
         // Create return request
         ReturnRequest returnRequest = ReturnRequest.builder()
-                .returnNumber(generateReturnNumber())
+                .returnNumber(timeOrderedIdGenerator.nextReturnNumber())
                 .order(order)
                 .customer(order.getCustomer())
                 .reason(request.getReason())
@@ -363,11 +365,6 @@ public class ReturnServiceImpl implements ReturnService {
         returnRequest.calculateRefund();
     }
     
-    private String generateReturnNumber() {
-        return "RMA-" + LocalDateTime.now().getYear() + "-" +
-               String.format("%06d", returnRequestRepository.count() + 1);
-    }
-    
     private String generateTrackingNumber() {
         return "1Z" + UUID.randomUUID().toString().substring(0, 16).toUpperCase();
     }
@@ -2,6 +2,7 @@ package com.roze.nexacommerce.review.controller;
 
 import com.roze.nexacommerce.common.BaseController;
 import com.roze.nexacommerce.common.BaseResponse;
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
 import com.roze.nexacommerce.review.dto.request.CreateReviewRequest;
 import com.roze.nexacommerce.review.dto.request.UpdateReviewRequest;
@@ -79,6 +80,17 @@ public class ReviewController extends BaseController {
         return paginated(reviews, "Reviews retrieved successfully");
     }
 
+    @GetMapping("/product/{productId}/scroll")
+    public ResponseEntity<BaseResponse<CursorResponse<ReviewResponse>>> scrollProductReviews(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+        CursorResponse<ReviewResponse> reviews = reviewService.scrollProductReviews(productId, cursor, size, sortBy, sortDirection);
+        return ok(reviews, "Reviews retrieved successfully");
+    }
+
     @GetMapping("/product/{productId}/summary")
     public ResponseEntity<BaseResponse<ReviewSummaryResponse>> getProductReviewSummary(
             @PathVariable Long productId) {
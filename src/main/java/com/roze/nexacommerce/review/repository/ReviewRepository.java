@@ -2,8 +2,12 @@ package com.roze.nexacommerce.review.repository;
 
 import com.roze.nexacommerce.review.dto.ReviewStatisticsProjection;
 import com.roze.nexacommerce.review.entity.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,6 +23,8 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     List<Review> findByProductIdAndActiveTrue(Long productId);
 
+    Window<Review> findByProductIdAndActiveTrue(Long productId, ScrollPosition position, Sort sort, Limit limit);
+
     Optional<Review> findByProductIdAndCustomerId(Long productId, Long customerId);
 
     Page<Review> findByCustomerId(Long customerId, Pageable pageable);
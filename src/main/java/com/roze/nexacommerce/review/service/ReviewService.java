@@ -1,5 +1,6 @@
 package com.roze.nexacommerce.review.service;
 
+import com.roze.nexacommerce.common.CursorResponse;
 import com.roze.nexacommerce.common.PaginatedResponse;
 import com.roze.nexacommerce.review.dto.request.CreateReviewRequest;
 import com.roze.nexacommerce.review.dto.request.UpdateReviewRequest;
@@ -18,6 +19,8 @@ public interface ReviewService {
 
     PaginatedResponse<ReviewResponse> getProductReviews(Long productId, Pageable pageable);
 
+    CursorResponse<ReviewResponse> scrollProductReviews(Long productId, String cursor, int size, String sortBy, String sortDirection);
+
     PaginatedResponse<ReviewResponse> getCustomerReviews(Long customerId, Pageable pageable);
 
     ReviewSummaryResponse getProductReviewSummary(Long productId);
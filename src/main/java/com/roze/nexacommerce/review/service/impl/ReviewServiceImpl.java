@@ -1,5 +1,7 @@
 package com.roze.nexacommerce.review.service.impl;
 
+import com.roze.nexacommerce.common.CursorResponse;
+import com.roze.nexacommerce.common.KeysetCursor;
 import com.roze.nexacommerce.common.PaginatedResponse;
 import com.roze.nexacommerce.customer.entity.CustomerProfile;
 import com.roze.nexacommerce.customer.repository.CustomerProfileRepository;
@@ -24,14 +26,18 @@ import com.roze.nexacommerce.review.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewServiceImpl implements ReviewService {
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt");
 
     private final ReviewRepository reviewRepository;
     private final ReviewHelpfulVoteRepository helpfulVoteRepository;
@@ -126,6 +132,15 @@ public class ReviewServiceImpl implements ReviewService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<ReviewResponse> scrollProductReviews(Long productId, String cursor, int size, String sortBy, String sortDirection) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDirection, CURSOR_SORT_PROPERTIES);
+        Window<Review> window = reviewRepository.findByProductIdAndActiveTrue(
+                productId, KeysetCursor.decode(cursor, sort), sort, KeysetCursor.limit(size));
+        return KeysetCursor.toResponse(window, sort, review -> reviewMapper.toResponse(review, null));
+    }
+
     @Override
     public PaginatedResponse<ReviewResponse> getCustomerReviews(Long customerId, Pageable pageable) {
         Page<Review> reviewPage = reviewRepository.findByCustomerId(customerId, pageable);
@@ -1,31 +1,24 @@
 package com.roze.nexacommerce.shipping.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.shipping.dto.request.ShippingSettingRequest;
 import com.roze.nexacommerce.shipping.dto.response.ShippingSettingResponse;
 import com.roze.nexacommerce.shipping.entity.ShippingSetting;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
 
 import java.math.BigDecimal;
 
-@Component
-@RequiredArgsConstructor
-public class ShippingSettingMapper {
-    private final ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public abstract class ShippingSettingMapper {
 
-    public ShippingSetting toEntity(ShippingSettingRequest request) {
-        ShippingSetting setting = modelMapper.map(request, ShippingSetting.class);
-        setting.setLocationType(request.getLocationType().toUpperCase());
-        return setting;
-    }
+    public abstract ShippingSetting toEntity(ShippingSettingRequest request);
 
-    public ShippingSettingResponse toResponse(ShippingSetting setting) {
-        return modelMapper.map(setting, ShippingSettingResponse.class);
-    }
+    public abstract ShippingSettingResponse toResponse(ShippingSetting setting);
 
     public ShippingSettingResponse toResponseWithFreeShipping(ShippingSetting setting, BigDecimal orderTotal) {
-        ShippingSettingResponse response = modelMapper.map(setting, ShippingSettingResponse.class);
+        ShippingSettingResponse response = toResponse(setting);
         
         boolean isFreeShippingEligible = orderTotal.compareTo(setting.getMinimumOrderForFreeShipping()) >= 0;
         BigDecimal freeShippingRemaining = setting.getMinimumOrderForFreeShipping()
@@ -38,10 +31,12 @@ public class ShippingSettingMapper {
         return response;
     }
 
-    public void updateEntity(ShippingSettingRequest request, ShippingSetting setting) {
-        modelMapper.map(request, setting);
+    public abstract void updateEntity(ShippingSettingRequest request, @MappingTarget ShippingSetting setting);
+
+    @AfterMapping
+    protected void normalizeLocationType(ShippingSettingRequest request, @MappingTarget ShippingSetting setting) {
         if (request.getLocationType() != null) {
             setting.setLocationType(request.getLocationType().toUpperCase());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,34 +1,22 @@
 package com.roze.nexacommerce.user.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.user.dto.request.PermissionRequest;
 import com.roze.nexacommerce.user.dto.response.PermissionResponse;
 import com.roze.nexacommerce.user.entity.Permission;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class PermissionMapper {
-    private final ModelMapper modelMapper;
+@Mapper(config = MappingConfig.class)
+public interface PermissionMapper {
 
-    public Permission toEntity(PermissionRequest request) {
-        return modelMapper.map(request, Permission.class);
-    }
+    Permission toEntity(PermissionRequest request);
 
-    public PermissionResponse toResponse(Permission permission) {
-        return modelMapper.map(permission, PermissionResponse.class);
-    }
+    PermissionResponse toResponse(Permission permission);
 
-    public Set<PermissionResponse> toResponseSet(Set<Permission> permissions) {
-        return permissions.stream().map(this::toResponse)
-                .collect(Collectors.toSet());
-    }
+    Set<PermissionResponse> toResponseSet(Set<Permission> permissions);
 
-    public void updateEntity(PermissionRequest request, Permission permission) {
-        modelMapper.map(request, permission);
-    }
+    void updateEntity(PermissionRequest request, @MappingTarget Permission permission);
 }
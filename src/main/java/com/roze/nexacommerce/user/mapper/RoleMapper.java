@@ -1,36 +1,19 @@
 package com.roze.nexacommerce.user.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.user.dto.request.RoleRequest;
 import com.roze.nexacommerce.user.dto.response.RoleResponse;
 import com.roze.nexacommerce.user.entity.Role;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
 
-import java.util.stream.Collectors;
+// Permissions are looked up from the request ids by the service
+@Mapper(config = MappingConfig.class, uses = PermissionMapper.class)
+public interface RoleMapper {
 
-@Component
-@RequiredArgsConstructor
-public class RoleMapper {
-    private final ModelMapper modelMapper;
-    private final PermissionMapper permissionMapper;
+    Role toEntity(RoleRequest request);
 
-    public Role toEntity(RoleRequest request) {
-        return modelMapper.map(request, Role.class);
-    }
+    RoleResponse toResponse(Role role);
 
-    public RoleResponse toResponse(Role role) {
-        RoleResponse response = modelMapper.map(role, RoleResponse.class);
-
-        if (role.getPermissions() != null) {
-            response.setPermissions(role.getPermissions().stream()
-                    .map(permissionMapper::toResponse)
-                    .collect(Collectors.toSet()));
-        }
-        return response;
-    }
-
-    public void updateEntity(RoleRequest request, Role role) {
-        modelMapper.map(request, role);
-    }
+    void updateEntity(RoleRequest request, @MappingTarget Role role);
 }
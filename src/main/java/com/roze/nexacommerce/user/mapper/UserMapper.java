@@ -1,32 +1,23 @@
 package com.roze.nexacommerce.user.mapper;
 
+import com.roze.nexacommerce.config.MappingConfig;
 import com.roze.nexacommerce.user.dto.request.UserRequest;
 import com.roze.nexacommerce.user.dto.request.UserUpdateRequest;
 import com.roze.nexacommerce.user.dto.response.UserResponse;
 import com.roze.nexacommerce.user.entity.User;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
-@Component
-@RequiredArgsConstructor
-public class UserMapper {
-    private final ModelMapper modelMapper;
-    private final RoleMapper roleMapper;
+// The role is looked up and the password encoded by the service
+@Mapper(config = MappingConfig.class, uses = RoleMapper.class)
+public interface UserMapper {
 
-    public User toEntity(UserRequest request) {
-        return modelMapper.map(request, User.class);
-    }
+    @Mapping(target = "password", ignore = true)
+    User toEntity(UserRequest request);
 
-    public UserResponse toResponse(User user) {
-        UserResponse response = modelMapper.map(user, UserResponse.class);
-        if (user.getRole() != null) {
-            response.setRole(roleMapper.toResponse(user.getRole()));
-        }
-        return response;
-    }
+    UserResponse toResponse(User user);
 
-    public void updateEntity(UserUpdateRequest request, User user) {
-        modelMapper.map(request, user);
-    }
+    @Mapping(target = "password", ignore = true)
+    void updateEntity(UserUpdateRequest request, @MappingTarget User user);
 }
@@ -0,0 +1,169 @@
+package com.roze.nexacommerce.common;
+
+import com.roze.nexacommerce.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+    private static final Set<String> ALLOWED = Set.of("createdAt", "totalAmount", "status");
+
+    /**
+     * Issues a cursor the same way the services do: from the last position of a window.
+     */
+    private static String cursorFor(Sort sort, Map<String, Object> lastKeys) {
+        Window<String> window = Window.from(List.of("a", "b"),
+                index -> ScrollPosition.forward(lastKeys), true);
+        return KeysetCursor.toResponse(window, sort, item -> item).getNextCursor();
+    }
+
+    private static Map<String, Object> keys(String property, Object value, long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(property, value);
+        keys.put("id", id);
+        return keys;
+    }
+
+    private static String payload(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    private static String cursorOf(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void sortAppendsIdTieBreakerInTheSameDirection() {
+        Sort sort = KeysetCursor.sort("createdAt", "asc", ALLOWED);
+
+        assertThat(sort).containsExactly(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+        assertThat(KeysetCursor.sort("createdAt", "anything", ALLOWED))
+                .containsExactly(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    }
+
+    @Test
+    void sortRejectsPropertiesOutsideTheAllowList() {
+        assertThatThrownBy(() -> KeysetCursor.sort("password", "desc", ALLOWED))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void limitIsClampedToOneAndMaxSize() {
+        assertThat(KeysetCursor.limit(0).max()).isEqualTo(1);
+        assertThat(KeysetCursor.limit(25).max()).isEqualTo(25);
+        assertThat(KeysetCursor.limit(10_000).max()).isEqualTo(KeysetCursor.MAX_SIZE);
+    }
+
+    @Test
+    void blankCursorStartsFromTheBeginning() {
+        Sort sort = KeysetCursor.sort("createdAt", "desc", ALLOWED);
+
+        assertThat(KeysetCursor.decode(null, sort)).isEqualTo(ScrollPosition.keyset());
+        assertThat(KeysetCursor.decode("  ", sort)).isEqualTo(ScrollPosition.keyset());
+    }
+
+    @Test
+    void roundTripsEverySupportedKeyType() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 9, 14, 30, 15, 123_456_000);
+        Sort byDate = KeysetCursor.sort("createdAt", "desc", ALLOWED);
+        Sort byAmount = KeysetCursor.sort("totalAmount", "asc", ALLOWED);
+        Sort byStatus = KeysetCursor.sort("status", "asc", ALLOWED);
+
+        assertThat(decodedKeys(byDate, keys("createdAt", createdAt, 42L)))
+                .containsExactly(Map.entry("createdAt", createdAt), Map.entry("id", 42L));
+        assertThat(decodedKeys(byAmount, keys("totalAmount", new BigDecimal("1999.90"), 7L)))
+                .containsExactly(Map.entry("totalAmount", new BigDecimal("1999.90")), Map.entry("id", 7L));
+        assertThat(decodedKeys(byStatus, keys("status", "ON HOLD & co=1|x", 3L)))
+                .containsExactly(Map.entry("status", "ON HOLD & co=1|x"), Map.entry("id", 3L));
+
+        Map<String, Object> intKeys = keys("totalAmount", 12, 5L);
+        assertThat(decodedKeys(byAmount, intKeys)).containsEntry("totalAmount", 12);
+    }
+
+    private static Map<String, Object> decodedKeys(Sort sort, Map<String, Object> lastKeys) {
+        ScrollPosition position = KeysetCursor.decode(cursorFor(sort, lastKeys), sort);
+        assertThat(position).isInstanceOf(KeysetScrollPosition.class);
+        return ((KeysetScrollPosition) position).getKeys();
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Sort sort = KeysetCursor.sort("createdAt", "desc", ALLOWED);
+        Window<String> window = Window.from(List.of("a"),
+                index -> ScrollPosition.forward(keys("createdAt", LocalDateTime.now(), 1L)), false);
+
+        CursorResponse<String> response = KeysetCursor.toResponse(window, sort, item -> item);
+
+        assertThat(response.getNextCursor()).isNull();
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getItems()).containsExactly("a");
+    }
+
+    @Test
+    void cursorIssuedForAnotherSortIsRejected() {
+        Sort desc = KeysetCursor.sort("createdAt", "desc", ALLOWED);
+        Sort asc = KeysetCursor.sort("createdAt", "asc", ALLOWED);
+        String cursor = cursorFor(desc, keys("createdAt", LocalDateTime.now(), 1L));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, asc))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("sort");
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotBase64() {
+        Sort sort = KeysetCursor.sort("createdAt", "desc", ALLOWED);
+
+        assertThatThrownBy(() -> KeysetCursor.decode("not*base64!", sort))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void rejectsTamperedValuesAndTypeTags() {
+        Sort sort = KeysetCursor.sort("createdAt", "desc", ALLOWED);
+        String prefix = "createdAt:DESC,id:DESC|";
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(prefix + "createdAt=Tyesterday&id=L1"), sort))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(prefix + "createdAt=T2024-01-01T00:00&id=Lone"), sort))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(prefix + "createdAt=X2024-01-01T00:00&id=L1"), sort))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(prefix + "createdAt=&id=L1"), sort))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(prefix + "id"), sort))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void rejectsKeysOtherThanTheSortProperties() {
+        Sort sort = KeysetCursor.sort("createdAt", "desc", ALLOWED);
+        String issued = payload(cursorFor(sort, keys("createdAt", LocalDateTime.of(2024, 1, 1, 0, 0), 9L)));
+
+        String renamed = issued.replace("createdAt=", "customer.password=");
+        String dropped = issued.substring(0, issued.indexOf('|') + 1) + "id=L9";
+        String extra = issued + "&status=SPAID";
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(renamed), sort))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(dropped), sort))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursorOf(extra), sort))
+                .isInstanceOf(ValidationException.class);
+        assertThat(KeysetCursor.decode(cursorOf(issued), sort)).isInstanceOf(KeysetScrollPosition.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.roze.nexacommerce.common.id;
+
+import com.roze.nexacommerce.config.IdGeneratorProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeOrderedIdGeneratorTest {
+    private static final String CROCKFORD = "[0-9A-HJKMNP-TV-Z]{13}";
+
+    private static TimeOrderedIdGenerator generator(int nodeId) {
+        NodeIdLease nodeIdLease = mock(NodeIdLease.class);
+        when(nodeIdLease.nodeId()).thenReturn(nodeId);
+        return new TimeOrderedIdGenerator(nodeIdLease, new IdGeneratorProperties());
+    }
+
+    @Test
+    void idsStrictlyIncreaseEvenPastTheSequenceOfOneMillisecond() {
+        TimeOrderedIdGenerator generator = generator(7);
+
+        // Far more than the 4096 ids a millisecond holds, so the sequence borrows ahead
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void idsCarryTheLeasedNodeId() {
+        long id = generator(1023).nextId();
+
+        assertThat((id >>> 12) & 1023).isEqualTo(1023);
+    }
+
+    @Test
+    void numbersAreFixedWidthCrockfordAndSortLikeTheirIds() {
+        TimeOrderedIdGenerator generator = generator(3);
+
+        String previous = generator.nextOrderNumber();
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.nextOrderNumber();
+            assertThat(next).matches("ORD-" + CROCKFORD);
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+        assertThat(generator.nextReturnNumber()).matches("RMA-" + CROCKFORD);
+    }
+
+    @Test
+    void encodesEveryIdInThirteenCharacters() {
+        assertThat(TimeOrderedIdGenerator.encode(0)).isEqualTo("0000000000000");
+        assertThat(TimeOrderedIdGenerator.encode(31)).isEqualTo("000000000000Z");
+        assertThat(TimeOrderedIdGenerator.encode(32)).isEqualTo("0000000000010");
+        assertThat(TimeOrderedIdGenerator.encode(Long.MAX_VALUE)).isEqualTo("7ZZZZZZZZZZZZ");
+        assertThat(TimeOrderedIdGenerator.encode(Long.MAX_VALUE - 1)).isLessThan(TimeOrderedIdGenerator.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    void concurrentCallersNeverShareAnId() throws Exception {
+        TimeOrderedIdGenerator generator = generator(42);
+        int threads = 8;
+        int perThread = 20_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> callers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+}
@@ -0,0 +1,290 @@
+package com.roze.nexacommerce.config;
+
+import com.roze.nexacommerce.brand.entity.Brand;
+import com.roze.nexacommerce.category.entity.Category;
+import com.roze.nexacommerce.common.BaseEntity;
+import com.roze.nexacommerce.order.dto.response.OrderItemResponse;
+import com.roze.nexacommerce.order.dto.response.OrderResponse;
+import com.roze.nexacommerce.order.entity.Order;
+import com.roze.nexacommerce.order.entity.OrderAddress;
+import com.roze.nexacommerce.order.entity.OrderHistory;
+import com.roze.nexacommerce.order.entity.OrderItem;
+import com.roze.nexacommerce.order.enums.OrderAction;
+import com.roze.nexacommerce.order.mapper.OrderMapper;
+import com.roze.nexacommerce.order.mapper.OrderMapperImpl;
+import com.roze.nexacommerce.product.dto.response.ProductAttributeResponse;
+import com.roze.nexacommerce.product.dto.response.ProductImageResponse;
+import com.roze.nexacommerce.product.dto.response.ProductResponse;
+import com.roze.nexacommerce.product.entity.Product;
+import com.roze.nexacommerce.product.entity.ProductAttribute;
+import com.roze.nexacommerce.product.entity.ProductImage;
+import com.roze.nexacommerce.product.enums.ProductStatus;
+import com.roze.nexacommerce.product.mapper.ProductMapper;
+import com.roze.nexacommerce.product.mapper.ProductMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The generated MapStruct mappers against the ModelMapper setup they replaced, on an order with
+ * ten lines and a product with its images and attributes. The ModelMapper side reproduces the
+ * old ModelMapperConfig and mapper code. Started by {@link MappingBenchmarkTest}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+    static final int ORDER_LINES = 10;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    private ModelMapper modelMapper;
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        modelMapper = legacyModelMapper();
+        Category category = Category.builder().name("Audio").slug("audio").build();
+        category.setId(3L);
+        Brand brand = Brand.builder().name("Acme").slug("acme").build();
+        brand.setId(4L);
+
+        product = product(1L, category, brand);
+        order = Order.builder()
+                .orderNumber("ORD-0000000000001")
+                .guestName("Guest Buyer")
+                .guestEmail("guest@example.com")
+                .shippingAddress(address())
+                .billingAddress(address())
+                .customerNotes("Leave at the door")
+                .build();
+        order.setId(100L);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        for (int i = 0; i < ORDER_LINES; i++) {
+            order.addOrderItem(OrderItem.builder()
+                    .product(product(10L + i, category, brand))
+                    .quantity(1 + i % 3)
+                    .price(new BigDecimal("19.99"))
+                    .compareAtPrice(new BigDecimal("24.99"))
+                    .productName("Product " + i)
+                    .productSku("SKU-" + i)
+                    .productImage("https://cdn.example.com/" + i + ".jpg")
+                    .build());
+        }
+        for (OrderAction action : List.of(OrderAction.ORDER_CREATED, OrderAction.STATUS_CHANGED)) {
+            order.addHistory(OrderHistory.builder().action(action).description(action.name()).build());
+        }
+        order.calculateTotals();
+    }
+
+    @Benchmark
+    public OrderResponse orderMapStruct() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderResponse orderModelMapper() {
+        return legacyOrderResponse(modelMapper, order);
+    }
+
+    @Benchmark
+    public ProductResponse productMapStruct() {
+        return productMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public ProductResponse productModelMapper() {
+        return legacyProductResponse(modelMapper, product);
+    }
+
+    Order order() {
+        return order;
+    }
+
+    Product product() {
+        return product;
+    }
+
+    OrderMapper orderMapper() {
+        return orderMapper;
+    }
+
+    ProductMapper productMapper() {
+        return productMapper;
+    }
+
+    ModelMapper modelMapper() {
+        return modelMapper;
+    }
+
+    private static Product product(long id, Category category, Brand brand) {
+        Product product = Product.builder()
+                .name("Wireless headphones " + id)
+                .sku("SKU-P" + id)
+                .description("Over-ear wireless headphones with noise cancelling")
+                .shortDescription("Wireless headphones")
+                .price(new BigDecimal("99.90"))
+                .compareAtPrice(new BigDecimal("129.90"))
+                .stock(25)
+                .lowStockThreshold(5)
+                .trackQuantity(true)
+                .allowBackorder(false)
+                .status(ProductStatus.ACTIVE)
+                .published(true)
+                .featured(false)
+                .category(category)
+                .brand(brand)
+                .build();
+        product.setId(id);
+        for (int i = 0; i < 5; i++) {
+            ProductImage image = ProductImage.builder()
+                    .imageUrl("https://cdn.example.com/" + id + "/" + i + ".jpg")
+                    .altText("Image " + i)
+                    .displayOrder(i)
+                    .isPrimary(i == 0)
+                    .build();
+            image.setId(id * 100 + i);
+            product.addImage(image);
+        }
+        for (int i = 0; i < 8; i++) {
+            ProductAttribute attribute = ProductAttribute.builder()
+                    .name("Attribute " + i)
+                    .value("Value " + i)
+                    .displayOrder(i)
+                    .build();
+            attribute.setId(id * 100 + i);
+            product.addAttribute(attribute);
+        }
+        return product;
+    }
+
+    private static OrderAddress address() {
+        return OrderAddress.builder()
+                .fullName("Guest Buyer")
+                .phone("01700000000")
+                .area("Gulshan")
+                .addressLine("House 1, Road 2")
+                .city("Dhaka")
+                .build();
+    }
+
+    // The removed ModelMapperConfig
+    private static ModelMapper legacyModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true)
+                .setDeepCopyEnabled(false)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        List<String> baseEntityFields = Arrays.stream(BaseEntity.class.getDeclaredFields())
+                .map(Field::getName)
+                .collect(Collectors.toList());
+        modelMapper.getConfiguration().setPropertyCondition(context -> {
+            String destinationFieldName = context.getMapping().getLastDestinationProperty().getName();
+            boolean isDestinationBaseEntity = BaseEntity.class.isAssignableFrom(context.getDestinationType());
+            return !(isDestinationBaseEntity && baseEntityFields.contains(destinationFieldName));
+        });
+        return modelMapper;
+    }
+
+    // The removed ModelMapper-based OrderMapper.toResponse
+    static OrderResponse legacyOrderResponse(ModelMapper modelMapper, Order order) {
+        OrderResponse response = modelMapper.map(order, OrderResponse.class);
+        if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
+            response.setItems(order.getOrderItems().stream()
+                    .map(item -> legacyOrderItemResponse(modelMapper, item))
+                    .collect(Collectors.toList()));
+        }
+        if (order.getCustomer() != null) {
+            response.setCustomerId(order.getCustomer().getId());
+            if (order.getCustomer().getUser() != null) {
+                response.setCustomerName(order.getCustomer().getUser().getName());
+                response.setCustomerEmail(order.getCustomer().getUser().getEmail());
+            }
+        } else {
+            response.setCustomerName(order.getGuestName());
+            response.setCustomerEmail(order.getGuestEmail());
+        }
+        if (order.getVendor() != null) {
+            response.setVendorId(order.getVendor().getId());
+            response.setVendorName(order.getVendor().getCompanyName());
+        }
+        if (order.getProcessedBy() != null) {
+            response.setProcessedByUserId(order.getProcessedBy().getId());
+            response.setProcessedByName(order.getProcessedBy().getName());
+        }
+        return response;
+    }
+
+    private static OrderItemResponse legacyOrderItemResponse(ModelMapper modelMapper, OrderItem orderItem) {
+        OrderItemResponse response = modelMapper.map(orderItem, OrderItemResponse.class);
+        if (orderItem.getProduct() != null) {
+            response.setProductId(orderItem.getProduct().getId());
+            response.setProductName(orderItem.getProductName() != null ?
+                    orderItem.getProductName() : orderItem.getProduct().getName());
+            response.setProductSku(orderItem.getProductSku() != null ?
+                    orderItem.getProductSku() : orderItem.getProduct().getSku());
+            if (orderItem.getProductImage() == null &&
+                    orderItem.getProduct().getImages() != null &&
+                    !orderItem.getProduct().getImages().isEmpty()) {
+                response.setProductImage(orderItem.getProduct().getImages().get(0).getImageUrl());
+            }
+        }
+        return response;
+    }
+
+    // The removed ModelMapper-based ProductMapper.toResponse
+    static ProductResponse legacyProductResponse(ModelMapper modelMapper, Product product) {
+        ProductResponse response = modelMapper.map(product, ProductResponse.class);
+        if (product.getVendor() != null) {
+            response.setVendorId(product.getVendor().getId());
+            response.setVendorName(product.getVendor().getCompanyName());
+        }
+        if (product.getCategory() != null) {
+            response.setCategoryId(product.getCategory().getId());
+            response.setCategoryName(product.getCategory().getName());
+        }
+        if (product.getBrand() != null) {
+            response.setBrandId(product.getBrand().getId());
+            response.setBrandName(product.getBrand().getName());
+            response.setBrandSlug(product.getBrand().getSlug());
+        }
+        if (product.getImages() != null) {
+            response.setImages(product.getImages().stream()
+                    .map(image -> modelMapper.map(image, ProductImageResponse.class))
+                    .collect(Collectors.toList()));
+        }
+        if (product.getAttributes() != null) {
+            response.setAttributes(product.getAttributes().stream()
+                    .map(attribute -> modelMapper.map(attribute, ProductAttributeResponse.class))
+                    .collect(Collectors.toList()));
+        }
+        response.setInStock(product.isInStock());
+        response.setLowStock(product.isLowStock());
+        response.setAvailable(product.isAvailable());
+        return response;
+    }
+}
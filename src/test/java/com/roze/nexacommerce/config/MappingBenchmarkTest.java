@@ -0,0 +1,52 @@
+package com.roze.nexacommerce.config;
+
+import com.roze.nexacommerce.order.dto.response.OrderItemResponse;
+import com.roze.nexacommerce.order.dto.response.OrderResponse;
+import com.roze.nexacommerce.product.dto.response.ProductResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.groups.Tuple;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link MappingBenchmark} with {@code mvn test -Pbenchmark}, after checking both sides
+ * produce the same responses so the timings compare like with like.
+ */
+@Tag("benchmark")
+class MappingBenchmarkTest {
+
+    @Test
+    void mapStructAndModelMapperProduceTheSameResponses() {
+        MappingBenchmark benchmark = new MappingBenchmark();
+        benchmark.setUp();
+
+        OrderResponse generated = benchmark.orderMapper().toResponse(benchmark.order());
+        OrderResponse legacy = MappingBenchmark.legacyOrderResponse(benchmark.modelMapper(), benchmark.order());
+        assertThat(generated.getItems()).hasSize(MappingBenchmark.ORDER_LINES);
+        assertThat(generated.getItems()).extracting(OrderItemResponse::getProductId, OrderItemResponse::getProductName)
+                .containsExactlyElementsOf(legacy.getItems().stream()
+                        .map(item -> Tuple.tuple(item.getProductId(), item.getProductName()))
+                        .toList());
+        assertThat(generated).usingRecursiveComparison().ignoringFields("items", "history").isEqualTo(legacy);
+
+        ProductResponse product = benchmark.productMapper().toResponse(benchmark.product());
+        ProductResponse legacyProduct = MappingBenchmark.legacyProductResponse(benchmark.modelMapper(), benchmark.product());
+        assertThat(product).usingRecursiveComparison().isEqualTo(legacyProduct);
+    }
+
+    @Test
+    void runMappingBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(MappingBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).hasSize(4);
+    }
+}
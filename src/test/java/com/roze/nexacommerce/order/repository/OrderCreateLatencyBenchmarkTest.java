@@ -0,0 +1,132 @@
+package com.roze.nexacommerce.order.repository;
+
+import com.roze.nexacommerce.config.JpaAuditingConfig;
+import com.roze.nexacommerce.order.entity.Order;
+import com.roze.nexacommerce.order.entity.OrderItem;
+import com.roze.nexacommerce.product.entity.Product;
+import com.roze.nexacommerce.product.repository.ProductRepository;
+import com.roze.nexacommerce.support.CatalogFixtures;
+import com.roze.nexacommerce.support.LatencyReport;
+import com.roze.nexacommerce.support.PostgresRepositoryTest;
+import com.roze.nexacommerce.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creates 1, 10 and 50-line orders the way checkout used to, with one product lookup and one
+ * stock decrement per line in cart order, and the way it does now, with one product query and
+ * the decrements in product id order. Reports statements and commit latency for each. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(JpaAuditingConfig.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderCreateLatencyBenchmarkTest extends PostgresRepositoryTest {
+    private static final int[] LINES = {1, 10, 50};
+    private static final int QUANTITY = 1;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareOrderCreationByLineCount() {
+        CatalogFixtures fixtures = new CatalogFixtures(jdbcTemplate);
+        long categoryId = fixtures.category("Checkout");
+        fixtures.products(categoryId, null, LINES[LINES.length - 1], 1_000_000);
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE category_id = ? ORDER BY id", Long.class, categoryId);
+        productIds.forEach(productId -> fixtures.images(productId, 3));
+        fixtures.analyze();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        StatementCounter statements = new StatementCounter(entityManagerFactory);
+        LatencyReport report = new LatencyReport("Create an order: load products, take stock, insert and commit");
+
+        for (int lines : LINES) {
+            // Carts list products in the order they were added, not by id
+            List<Long> cart = new ArrayList<>(productIds.subList(0, lines));
+            Collections.shuffle(cart, new Random(lines));
+
+            Runnable perLine = () -> transaction.executeWithoutResult(status -> createPerLine(cart));
+            Runnable batched = () -> transaction.executeWithoutResult(status -> createBatched(cart));
+
+            long perLineStatements = statements.count(perLine);
+            long batchedStatements = statements.count(batched);
+
+            report.measure(lines + " lines, per line (" + perLineStatements + " statements)", 20, 200, perLine);
+            report.measure(lines + " lines, one query (" + batchedStatements + " statements)", 20, 200, batched);
+
+            assertThat(batchedStatements).isLessThanOrEqualTo(perLineStatements);
+        }
+        report.print();
+    }
+
+    private void createPerLine(List<Long> cart) {
+        List<Product> products = new ArrayList<>();
+        for (Long productId : cart) {
+            Product product = productRepository.findById(productId).orElseThrow();
+            assertThat(productRepository.decrementStock(productId, QUANTITY, false)).isEqualTo(1);
+            products.add(product);
+        }
+        saveOrder(products);
+    }
+
+    private void createBatched(List<Long> cart) {
+        Map<Long, Product> products = productRepository.findByIdIn(cart).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : new TreeSet<>(cart)) {
+            assertThat(productRepository.decrementStock(productId, QUANTITY, false)).isEqualTo(1);
+        }
+        saveOrder(cart.stream().map(products::get).toList());
+    }
+
+    private void saveOrder(List<Product> products) {
+        Order order = Order.builder()
+                .orderNumber("BENCH-" + UUID.randomUUID())
+                .guestEmail("bench@example.com")
+                .guestName("Bench")
+                .build();
+        for (Product product : products) {
+            // The same snapshot fields checkout copies from each product
+            order.addOrderItem(OrderItem.builder()
+                    .product(product)
+                    .quantity(QUANTITY)
+                    .price(product.getPrice())
+                    .compareAtPrice(product.getCompareAtPrice())
+                    .productName(product.getName())
+                    .productSku(product.getSku())
+                    .productImage(!product.getImages().isEmpty() ? product.getImages().get(0).getImageUrl() : null)
+                    .build());
+        }
+        order.calculateTotals();
+        orderRepository.save(order);
+    }
+}
@@ -0,0 +1,111 @@
+package com.roze.nexacommerce.order.repository;
+
+import com.roze.nexacommerce.config.JpaAuditingConfig;
+import com.roze.nexacommerce.order.entity.Order;
+import com.roze.nexacommerce.order.entity.OrderItem;
+import com.roze.nexacommerce.product.repository.ProductRepository;
+import com.roze.nexacommerce.support.CatalogFixtures;
+import com.roze.nexacommerce.support.LatencyReport;
+import com.roze.nexacommerce.support.PostgresRepositoryTest;
+import com.roze.nexacommerce.support.StatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Persists a 30-line order with JDBC batching switched off for the session and with the
+ * configured batch size, and reports prepared statements and commit latency for both. Run
+ * with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(JpaAuditingConfig.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBatchingBenchmarkTest extends PostgresRepositoryTest {
+    private static final int LINES = 30;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareUnbatchedAndBatchedOrderInserts() {
+        CatalogFixtures fixtures = new CatalogFixtures(jdbcTemplate);
+        long categoryId = fixtures.category("Everything");
+        fixtures.products(categoryId, null, LINES, 1_000);
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE category_id = ? ORDER BY id", Long.class, categoryId);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        StatementCounter statements = new StatementCounter(entityManagerFactory);
+        int configured = entityManagerFactory.unwrap(SessionFactory.class).getSessionFactoryOptions().getJdbcBatchSize();
+
+        Runnable unbatched = () -> transaction.executeWithoutResult(status -> saveOrder(productIds, 1));
+        Runnable batched = () -> transaction.executeWithoutResult(status -> saveOrder(productIds, configured));
+
+        long unbatchedStatements = statements.count(unbatched);
+        long batchedStatements = statements.count(batched);
+
+        LatencyReport report = new LatencyReport("Create a " + LINES + "-line order, insert and commit");
+        report.measure("jdbc batch size 1 (" + unbatchedStatements + " statements)", 20, 200, unbatched);
+        report.measure("jdbc batch size " + configured + " (" + batchedStatements + " statements)", 20, 200, batched);
+        report.print();
+
+        assertThat(configured).as("hibernate.jdbc.batch_size").isGreaterThanOrEqualTo(LINES);
+        assertThat(batchedStatements).isLessThan(unbatchedStatements);
+    }
+
+    private void saveOrder(List<Long> productIds, Integer jdbcBatchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+
+        Order order = Order.builder()
+                .orderNumber("BENCH-" + UUID.randomUUID())
+                .guestEmail("bench@example.com")
+                .guestName("Bench")
+                .build();
+        for (Long productId : productIds) {
+            // Snapshot fields set up front, as checkout does, so no product row is loaded
+            order.addOrderItem(OrderItem.builder()
+                    .product(productRepository.getReferenceById(productId))
+                    .quantity(2)
+                    .price(new BigDecimal("12.50"))
+                    .productName("Product " + productId)
+                    .productSku("SKU-" + productId)
+                    .productImage("https://cdn.example.com/" + productId + ".jpg")
+                    .build());
+        }
+        order.calculateTotals();
+        orderRepository.save(order);
+    }
+}
@@ -0,0 +1,128 @@
+package com.roze.nexacommerce.product.repository;
+
+import com.roze.nexacommerce.category.entity.Category;
+import com.roze.nexacommerce.category.repository.CategoryRepository;
+import com.roze.nexacommerce.product.dto.response.ProductResponse;
+import com.roze.nexacommerce.product.entity.Product;
+import com.roze.nexacommerce.product.mapper.ProductMapper;
+import com.roze.nexacommerce.product.mapper.ProductMapperImpl;
+import com.roze.nexacommerce.support.CatalogFixtures;
+import com.roze.nexacommerce.support.PostgresRepositoryTest;
+import com.roze.nexacommerce.support.StatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A listing page mapped to responses costs the same statements whatever its size: the page
+ * query with category, brand and vendor joined in (Product.SUMMARY_GRAPH), the count query,
+ * and one batched IN query each for images and attributes.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ProductMapperImpl.class)
+class ProductListingQueryTest extends PostgresRepositoryTest {
+    private static final int PRODUCTS_PER_CATEGORY = 100;
+    private static final long STATEMENTS_PER_PAGE = 4;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statements;
+    private long audioId;
+
+    @BeforeEach
+    void seedCatalog() {
+        CatalogFixtures fixtures = new CatalogFixtures(jdbcTemplate);
+        audioId = fixtures.category("Audio");
+        fixtures.products(audioId, fixtures.brand("Acme"), PRODUCTS_PER_CATEGORY, 5);
+        long kitchenId = fixtures.category("Kitchen");
+        fixtures.products(kitchenId, fixtures.brand("Globex"), PRODUCTS_PER_CATEGORY, 5);
+
+        List<Long> productIds = jdbcTemplate.queryForList("SELECT id FROM products", Long.class);
+        for (Long productId : productIds) {
+            fixtures.images(productId, 2);
+            fixtures.attributes(productId, 3);
+        }
+        statements = new StatementCounter(entityManagerFactory);
+    }
+
+    /**
+     * Maps the page the way ProductServiceImpl does, touching every association a response shows.
+     */
+    private long statementsFor(Function<Pageable, Page<Product>> listing, int pageSize) {
+        // Each page starts from an empty persistence context, as a request does
+        entityManager.clear();
+        return statements.count(() -> {
+            Page<Product> page = listing.apply(PageRequest.of(0, pageSize, Sort.by("id")));
+            List<ProductResponse> responses = page.getContent().stream().map(productMapper::toResponse).toList();
+
+            assertThat(responses).hasSize(pageSize);
+            assertThat(responses).allSatisfy(response -> {
+                assertThat(response.getCategoryName()).isNotNull();
+                assertThat(response.getBrandName()).isNotNull();
+                assertThat(response.getImages()).hasSize(2);
+                assertThat(response.getAttributes()).hasSize(3);
+            });
+        });
+    }
+
+    @Test
+    void allProductsPageUsesAFixedNumberOfStatements() {
+        for (int pageSize : new int[]{10, 50, 100}) {
+            assertThat(statementsFor(productRepository::findAll, pageSize))
+                    .as("statements for a page of %d", pageSize)
+                    .isEqualTo(STATEMENTS_PER_PAGE);
+        }
+    }
+
+    @Test
+    void categoryPageUsesAFixedNumberOfStatements() {
+        Category audio = categoryRepository.getReferenceById(audioId);
+
+        for (int pageSize : new int[]{10, 50}) {
+            assertThat(statementsFor(pageable -> productRepository.findActiveProductsByCategory(audio, pageable), pageSize))
+                    .as("statements for a page of %d", pageSize)
+                    .isEqualTo(STATEMENTS_PER_PAGE);
+        }
+    }
+
+    @Test
+    void priceRangePageUsesAFixedNumberOfStatements() {
+        for (int pageSize : new int[]{10, 50}) {
+            assertThat(statementsFor(pageable -> productRepository.findByPriceRange(
+                    BigDecimal.ZERO, new BigDecimal("100000"), pageable), pageSize))
+                    .as("statements for a page of %d", pageSize)
+                    .isEqualTo(STATEMENTS_PER_PAGE);
+        }
+    }
+}
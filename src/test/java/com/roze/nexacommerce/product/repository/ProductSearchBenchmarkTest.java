@@ -0,0 +1,68 @@
+package com.roze.nexacommerce.product.repository;
+
+import com.roze.nexacommerce.support.CatalogFixtures;
+import com.roze.nexacommerce.support.LatencyReport;
+import com.roze.nexacommerce.support.PostgresRepositoryTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JPQL LIKE search against the tsvector/GIN full-text search on a seeded catalog, for the first
+ * page of the queries below. Run with {@code mvn test -Pbenchmark}; the catalog size defaults
+ * to 1M rows and can be lowered with {@code -Dbenchmark.products=100000}.
+ */
+@Tag("benchmark")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchBenchmarkTest extends PostgresRepositoryTest {
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final List<String> QUERIES = List.of("wireless", "leather wallet", "smart wat", "98765");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareJpqlAndFullTextSearch() {
+        CatalogFixtures fixtures = new CatalogFixtures(jdbcTemplate);
+        long categoryId = fixtures.category("Everything");
+        fixtures.products(categoryId, fixtures.brand("Acme"), PRODUCTS, 10);
+        fixtures.analyze();
+
+        LatencyReport report = new LatencyReport("Product search, first page of 20, " + PRODUCTS + " products");
+        // The JPQL path sorts relevance by name, as SearchServiceImpl.applySorting does
+        Pageable byName = PageRequest.of(0, 20, Sort.by("name"));
+        Pageable unsorted = PageRequest.of(0, 20);
+        for (String query : QUERIES) {
+            // Same shape as SearchServiceImpl.toPrefixTsQuery
+            String tsQuery = Arrays.stream(query.split(" ")).map(token -> token + ":*").collect(Collectors.joining(" & "));
+
+            report.measure("jpql like '" + query + "'", 2, 10, () -> productRepository.searchWithFilters(
+                    query, null, null, null, null, null, null, byName));
+            report.measure("full-text '" + tsQuery + "'", 2, 10, () -> productRepository.searchWithFullText(
+                    tsQuery, false, List.of(-1L), false, List.of(-1L), null, null, null, null, "relevance", unsorted));
+
+            // An empty result would make either timing meaningless
+            assertThat(productRepository.searchWithFilters(query, null, null, null, null, null, null, byName)
+                    .getTotalElements()).as("LIKE hits for '%s'", query).isPositive();
+            assertThat(productRepository.searchWithFullText(
+                    tsQuery, false, List.of(-1L), false, List.of(-1L), null, null, null, null, "relevance", unsorted)
+                    .getTotalElements()).as("full-text hits for '%s'", query).isPositive();
+        }
+        report.print();
+    }
+}
@@ -0,0 +1,89 @@
+package com.roze.nexacommerce.product.repository;
+
+import com.roze.nexacommerce.product.search.dto.ProductSearchResultProjection;
+import com.roze.nexacommerce.support.CatalogFixtures;
+import com.roze.nexacommerce.support.PostgresRepositoryTest;
+import com.roze.nexacommerce.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search result hydration must stay a single statement however large the page is, including
+ * the image, category and brand that used to be loaded per product.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductSearchResultQueryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statements;
+    private List<Long> productIds;
+
+    @BeforeEach
+    void seedCatalog() {
+        CatalogFixtures fixtures = new CatalogFixtures(jdbcTemplate);
+        long categoryId = fixtures.category("Audio");
+        fixtures.products(categoryId, fixtures.brand("Acme"), 60, 5);
+        productIds = jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE category_id = ? ORDER BY id", Long.class, categoryId);
+        for (Long productId : productIds) {
+            fixtures.images(productId, 3);
+        }
+        statements = new StatementCounter(entityManagerFactory);
+    }
+
+    @Test
+    void hydratesAPageInOneStatementRegardlessOfSize() {
+        for (int pageSize : new int[]{1, 20, 60}) {
+            List<Long> page = productIds.subList(0, pageSize);
+
+            long count = statements.count(() ->
+                    assertThat(productRepository.findSearchResultsByIdIn(page)).hasSize(pageSize));
+
+            assertThat(count).as("statements for a page of %d", pageSize).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void returnsTheColumnsASearchResultShows() {
+        Long productId = productIds.get(0);
+        jdbcTemplate.update("UPDATE product_images SET is_primary = (display_order = 2) WHERE product_id = ?", productId);
+
+        Map<Long, ProductSearchResultProjection> results = productRepository.findSearchResultsByIdIn(productIds.subList(0, 2))
+                .stream().collect(Collectors.toMap(ProductSearchResultProjection::getId, Function.identity()));
+
+        ProductSearchResultProjection result = results.get(productId);
+        assertThat(result.getCategoryName()).isEqualTo("Audio");
+        assertThat(result.getBrandName()).isEqualTo("Acme");
+        assertThat(result.getInStock()).isTrue();
+        assertThat(result.getImageUrl()).endsWith("/" + productId + "/2.jpg");
+        assertThat(results.get(productIds.get(1)).getImageUrl()).endsWith("/" + productIds.get(1) + "/1.jpg");
+    }
+
+    @Test
+    void skipsDeletedProducts() {
+        jdbcTemplate.update("UPDATE products SET deleted = true WHERE id = ?", productIds.get(0));
+
+        assertThat(productRepository.findSearchResultsByIdIn(productIds.subList(0, 3)))
+                .extracting(ProductSearchResultProjection::getId)
+                .containsExactlyInAnyOrderElementsOf(productIds.subList(1, 3));
+    }
+}
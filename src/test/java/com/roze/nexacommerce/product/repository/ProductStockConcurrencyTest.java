@@ -0,0 +1,162 @@
+package com.roze.nexacommerce.product.repository;
+
+import com.roze.nexacommerce.support.CatalogFixtures;
+import com.roze.nexacommerce.support.PostgresRepositoryTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many checkouts racing for fewer units than there are buyers, each in its own transaction on
+ * its own connection, the way OrderServiceImpl takes stock. Exactly as many succeed as there
+ * were units, and no product is ever seen below zero.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest extends PostgresRepositoryTest {
+    private static final int CHECKOUTS = 64;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogFixtures fixtures;
+    private TransactionTemplate transaction;
+    private long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new CatalogFixtures(jdbcTemplate);
+        transaction = new TransactionTemplate(transactionManager);
+        categoryId = fixtures.category("Limited " + UUID.randomUUID());
+    }
+
+    @Test
+    void singleUnitCheckoutsTakeExactlyTheStock() throws Exception {
+        int stock = 10;
+        long productId = product(stock);
+
+        int succeeded = race(List.of(productId), () -> transaction.execute(status ->
+                productRepository.decrementStock(productId, 1, false) == 1));
+
+        assertThat(succeeded).isEqualTo(stock);
+        assertThat(stockOf(productId)).isZero();
+    }
+
+    @Test
+    void multiUnitCheckoutsNeverTakeMoreThanIsLeft() throws Exception {
+        long productId = product(10);
+
+        int succeeded = race(List.of(productId), () -> transaction.execute(status ->
+                productRepository.decrementStock(productId, 3, false) == 1));
+
+        assertThat(succeeded).isEqualTo(3);
+        assertThat(stockOf(productId)).isEqualTo(1);
+    }
+
+    @Test
+    void multiLineCheckoutsRollBackEveryLineWhenOneIsShort() throws Exception {
+        long plentiful = product(20);
+        long scarce = product(5);
+        List<Long> lines = List.of(Math.min(plentiful, scarce), Math.max(plentiful, scarce));
+
+        // Lines are taken in id order and a short line fails the whole checkout, as in OrderServiceImpl
+        int succeeded = race(lines, () -> {
+            try {
+                return transaction.execute(status -> {
+                    for (Long productId : lines) {
+                        if (productRepository.decrementStock(productId, 1, false) == 0) {
+                            throw new IllegalStateException("Insufficient stock for product " + productId);
+                        }
+                    }
+                    return true;
+                });
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        });
+
+        assertThat(succeeded).isEqualTo(5);
+        assertThat(stockOf(scarce)).isZero();
+        assertThat(stockOf(plentiful)).isEqualTo(15);
+    }
+
+    private long product(int stock) {
+        return fixtures.product(categoryId, "Sneaker " + UUID.randomUUID(), stock);
+    }
+
+    private int stockOf(long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    /**
+     * Releases {@link #CHECKOUTS} checkouts at once and counts the ones that got their stock,
+     * while a watcher samples the products and records the lowest stock it ever sees.
+     */
+    private int race(List<Long> productIds, Callable<Boolean> checkout) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CHECKOUTS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger lowestSeen = new AtomicInteger(Integer.MAX_VALUE);
+        try {
+            Future<?> watcher = executor.submit(() -> {
+                while (running.get()) {
+                    Integer lowest = jdbcTemplate.queryForObject(
+                            "SELECT MIN(stock) FROM products WHERE id IN (" + ids(productIds) + ")", Integer.class);
+                    lowestSeen.accumulateAndGet(lowest, Math::min);
+                }
+            });
+
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < CHECKOUTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return checkout.call();
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (Boolean.TRUE.equals(result.get(60, TimeUnit.SECONDS))) {
+                    succeeded++;
+                }
+            }
+            running.set(false);
+            watcher.get(10, TimeUnit.SECONDS);
+
+            assertThat(lowestSeen.get()).as("lowest stock observed during the race").isNotNegative();
+            return succeeded;
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private static String ids(List<Long> productIds) {
+        return String.join(",", productIds.stream().map(String::valueOf).toList());
+    }
+}
@@ -0,0 +1,107 @@
+package com.roze.nexacommerce.product.search.popular;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTest {
+    private static final int WIDTH = 2048;
+    private static final int DEPTH = 4;
+
+    /**
+     * Skewed stream: a few heavy queries and a long tail, like real search traffic.
+     */
+    private static Map<String, Long> recordSkewedStream(CountMinSketch sketch, int distinct, int total) {
+        Random random = new Random(42);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < total; i++) {
+            // Squaring a uniform draw favours low ranks
+            double draw = random.nextDouble();
+            String item = "query " + (int) (draw * draw * distinct);
+            sketch.add(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+        return exact;
+    }
+
+    @Test
+    void neverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<String, Long> exact = recordSkewedStream(sketch, 20_000, 200_000);
+
+        exact.forEach((item, count) -> assertThat(sketch.estimate(item)).as(item).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void overcountsWithinTheConfiguredErrorBound() {
+        int total = 200_000;
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<String, Long> exact = recordSkewedStream(sketch, 20_000, total);
+
+        // Each estimate exceeds the true count by more than e/width of the stream with probability at most e^-depth
+        double bound = Math.E / WIDTH * total;
+        long beyondBound = exact.entrySet().stream()
+                .filter(entry -> sketch.estimate(entry.getKey()) - entry.getValue() > bound)
+                .count();
+        assertThat((double) beyondBound / exact.size()).isLessThanOrEqualTo(Math.exp(-DEPTH) * 2);
+    }
+
+    @Test
+    void addReturnsTheUpdatedEstimate() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+
+        assertThat(sketch.add("laptop")).isEqualTo(1);
+        assertThat(sketch.add("laptop")).isEqualTo(2);
+        assertThat(sketch.estimate("laptop")).isEqualTo(2);
+        assertThat(sketch.estimate("never seen")).isZero();
+    }
+
+    @Test
+    void mergeMatchesCountingBothStreamsInOneSketch() {
+        CountMinSketch first = new CountMinSketch(WIDTH, DEPTH);
+        CountMinSketch second = new CountMinSketch(WIDTH, DEPTH);
+        CountMinSketch combined = new CountMinSketch(WIDTH, DEPTH);
+        for (int i = 0; i < 5_000; i++) {
+            String item = "query " + (i % 300);
+            (i % 2 == 0 ? first : second).add(item);
+            combined.add(item);
+        }
+
+        first.merge(second);
+
+        for (int i = 0; i < 300; i++) {
+            assertThat(first.estimate("query " + i)).isEqualTo(combined.estimate("query " + i));
+        }
+    }
+
+    @Test
+    void rejectsMergingSketchesOfDifferentDimensions() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+
+        assertThatThrownBy(() -> sketch.merge(new CountMinSketch(WIDTH / 2, DEPTH)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encodesAndDecodesLosslessly() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<String, Long> exact = recordSkewedStream(sketch, 1_000, 10_000);
+
+        CountMinSketch decoded = CountMinSketch.decode(sketch.encode(), WIDTH, DEPTH);
+
+        assertThat(decoded).isNotNull();
+        exact.keySet().forEach(item -> assertThat(decoded.estimate(item)).isEqualTo(sketch.estimate(item)));
+    }
+
+    @Test
+    void decodeReturnsNullForOtherDimensions() {
+        String encoded = new CountMinSketch(WIDTH, DEPTH).encode();
+
+        assertThat(CountMinSketch.decode(encoded, WIDTH, DEPTH + 1)).isNull();
+    }
+}
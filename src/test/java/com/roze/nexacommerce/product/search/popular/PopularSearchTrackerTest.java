@@ -0,0 +1,61 @@
+package com.roze.nexacommerce.product.search.popular;
+
+import com.roze.nexacommerce.config.SearchProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PopularSearchTrackerTest {
+
+    // The mocked template returns no operations, so every Redis call fails and the tracker uses local counts
+    @SuppressWarnings("unchecked")
+    private static PopularSearchTracker tracker(int maxCandidates) {
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.getPopular().setEnabled(true);
+        searchProperties.getPopular().setMaxCandidates(maxCandidates);
+        return new PopularSearchTracker(mock(RedisTemplate.class), searchProperties);
+    }
+
+    @Test
+    void keepsCandidatesAtCapacityUnderAFloodOfUniqueQueries() {
+        PopularSearchTracker tracker = tracker(50);
+
+        for (int i = 0; i < 100_000; i++) {
+            tracker.record("unique query " + i);
+        }
+
+        assertThat(tracker.candidateCount()).isEqualTo(50);
+    }
+
+    @Test
+    void frequentQueriesDisplaceRareOnesAndArePublished() {
+        PopularSearchTracker tracker = tracker(10);
+
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record("rare " + i);
+            if (i % 20 == 0) {
+                tracker.record("Laptop");
+            }
+            if (i % 40 == 0) {
+                tracker.record("phone case");
+            }
+        }
+        tracker.refresh();
+
+        assertThat(tracker.candidateCount()).isLessThanOrEqualTo(10);
+        assertThat(tracker.getPopular(2)).containsExactly("laptop", "phone case");
+    }
+
+    @Test
+    void ignoresBlankQueries() {
+        PopularSearchTracker tracker = tracker(10);
+
+        tracker.record("   ");
+        tracker.record(null);
+        tracker.record("?!");
+
+        assertThat(tracker.candidateCount()).isZero();
+    }
+}
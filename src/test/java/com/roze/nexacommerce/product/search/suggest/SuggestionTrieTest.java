@@ -0,0 +1,100 @@
+package com.roze.nexacommerce.product.search.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private static Suggestion suggestion(long id, String text, long weight) {
+        return Suggestion.builder()
+                .id(id)
+                .text(text)
+                .type(SuggestionType.PRODUCT)
+                .weight(weight)
+                .build();
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getId).toList();
+    }
+
+    @Test
+    void ranksPrefixMatchesByWeightThenText() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(
+                suggestion(1, "Phone Case", 5),
+                suggestion(2, "Phone Charger", 40),
+                suggestion(3, "Photo Frame", 40),
+                suggestion(4, "Laptop Stand", 100)), 10);
+
+        assertThat(ids(trie.lookup("ph", 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(trie.lookup("pho", 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(trie.lookup("phon", 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void matchesEveryWordStartAndMultiWordPrefixes() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(
+                suggestion(1, "Apple iPhone 15", 10),
+                suggestion(2, "Apple Watch", 5)), 10);
+
+        assertThat(ids(trie.lookup("iph", 10))).containsExactly(1L);
+        assertThat(ids(trie.lookup("15", 10))).containsExactly(1L);
+        assertThat(ids(trie.lookup("apple w", 10))).containsExactly(2L);
+        assertThat(ids(trie.lookup("iphone 1", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void normalizesCaseAndPunctuationInThePrefix() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(suggestion(1, "USB-C Cable", 1)), 10);
+
+        assertThat(ids(trie.lookup("  USB-c ", 10))).containsExactly(1L);
+        assertThat(ids(trie.lookup("usb c ca", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void returnsEachSuggestionOnceEvenWhenSeveralWordsMatch() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(suggestion(1, "Tea Tin Tray", 1)), 10);
+
+        assertThat(ids(trie.lookup("t", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void keepsOnlyTheTopKPerNodeAndHonoursTheLimit() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(
+                suggestion(1, "Desk Lamp", 1),
+                suggestion(2, "Desk Chair", 2),
+                suggestion(3, "Desk Mat", 3),
+                suggestion(4, "Desk Fan", 4)), 3);
+
+        assertThat(ids(trie.lookup("desk", 10))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(trie.lookup("desk", 2))).containsExactly(4L, 3L);
+        // A lower-ranked entry is still found through a prefix only it matches
+        assertThat(ids(trie.lookup("desk l", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void returnsNothingForUnknownOrBlankPrefixes() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(suggestion(1, "Desk Lamp", 1)), 10);
+
+        assertThat(trie.lookup("chair", 10)).isEmpty();
+        assertThat(trie.lookup("   ", 10)).isEmpty();
+        assertThat(trie.lookup(null, 10)).isEmpty();
+        assertThat(trie.lookup("desk", 0)).isEmpty();
+    }
+
+    @Test
+    void reportsSizeAndAGrowingMemoryEstimate() {
+        SuggestionTrie small = SuggestionTrie.build(List.of(suggestion(1, "Desk", 1)), 10);
+        SuggestionTrie larger = SuggestionTrie.build(List.of(
+                suggestion(1, "Desk", 1),
+                suggestion(2, "Standing Desk Converter", 1)), 10);
+
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(larger.size()).isEqualTo(2);
+        assertThat(larger.nodeCount()).isGreaterThan(small.nodeCount());
+        assertThat(larger.estimatedBytes()).isGreaterThan(small.estimatedBytes());
+    }
+}
@@ -0,0 +1,85 @@
+package com.roze.nexacommerce.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds catalog rows with plain SQL, so fixtures cost the same few statements whether a test
+ * needs ten products or a million and never go through the code under test.
+ */
+public class CatalogFixtures {
+    private static final String AUDIT_COLUMNS = "created_at, updated_at, created_by, modified_by, version";
+    private static final String AUDIT_VALUES = "now(), now(), -1, -1, 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogFixtures(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long category(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO categories (name, slug, active, featured, deleted, " + AUDIT_COLUMNS + ") " +
+                        "VALUES (?, ?, true, false, false, " + AUDIT_VALUES + ") RETURNING id",
+                Long.class, name, slug(name));
+    }
+
+    public long brand(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO brands (name, slug, active, featured, deleted, " + AUDIT_COLUMNS + ") " +
+                        "VALUES (?, ?, true, false, false, " + AUDIT_VALUES + ") RETURNING id",
+                Long.class, name, slug(name));
+    }
+
+    /**
+     * Inserts {@code count} published, ACTIVE products. Names combine an adjective and a noun
+     * from small vocabularies, so each word matches a predictable share of the catalog.
+     */
+    public void products(long categoryId, Long brandId, int count, int stock) {
+        jdbcTemplate.update(
+                "INSERT INTO products (category_id, brand_id, name, short_description, description, price, stock, sku, " +
+                        "track_quantity, allow_backorder, status, featured, published, deleted, " + AUDIT_COLUMNS + ") " +
+                        "SELECT ?, ?, " +
+                        "(ARRAY['wireless','cotton','leather','steel','organic','smart','classic','portable'])[1 + i % 8] || ' ' || " +
+                        "(ARRAY['headphones','shirt','wallet','bottle','tea','watch','lamp','speaker'])[1 + (i / 8) % 8] || ' ' || i, " +
+                        "'Everyday item number ' || i, " +
+                        "'A longer description for catalog item ' || i || ' with enough text to index', " +
+                        "round((5 + (i % 500) * 3.7)::numeric, 2), ?, " +
+                        "'SKU-' || lpad(i::text, 8, '0') || '-' || ?, " +
+                        "true, false, 'ACTIVE', i % 10 = 0, true, false, " + AUDIT_VALUES + " " +
+                        "FROM generate_series(1, ?) AS i",
+                categoryId, brandId, stock, categoryId, count);
+    }
+
+    public long product(long categoryId, String name, int stock) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO products (category_id, name, price, stock, sku, track_quantity, allow_backorder, " +
+                        "status, featured, published, deleted, " + AUDIT_COLUMNS + ") " +
+                        "VALUES (?, ?, 10.00, ?, ?, true, false, 'ACTIVE', false, true, false, " + AUDIT_VALUES + ") " +
+                        "RETURNING id",
+                Long.class, categoryId, name, stock, "SKU-" + slug(name));
+    }
+
+    public void images(long productId, int count) {
+        jdbcTemplate.update(
+                "INSERT INTO product_images (product_id, image_url, display_order, is_primary, " + AUDIT_COLUMNS + ") " +
+                        "SELECT ?, 'https://cdn.example.com/' || ? || '/' || i || '.jpg', i, i = 1, " + AUDIT_VALUES + " " +
+                        "FROM generate_series(1, ?) AS i",
+                productId, productId, count);
+    }
+
+    public void attributes(long productId, int count) {
+        jdbcTemplate.update(
+                "INSERT INTO product_attributes (product_id, name, value, display_order, " + AUDIT_COLUMNS + ") " +
+                        "SELECT ?, 'attribute ' || i, 'value ' || i, i, " + AUDIT_VALUES + " " +
+                        "FROM generate_series(1, ?) AS i",
+                productId, count);
+    }
+
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+    }
+}
@@ -0,0 +1,54 @@
+package com.roze.nexacommerce.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock latency samples for the database benchmarks, grouped by case and printed as one
+ * table. JMH cannot drive these: each call needs a live connection pool and seeded database.
+ */
+public class LatencyReport {
+    private final String title;
+    private final Map<String, List<Long>> samples = new LinkedHashMap<>();
+
+    public LatencyReport(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Runs {@code action} {@code warmup} times unrecorded, then records {@code iterations} runs.
+     */
+    public void measure(String name, int warmup, int iterations, Runnable action) {
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+        List<Long> nanos = samples.computeIfAbsent(name, key -> new ArrayList<>());
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            action.run();
+            nanos.add(System.nanoTime() - started);
+        }
+    }
+
+    public double percentileMillis(String name, double percentile) {
+        List<Long> sorted = new ArrayList<>(samples.get(name));
+        sorted.sort(null);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public String format() {
+        StringBuilder table = new StringBuilder(title).append('\n');
+        table.append(String.format("%-48s %8s %10s %10s %10s%n", "case", "runs", "p50 ms", "p95 ms", "max ms"));
+        samples.forEach((name, nanos) -> table.append(String.format("%-48s %8d %10.2f %10.2f %10.2f%n",
+                name, nanos.size(), percentileMillis(name, 50), percentileMillis(name, 95), percentileMillis(name, 100))));
+        return table.toString();
+    }
+
+    public void print() {
+        System.out.println(format());
+    }
+}
@@ -0,0 +1,31 @@
+package com.roze.nexacommerce.support;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Repository tests against a real PostgreSQL, migrated by the Liquibase changelog. The native
+ * queries rely on PostgreSQL features (tsvector, pg_trgm, RETURNING), so an embedded database
+ * would not exercise them. Skipped when Docker is not available.
+ * <p>
+ * One container serves every subclass for the whole run. A per-class {@code @Container} would be
+ * stopped after each class while Spring keeps the cached context pointing at its old port.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresRepositoryTest {
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            POSTGRES.start();
+        }
+    }
+}
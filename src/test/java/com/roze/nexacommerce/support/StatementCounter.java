@@ -0,0 +1,27 @@
+package com.roze.nexacommerce.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while a block runs, so tests can pin a code
+ * path to a fixed number of round trips. Needs
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+public class StatementCounter {
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Hibernate statistics are disabled; set hibernate.generate_statistics=true");
+        }
+    }
+
+    public long count(Runnable block) {
+        statistics.clear();
+        block.run();
+        return statistics.getPrepareStatementCount();
+    }
+}